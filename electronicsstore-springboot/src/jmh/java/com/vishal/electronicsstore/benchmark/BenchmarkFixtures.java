@@ -0,0 +1,115 @@
+package com.vishal.electronicsstore.benchmark;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.RefreshToken;
+import com.vishal.electronicsstore.entity.Role;
+import com.vishal.electronicsstore.entity.User;
+
+// Entity graphs shaped like the ones the services load, shared by the benchmarks
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private BenchmarkFixtures() {
+    }
+
+    static Category category() {
+        return Category.builder()
+                .categoryId("category-1")
+                .title("Laptops")
+                .description("Portable computers for work and play")
+                .categoryImage("laptops.png")
+                .build();
+    }
+
+    static Product product(int index, Category category) {
+        return Product.builder()
+                .productId("product-" + index)
+                .title("Gaming Laptop " + index)
+                .description("16 inch display, 32 GB RAM, 1 TB SSD")
+                .price(2000 + index)
+                .discountedPrice(1800 + index)
+                .quantity(7)
+                .addedDate(new Date(1700000000000L + index))
+                .live(true)
+                .stock(true)
+                .productImage("laptop-" + index + ".png")
+                .category(category)
+                .build();
+    }
+
+    static User user() {
+        return User.builder()
+                .userId("user-1")
+                .fullName("Vedanti Gori")
+                .email("vedanti@gmail.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .gender("Female")
+                .about("Loves gadgets")
+                .userImageName("vedanti.png")
+                .roles(List.of(Role.builder().roleId("role-1").roleName("ROLE_NORMAL").build()))
+                .build();
+    }
+
+    static Cart cart(User user, List<Product> products) {
+        Cart cart = Cart.builder().cartId("cart-1").createdAt(new Date()).user(user).build();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            cart.getCartItems().add(CartItem.builder()
+                    .cartItemId(i)
+                    .product(product)
+                    .quantityOfCartItem(i + 1)
+                    .priceOfCartItem((i + 1) * product.getDiscountedPrice())
+                    .cart(cart)
+                    .build());
+        }
+        return cart;
+    }
+
+    static Order order(User user, List<Product> products) {
+        Order order = Order.builder()
+                .orderId("order-1")
+                .orderStatus("PENDING")
+                .paymentStatus("NOT_PAID")
+                .billingAddress("Dehradun, Uttarakhand")
+                .billingPhone("9999999999")
+                .billingName("Vedanti Gori")
+                .orderDate(new Date())
+                .user(user)
+                .build();
+        int orderAmount = 0;
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            OrderItem orderItem = OrderItem.builder()
+                    .orderItemId(i)
+                    .product(product)
+                    .quantity(i + 1)
+                    .priceOfOrderItem((i + 1) * product.getDiscountedPrice())
+                    .order(order)
+                    .build();
+            order.getOrderItems().add(orderItem);
+            orderAmount += orderItem.getPriceOfOrderItem();
+        }
+        order.setOrderAmount(orderAmount);
+        return order;
+    }
+
+    static RefreshToken refreshToken(User user) {
+        return RefreshToken.builder()
+                .id(1)
+                .token("6f1c7c1e-2f0b-4d3c-9b8a-0c5b7f3e2a11")
+                .expiryDate(Instant.now())
+                .user(user)
+                .build();
+    }
+
+}
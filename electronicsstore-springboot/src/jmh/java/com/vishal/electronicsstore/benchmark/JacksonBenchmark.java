@@ -0,0 +1,73 @@
+package com.vishal.electronicsstore.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.dto.OrderDto;
+import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.mapper.CategoryMapper;
+import com.vishal.electronicsstore.mapper.OrderMapper;
+import com.vishal.electronicsstore.mapper.ProductMapper;
+import com.vishal.electronicsstore.util.PageableUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JacksonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PageableResponse<ProductDto> productsPage;
+    private OrderDto orderDto;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot gives the message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Category category = BenchmarkFixtures.category();
+        List<Product> products = IntStream.range(0, 20)
+                .mapToObj(i -> BenchmarkFixtures.product(i, category))
+                .toList();
+        productsPage = PageableUtil.getPageableResponse(
+                new PageImpl<>(products, PageRequest.of(0, 20), 1000),
+                new ProductMapper(new CategoryMapper())::toDto);
+
+        User user = BenchmarkFixtures.user();
+        orderDto = new OrderMapper().toDto(BenchmarkFixtures.order(user, products.subList(0, 3)));
+    }
+
+    @Benchmark
+    public byte[] serializeProductsPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productsPage);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderDto);
+    }
+
+}
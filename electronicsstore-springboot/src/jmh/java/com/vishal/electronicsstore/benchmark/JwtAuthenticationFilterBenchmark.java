@@ -0,0 +1,71 @@
+package com.vishal.electronicsstore.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.vishal.electronicsstore.security.JwtAuthenticationFilter;
+import com.vishal.electronicsstore.security.JwtHelper;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean tokenCacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        // Console logging would dominate the measurement, so only the token handling is timed
+        ((Logger) LoggerFactory.getLogger(JwtAuthenticationFilter.class)).setLevel(Level.WARN);
+
+        JwtHelper jwtHelper = new JwtHelper(BenchmarkFixtures.JWT_SECRET);
+        filter = new JwtAuthenticationFilter(true, tokenCacheEnabled, 10000, jwtHelper,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        authorizationHeader = "Bearer " + jwtHelper.generateToken(BenchmarkFixtures.user());
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.setServletPath("/products");
+        request.addHeader("Authorization", authorizationHeader);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+}
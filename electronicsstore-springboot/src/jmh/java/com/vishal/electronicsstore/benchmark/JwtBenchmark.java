@@ -0,0 +1,50 @@
+package com.vishal.electronicsstore.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.security.JwtHelper;
+import com.vishal.electronicsstore.security.VerifiedToken;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtBenchmark {
+
+    private JwtHelper jwtHelper;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtHelper = new JwtHelper(BenchmarkFixtures.JWT_SECRET);
+        user = BenchmarkFixtures.user();
+        token = jwtHelper.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtHelper.generateToken(user);
+    }
+
+    // What JwtAuthenticationFilter does for every authenticated request
+    @Benchmark
+    public VerifiedToken verifyTokenForRequest() {
+        return jwtHelper.verifyToken(token);
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.vishal.electronicsstore.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vishal.electronicsstore.dto.CartDto;
+import com.vishal.electronicsstore.dto.CategoryDto;
+import com.vishal.electronicsstore.dto.OrderDto;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.dto.RefreshTokenDto;
+import com.vishal.electronicsstore.dto.UserDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.RefreshToken;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.mapper.CartMapper;
+import com.vishal.electronicsstore.mapper.CategoryMapper;
+import com.vishal.electronicsstore.mapper.OrderMapper;
+import com.vishal.electronicsstore.mapper.ProductMapper;
+import com.vishal.electronicsstore.mapper.RefreshTokenMapper;
+import com.vishal.electronicsstore.mapper.UserMapper;
+
+// Each DTO type is mapped once through ModelMapper and once through its hand-written mapper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private CategoryMapper categoryMapper;
+    private ProductMapper productMapper;
+    private UserMapper userMapper;
+    private CartMapper cartMapper;
+    private OrderMapper orderMapper;
+    private RefreshTokenMapper refreshTokenMapper;
+
+    private Category category;
+    private Product product;
+    private ProductDto productDto;
+    private User user;
+    private UserDto userDto;
+    private Cart cart;
+    private Order order;
+    private RefreshToken refreshToken;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        categoryMapper = new CategoryMapper();
+        productMapper = new ProductMapper(categoryMapper);
+        userMapper = new UserMapper();
+        cartMapper = new CartMapper(userMapper);
+        orderMapper = new OrderMapper();
+        refreshTokenMapper = new RefreshTokenMapper();
+
+        category = BenchmarkFixtures.category();
+        product = BenchmarkFixtures.product(1, category);
+        productDto = productMapper.toDto(product);
+        user = BenchmarkFixtures.user();
+        userDto = userMapper.toDto(user);
+        cart = BenchmarkFixtures.cart(user, List.of(product, product, product));
+        order = BenchmarkFixtures.order(user, List.of(product, product, product));
+        refreshToken = BenchmarkFixtures.refreshToken(user);
+    }
+
+    @Benchmark
+    public ProductDto productToDtoModelMapper() {
+        return modelMapper.map(product, ProductDto.class);
+    }
+
+    @Benchmark
+    public ProductDto productToDtoMapper() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public Product productToEntityModelMapper() {
+        return modelMapper.map(productDto, Product.class);
+    }
+
+    @Benchmark
+    public Product productToEntityMapper() {
+        return productMapper.toEntity(productDto);
+    }
+
+    @Benchmark
+    public CategoryDto categoryToDtoModelMapper() {
+        return modelMapper.map(category, CategoryDto.class);
+    }
+
+    @Benchmark
+    public CategoryDto categoryToDtoMapper() {
+        return categoryMapper.toDto(category);
+    }
+
+    @Benchmark
+    public UserDto userToDtoModelMapper() {
+        return modelMapper.map(user, UserDto.class);
+    }
+
+    @Benchmark
+    public UserDto userToDtoMapper() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public User userToEntityModelMapper() {
+        return modelMapper.map(userDto, User.class);
+    }
+
+    @Benchmark
+    public User userToEntityMapper() {
+        return userMapper.toEntity(userDto);
+    }
+
+    @Benchmark
+    public CartDto cartToDtoModelMapper() {
+        return modelMapper.map(cart, CartDto.class);
+    }
+
+    @Benchmark
+    public CartDto cartToDtoMapper() {
+        return cartMapper.toDto(cart);
+    }
+
+    @Benchmark
+    public OrderDto orderToDtoModelMapper() {
+        return modelMapper.map(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto orderToDtoMapper() {
+        return orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public RefreshTokenDto refreshTokenToDtoModelMapper() {
+        return modelMapper.map(refreshToken, RefreshTokenDto.class);
+    }
+
+    @Benchmark
+    public RefreshTokenDto refreshTokenToDtoMapper() {
+        return refreshTokenMapper.toDto(refreshToken);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.vishal.electronicsstore.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.mapper.CategoryMapper;
+import com.vishal.electronicsstore.mapper.ProductMapper;
+import com.vishal.electronicsstore.util.PageableUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PageableUtilBenchmark {
+
+    @Param({ "5", "50" })
+    private int pageSize;
+
+    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
+    private Page<Product> page;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        productMapper = new ProductMapper(new CategoryMapper());
+
+        Category category = BenchmarkFixtures.category();
+        List<Product> products = IntStream.range(0, pageSize)
+                .mapToObj(i -> BenchmarkFixtures.product(i, category))
+                .toList();
+        page = new PageImpl<>(products, PageRequest.of(0, pageSize), 1000);
+    }
+
+    @Benchmark
+    public PageableResponse<ProductDto> withModelMapper() {
+        return PageableUtil.getPageableResponse(page, product -> modelMapper.map(product, ProductDto.class));
+    }
+
+    @Benchmark
+    public PageableResponse<ProductDto> withProductMapper() {
+        return PageableUtil.getPageableResponse(page, productMapper::toDto);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.vishal.electronicsstore.archive;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vishal.electronicsstore.repository.ArchivedOrderRepository;
+import com.vishal.electronicsstore.repository.OrderRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Moves orders older than order-archive.max-age, with their items, into the archive tables. Every chunk is
+// copied and deleted in its own short transaction, so customer_order is never locked for a whole run and a
+// failed run leaves nothing half moved.
+@Component
+@Slf4j
+public class OrderArchiver {
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int chunkSize;
+    private final Counter archived;
+
+    @Autowired
+    public OrderArchiver(
+            OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${order-archive.enabled}") boolean enabled,
+            @Value("${order-archive.max-age}") Duration maxAge,
+            @Value("${order-archive.chunk-size}") int chunkSize,
+            MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.chunkSize = chunkSize;
+        this.archived = Counter.builder("orders.archived")
+                .description("Orders moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${order-archive.cron}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    // Returns how many orders were archived
+    public synchronized int archive() {
+        Date cutoff = new Date(System.currentTimeMillis() - maxAge.toMillis());
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            total += moved;
+        } while (moved == chunkSize);
+
+        archived.increment(total);
+        log.info("Archived {} orders placed before {}", total, cutoff);
+        return total;
+    }
+
+    private int archiveChunk(Date cutoff) {
+        List<String> orderIds = orderRepository.findIdsOrderedBefore(cutoff, PageRequest.of(0, chunkSize));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        archivedOrderRepository.copyOrders(orderIds);
+        archivedOrderRepository.copyOrderItems(orderIds);
+        orderRepository.deleteItemsByOrderIds(orderIds);
+        return orderRepository.deleteByOrderIds(orderIds);
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.vishal.electronicsstore.cart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vishal.electronicsstore.repository.CartItemRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Brings the price of cart lines back in line with the discounted price of their product. Products whose
+// price changed are collected once the change commits and repriced in the background, so a price edit
+// neither waits for nor locks the carts holding the product. The stale lines are updated in chunks of
+// cart.reprice.chunk-size, each in its own short transaction, spread over cart.reprice.workers threads.
+// The products waiting are only held in memory, so a run at startup picks up whatever a crash left stale;
+// checkout bills the current price either way.
+@Component
+@Slf4j
+public class CartRepricer {
+
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final ObjectProvider<WriteBehindCartStore> cartStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final int chunkSize;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Counter repriced;
+    private final Counter failures;
+
+    @Autowired
+    public CartRepricer(
+            CartItemRepository cartItemRepository,
+            ProductRepository productRepository,
+            ObjectProvider<WriteBehindCartStore> cartStore,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${cart.reprice.workers}") int workerCount,
+            @Value("${cart.reprice.chunk-size}") int chunkSize) {
+        this.cartItemRepository = cartItemRepository;
+        this.productRepository = productRepository;
+        this.cartStore = cartStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("cart-reprice-"));
+        this.chunkSize = chunkSize;
+        this.repriced = Counter.builder("cart.reprice.lines")
+                .description("Cart lines repriced after a product price change")
+                .register(meterRegistry);
+        this.failures = Counter.builder("cart.reprice.failures")
+                .description("Chunks of cart lines that could not be repriced, their products are tried again")
+                .register(meterRegistry);
+        Gauge.builder("cart.reprice.pending", pending, Set::size)
+                .description("Products whose cart lines wait for the next repricing")
+                .register(meterRegistry);
+    }
+
+    // A rolled back price change never reaches here
+    @TransactionalEventListener
+    public void onPriceChanged(ProductPriceChangedEvent event) {
+        pending.addAll(event.getProductIds());
+    }
+
+    // Returns how many products were found with stale cart lines
+    @EventListener(ApplicationReadyEvent.class)
+    public int queueStaleProducts() {
+        List<String> productIds = cartItemRepository.findProductIdsWithStalePrices();
+        if (!productIds.isEmpty()) {
+            log.info("Found cart lines of {} products priced stale, repricing them", productIds.size());
+            pending.addAll(productIds);
+        }
+        return productIds.size();
+    }
+
+    @Scheduled(fixedDelayString = "${cart.reprice.interval}")
+    public void scheduledReprice() {
+        reprice();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reprice();
+        workers.shutdown();
+    }
+
+    // Returns how many cart lines were repriced
+    public synchronized int reprice() {
+        List<String> productIds = new ArrayList<>(pending);
+        pending.removeAll(productIds);
+
+        int lines = 0;
+        for (int from = 0; from < productIds.size(); from += chunkSize) {
+            List<String> chunk = productIds.subList(from, Math.min(from + chunkSize, productIds.size()));
+            try {
+                lines += reprice(chunk);
+            } catch (RuntimeException e) {
+                // The lookups failed, nothing of these products was repriced
+                failures.increment();
+                pending.addAll(chunk);
+                log.warn("Could not look up the cart lines of {} products, trying again on the next run",
+                        chunk.size(), e);
+            }
+        }
+        return lines;
+    }
+
+    private int reprice(List<String> productIds) {
+        // Carts held in memory first, their repriced lines become pending and a flush that read them
+        // earlier cannot write the old price back over the database update below
+        cartStore.ifAvailable(store -> store.reprice(productRepository.findPricesByProductIds(productIds).stream()
+                .collect(Collectors.toMap(ProductRepository.PriceView::getProductId,
+                        ProductRepository.PriceView::getDiscountedPrice))));
+
+        List<RepriceChunk> chunks = new ArrayList<>();
+        cartItemRepository.findStalePrices(productIds).stream()
+                .collect(Collectors.groupingBy(CartItemRepository.StalePriceView::getProductId))
+                .forEach((productId, stale) -> {
+                    List<Integer> cartItemIds = stale.stream()
+                            .map(CartItemRepository.StalePriceView::getCartItemId)
+                            .toList();
+                    for (int from = 0; from < cartItemIds.size(); from += chunkSize) {
+                        chunks.add(new RepriceChunk(productId, stale.get(0).getDiscountedPrice(),
+                                cartItemIds.subList(from, Math.min(from + chunkSize, cartItemIds.size()))));
+                    }
+                });
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+
+        List<Callable<Integer>> updates = chunks.stream().<Callable<Integer>>map(chunk -> () -> transactionTemplate
+                .execute(status -> cartItemRepository.repriceLines(chunk.cartItemIds, chunk.discountedPrice)))
+                .toList();
+        List<Future<Integer>> results;
+        try {
+            results = workers.invokeAll(updates);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.addAll(productIds);
+            return 0;
+        }
+
+        int lines = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            try {
+                lines += results.get(i).get();
+            } catch (ExecutionException e) {
+                failures.increment();
+                pending.add(chunks.get(i).productId);
+                log.warn("Could not reprice {} cart lines of product {}, trying again on the next run",
+                        chunks.get(i).cartItemIds.size(), chunks.get(i).productId, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.add(chunks.get(i).productId);
+            }
+        }
+        repriced.increment(lines);
+        return lines;
+    }
+
+    private static final class RepriceChunk {
+
+        private final String productId;
+        private final int discountedPrice;
+        private final List<Integer> cartItemIds;
+
+        private RepriceChunk(String productId, int discountedPrice, List<Integer> cartItemIds) {
+            this.productId = productId;
+            this.discountedPrice = discountedPrice;
+            this.cartItemIds = cartItemIds;
+        }
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.vishal.electronicsstore.cart;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by the product services when discounted prices may have changed, the cart lines of the products
+// are repriced by CartRepricer once the change has committed
+@Getter
+@AllArgsConstructor
+public class ProductPriceChangedEvent {
+
+    private final Collection<String> productIds;
+
+}
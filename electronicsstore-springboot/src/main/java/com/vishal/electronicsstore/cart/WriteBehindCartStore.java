@@ -0,0 +1,683 @@
+package com.vishal.electronicsstore.cart;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vishal.electronicsstore.dto.CartLineDto;
+import com.vishal.electronicsstore.dto.CartLineOperation;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.repository.CartItemRepository;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.repository.UserRepository;
+import com.vishal.electronicsstore.util.CartOperationUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Carts of cart.store=memory. A cart is read from the database on first use and then kept here by userId;
+// changes are applied to the copy held here and remembered as pending, per product, until a flush writes
+// them out. The carts are split over cart.memory.shards maps, each with its own lock, so requests for
+// different users rarely wait for each other; a database read on a miss happens under the shard lock.
+//
+// Lines added since the last flush have no cart_item row yet and are given negative ids. Once the line is written
+// the cart is read again and the line gets its real id, the negative one is kept as an alias of it until the line
+// is removed or the cart leaves memory, so a client still holding it can remove the line.
+@Component
+@ConditionalOnProperty(name = "cart.store", havingValue = "memory")
+@Slf4j
+public class WriteBehindCartStore {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long idleTimeoutMillis;
+    private final Shard[] shards;
+    private final Map<Integer, UnsavedLine> unsavedLines = new ConcurrentHashMap<>();
+    private final AtomicInteger unsavedLineIds = new AtomicInteger();
+    // Orders the changes, a flush covers every change up to the sequence number it was taken at
+    private final AtomicLong changes = new AtomicLong();
+    private final Counter failures;
+
+    @Autowired
+    public WriteBehindCartStore(
+            CartRepository cartRepository,
+            CartItemRepository cartItemRepository,
+            UserRepository userRepository,
+            ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${cart.memory.shards}") int shardCount,
+            @Value("${cart.memory.flush-batch-size}") int batchSize,
+            @Value("${cart.memory.idle-timeout}") Duration idleTimeout) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.failures = Counter.builder("cart.flush.failures")
+                .description("Carts whose pending changes could not be written, they are tried again")
+                .register(meterRegistry);
+    }
+
+    public CartSummaryDto get(String userId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            return entryOf(shard, userId, false).summary();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public CartSummaryDto setLine(String userId, String productId, String productTitle, int quantity, int price) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            CartEntry entry = entryOf(shard, userId, true);
+            putLine(entry, productId, productTitle, quantity, price);
+            return entry.summary();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // The operations are applied together under the shard lock, so no other change to the cart lands between them
+    public CartSummaryDto update(String userId, List<CartLineOperation> operations, Map<String, ProductDto> products) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            CartEntry entry = entryOf(shard, userId, true);
+            Map<String, Integer> quantities = new HashMap<>();
+            entry.lines.forEach((productId, line) -> quantities.put(productId, line.getQuantityOfCartItem()));
+            CartOperationUtil.apply(quantities, operations).forEach((productId, quantity) -> {
+                if (quantity != null) {
+                    ProductDto product = products.get(productId);
+                    putLine(entry, productId, product.getTitle(), quantity, quantity * product.getDiscountedPrice());
+                } else if (entry.lines.containsKey(productId)) {
+                    dropLine(entry, productId);
+                }
+            });
+            return entry.summary();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public void removeLine(int cartItemId) {
+        String userId;
+        String productId;
+        if (cartItemId < 0) {
+            UnsavedLine unsavedLine = Optional.ofNullable(unsavedLines.get(cartItemId)).orElseThrow(
+                    () -> new ResourceNotFoundException("Cart item not found in database!"));
+            userId = unsavedLine.userId;
+            productId = unsavedLine.productId;
+        } else {
+            CartItemRepository.OwnerView owner = cartItemRepository.findOwnerByCartItemId(cartItemId).orElseThrow(
+                    () -> new ResourceNotFoundException("Cart item not found in database!"));
+            userId = owner.getUserId();
+            productId = owner.getProductId();
+        }
+
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            CartEntry entry = entryOf(shard, userId, false);
+            CartLineDto line = entry.lines.get(productId);
+            // Already removed, or removed and added again under a new id
+            if (line == null || (line.getCartItemId() != cartItemId && !entry.aliases.containsKey(cartItemId))) {
+                throw new ResourceNotFoundException("Cart item not found in database!");
+            }
+            dropLine(entry, productId);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public void clear(String userId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            CartEntry entry = entryOf(shard, userId, false);
+            forgetIds(entry);
+            entry.lines.clear();
+            entry.pending.clear();
+            entry.clearedAt = changes.incrementAndGet();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // Of the given carts, those held here. Their changes may not be written yet, so the reaper leaves them alone
+    public Set<String> heldCartIds(Collection<String> cartIds) {
+        Set<String> wanted = new HashSet<>(cartIds);
+        Set<String> held = new HashSet<>();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.carts.values().stream()
+                        .map(entry -> entry.cartId)
+                        .filter(wanted::contains)
+                        .forEach(held::add);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return held;
+    }
+
+    // Lines whose price is off become pending changes, so the new price reaches the database with the next flush.
+    // Returns how many lines were repriced
+    public int reprice(Map<String, Integer> discountedPrices) {
+        int repriced = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                for (CartEntry entry : shard.carts.values()) {
+                    for (CartLineDto line : new ArrayList<>(entry.lines.values())) {
+                        Integer discountedPrice = discountedPrices.get(line.getProductId());
+                        int quantity = line.getQuantityOfCartItem();
+                        if (discountedPrice != null && line.getPriceOfCartItem() != quantity * discountedPrice) {
+                            putLine(entry, line.getProductId(), line.getProductTitle(), quantity,
+                                    quantity * discountedPrice);
+                            repriced++;
+                        }
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return repriced;
+    }
+
+    // For checkout: the pending changes are written in the caller's transaction, and the cart is read from the
+    // database again once that commits, since checkout empties it. A rollback leaves the changes pending.
+    public void flush(String userId) {
+        Shard shard = shardOf(userId);
+        CartEntry entry;
+        shard.lock.lock();
+        try {
+            entry = shard.carts.get(userId);
+        } finally {
+            shard.lock.unlock();
+        }
+        if (entry == null) {
+            return;
+        }
+
+        // Waits for a scheduled flush writing this cart, and keeps the next one off it until the caller is done
+        entry.flushLock.lock();
+        FlushJob job;
+        shard.lock.lock();
+        try {
+            job = shard.carts.get(userId) == entry ? entry.flushJob(changes.get()) : null;
+        } finally {
+            shard.lock.unlock();
+        }
+        if (job == null) {
+            entry.flushLock.unlock();
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(job));
+                acknowledge(job, true);
+            } finally {
+                entry.flushLock.unlock();
+            }
+            return;
+        }
+        try {
+            write(job);
+        } catch (RuntimeException e) {
+            entry.flushLock.unlock();
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        acknowledge(job, true);
+                    }
+                } finally {
+                    entry.flushLock.unlock();
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${cart.memory.flush-interval}")
+    public void scheduledFlush() {
+        flush();
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int carts = flush();
+        log.info("Flushed {} carts on shutdown", carts);
+    }
+
+    // Returns how many carts were written
+    public synchronized int flush() {
+        List<FlushJob> jobs = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                for (CartEntry entry : shard.carts.values()) {
+                    // A cart being flushed by a checkout is left to it
+                    if (entry.isDirty() && entry.flushLock.tryLock()) {
+                        jobs.add(entry.flushJob(changes.get()));
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+
+        int written = 0;
+        try {
+            for (int from = 0; from < jobs.size(); from += batchSize) {
+                written += writeBatch(jobs.subList(from, Math.min(from + batchSize, jobs.size())));
+            }
+        } finally {
+            jobs.forEach(job -> job.entry.flushLock.unlock());
+        }
+        return written;
+    }
+
+    private int writeBatch(List<FlushJob> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::write));
+            batch.forEach(job -> acknowledge(job, false));
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.debug("Cart flush batch of {} failed, writing its carts one at a time", batch.size(), e);
+        }
+
+        // One cart that cannot be written must not hold back the rest of the batch
+        int written = 0;
+        for (FlushJob job : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(job));
+                acknowledge(job, false);
+                written++;
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Could not write the cart of user {}, its changes stay pending", job.userId, e);
+            }
+        }
+        return written;
+    }
+
+    private void write(FlushJob job) {
+        Optional<CartRepository.VersionView> version = job.saved
+                ? cartRepository.findVersionByUserId(job.userId)
+                : Optional.empty();
+        Cart cart;
+        if (version.isPresent()) {
+            // Only there to fail a checkout that read the cart before this commits
+            cartRepository.incrementVersion(version.get().getCartId(), version.get().getVersion());
+            cart = cartRepository.getReferenceById(job.cartId);
+        } else {
+            // Not written yet, or deleted since it was read
+            cart = cartRepository.saveAndFlush(Cart.builder()
+                    .cartId(job.cartId)
+                    .createdAt(job.createdAt)
+                    .updatedAt(new Date())
+                    .user(userRepository.getReferenceById(job.userId))
+                    .build());
+        }
+
+        if (job.cleared) {
+            cartItemRepository.deleteLines(job.cartId);
+        }
+        Map<String, CartLineDto> newLines = new LinkedHashMap<>();
+        job.lines.forEach((productId, line) -> {
+            if (line == null) {
+                cartItemRepository.deleteLine(job.cartId, productId);
+            } else if (cartItemRepository.updateLine(job.cartId, productId, line.getQuantityOfCartItem(),
+                    line.getPriceOfCartItem()) == 0) {
+                newLines.put(productId, line);
+            }
+        });
+        // A product deleted since it was added would fail the insert on every flush, its line is dropped instead
+        Set<String> existing = newLines.isEmpty() ? Set.of() : productRepository.findExistingIds(newLines.keySet());
+        List<CartItem> inserts = new ArrayList<>();
+        newLines.forEach((productId, line) -> {
+            if (!existing.contains(productId)) {
+                job.deletedProducts.add(productId);
+                return;
+            }
+            inserts.add(CartItem.builder()
+                    .quantityOfCartItem(line.getQuantityOfCartItem())
+                    .priceOfCartItem(line.getPriceOfCartItem())
+                    .cart(cart)
+                    .product(productRepository.getReferenceById(productId))
+                    .build());
+        });
+        // The new cart is managed by now, a checkout in this transaction reads that instance back
+        if (version.isEmpty()) {
+            cart.getCartItems().addAll(inserts);
+        }
+        cartItemRepository.saveAllAndFlush(inserts);
+    }
+
+    // Drops what was written from the pending changes. A cart left with none is dropped as well after a checkout;
+    // a cart changed meanwhile, or one whose new lines now have ids in the database, is instead read again on next
+    // use, with its remaining changes applied on top.
+    private void acknowledge(FlushJob job, boolean changedElsewhere) {
+        Shard shard = shardOf(job.userId);
+        shard.lock.lock();
+        try {
+            CartEntry entry = job.entry;
+            entry.saved = true;
+            entry.pending.values().removeIf(line -> line.seq <= job.upTo);
+            if (entry.clearedAt <= job.upTo) {
+                entry.clearedAt = 0;
+            }
+            for (String productId : job.deletedProducts) {
+                if (entry.lines.containsKey(productId) && !entry.pending.containsKey(productId)) {
+                    log.info("Dropped the line of deleted product {} from the cart of user {}", productId, job.userId);
+                    forgetLine(entry, entry.lines.remove(productId));
+                }
+            }
+            if (shard.carts.get(job.userId) != entry) {
+                return;
+            }
+            if (!entry.isDirty() && changedElsewhere) {
+                drop(shard, entry);
+            } else if (changedElsewhere || entry.hasUnsavedLines()) {
+                entry.reload = true;
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // Called with the shard locked
+    private void putLine(CartEntry entry, String productId, String productTitle, int quantity, int price) {
+        CartLineDto line = entry.lines.get(productId);
+        if (line == null) {
+            int cartItemId = -unsavedLineIds.incrementAndGet();
+            unsavedLines.put(cartItemId, new UnsavedLine(entry.userId, productId));
+            line = new CartLineDto(cartItemId, productId, productTitle, quantity, price);
+            entry.lines.put(productId, line);
+        }
+        line.setQuantityOfCartItem(quantity);
+        line.setPriceOfCartItem(price);
+        entry.pending.put(productId, new PendingLine(changes.incrementAndGet(), copyOf(line)));
+    }
+
+    // Called with the shard locked
+    private void dropLine(CartEntry entry, String productId) {
+        forgetLine(entry, entry.lines.remove(productId));
+        entry.pending.put(productId, new PendingLine(changes.incrementAndGet(), null));
+    }
+
+    // Called with the shard locked, once the line is out of the cart
+    private void forgetLine(CartEntry entry, CartLineDto line) {
+        unsavedLines.remove(line.getCartItemId());
+        Iterator<Map.Entry<Integer, String>> aliases = entry.aliases.entrySet().iterator();
+        while (aliases.hasNext()) {
+            Map.Entry<Integer, String> alias = aliases.next();
+            if (alias.getValue().equals(line.getProductId())) {
+                unsavedLines.remove(alias.getKey());
+                aliases.remove();
+            }
+        }
+    }
+
+    private void evictIdle() {
+        long idleSince = System.currentTimeMillis() - idleTimeoutMillis;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                Iterator<CartEntry> entries = shard.carts.values().iterator();
+                while (entries.hasNext()) {
+                    CartEntry entry = entries.next();
+                    if (!entry.isDirty() && entry.lastAccess < idleSince && !entry.flushLock.isLocked()) {
+                        forgetIds(entry);
+                        entries.remove();
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    // Called with the shard locked
+    private CartEntry entryOf(Shard shard, String userId, boolean create) {
+        CartEntry entry = shard.carts.get(userId);
+        if (entry == null) {
+            Optional<CartSummaryDto> saved = cartRepository.findSummaryByUserId(userId);
+            if (saved.isPresent()) {
+                entry = new CartEntry(userId, saved.get().getCartId(), saved.get().getCreatedAt(), true);
+                load(entry);
+            } else if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("User not found in database!");
+            } else if (!create) {
+                throw new ResourceNotFoundException("Cart not found in database!");
+            } else {
+                entry = new CartEntry(userId, UUID.randomUUID().toString(), new Date(), false);
+            }
+            shard.carts.put(userId, entry);
+        } else if (entry.reload) {
+            load(entry);
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return entry;
+    }
+
+    // The saved lines, with the pending changes applied on top
+    private void load(CartEntry entry) {
+        Map<String, Integer> previousIds = new HashMap<>();
+        entry.lines.forEach((productId, line) -> previousIds.put(productId, line.getCartItemId()));
+        entry.lines.clear();
+        if (entry.clearedAt == 0) {
+            cartRepository.findLinesByCartId(entry.cartId)
+                    .forEach(line -> entry.lines.put(line.getProductId(), line));
+        }
+        entry.pending.forEach((productId, pending) -> {
+            if (pending.line == null) {
+                entry.lines.remove(productId);
+            } else {
+                CartLineDto saved = entry.lines.get(productId);
+                CartLineDto line = copyOf(pending.line);
+                Integer previousId = previousIds.get(productId);
+                if (saved != null) {
+                    line.setCartItemId(saved.getCartItemId());
+                } else if (previousId != null && previousId < 0) {
+                    line.setCartItemId(previousId);
+                } else {
+                    line.setCartItemId(-unsavedLineIds.incrementAndGet());
+                    unsavedLines.put(line.getCartItemId(), new UnsavedLine(entry.userId, productId));
+                }
+                entry.lines.put(productId, line);
+            }
+        });
+        // A negative id whose line was written becomes an alias of it, one whose line is gone is forgotten
+        previousIds.forEach((productId, previousId) -> {
+            CartLineDto line = entry.lines.get(productId);
+            if (previousId >= 0 || (line != null && line.getCartItemId() == previousId)) {
+                return;
+            }
+            if (line != null) {
+                entry.aliases.put(previousId, productId);
+            } else {
+                unsavedLines.remove(previousId);
+            }
+        });
+        entry.reload = false;
+    }
+
+    private void drop(Shard shard, CartEntry entry) {
+        forgetIds(entry);
+        shard.carts.remove(entry.userId);
+    }
+
+    // Called with the shard locked
+    private void forgetIds(CartEntry entry) {
+        entry.lines.values().forEach(line -> unsavedLines.remove(line.getCartItemId()));
+        entry.aliases.keySet().forEach(unsavedLines::remove);
+        entry.aliases.clear();
+    }
+
+    private Shard shardOf(String userId) {
+        return shards[Math.floorMod(userId.hashCode(), shards.length)];
+    }
+
+    private static CartLineDto copyOf(CartLineDto line) {
+        return new CartLineDto(line.getCartItemId(), line.getProductId(), line.getProductTitle(),
+                line.getQuantityOfCartItem(), line.getPriceOfCartItem());
+    }
+
+    private static final class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, CartEntry> carts = new HashMap<>();
+
+    }
+
+    private static final class CartEntry {
+
+        private final String userId;
+        private final String cartId;
+        private final Date createdAt;
+        // Whether the cart row exists
+        private boolean saved;
+        private final Map<String, CartLineDto> lines = new LinkedHashMap<>();
+        // By productId, a null line removes it
+        private final Map<String, PendingLine> pending = new LinkedHashMap<>();
+        // Negative ids of lines written since, to their productId
+        private final Map<Integer, String> aliases = new HashMap<>();
+        // Sequence number of a clear not written yet, 0 if there is none
+        private long clearedAt;
+        private boolean reload;
+        private long lastAccess;
+        private final ReentrantLock flushLock = new ReentrantLock();
+
+        private CartEntry(String userId, String cartId, Date createdAt, boolean saved) {
+            this.userId = userId;
+            this.cartId = cartId;
+            this.createdAt = createdAt;
+            this.saved = saved;
+        }
+
+        private boolean isDirty() {
+            return !saved || clearedAt != 0 || !pending.isEmpty();
+        }
+
+        private boolean hasUnsavedLines() {
+            return lines.values().stream().anyMatch(line -> line.getCartItemId() < 0);
+        }
+
+        private FlushJob flushJob(long upTo) {
+            Map<String, CartLineDto> changedLines = new LinkedHashMap<>();
+            pending.forEach((productId, line) -> changedLines.put(productId, line.line));
+            return new FlushJob(this, upTo, saved, clearedAt != 0, changedLines);
+        }
+
+        private CartSummaryDto summary() {
+            return new CartSummaryDto(cartId, createdAt, userId,
+                    new ArrayList<>(lines.values().stream().map(WriteBehindCartStore::copyOf).toList()));
+        }
+
+    }
+
+    private static final class PendingLine {
+
+        private final long seq;
+        private final CartLineDto line;
+
+        private PendingLine(long seq, CartLineDto line) {
+            this.seq = seq;
+            this.line = line;
+        }
+
+    }
+
+    // A snapshot of one cart's pending changes, written outside the shard lock
+    private static final class FlushJob {
+
+        private final CartEntry entry;
+        private final String userId;
+        private final String cartId;
+        private final Date createdAt;
+        private final long upTo;
+        private final boolean saved;
+        private final boolean cleared;
+        private final Map<String, CartLineDto> lines;
+        // Products of new lines found deleted while writing, filled in by write
+        private final Set<String> deletedProducts = ConcurrentHashMap.newKeySet();
+
+        private FlushJob(CartEntry entry, long upTo, boolean saved, boolean cleared, Map<String, CartLineDto> lines) {
+            this.entry = entry;
+            this.userId = entry.userId;
+            this.cartId = entry.cartId;
+            this.createdAt = entry.createdAt;
+            this.upTo = upTo;
+            this.saved = saved;
+            this.cleared = cleared;
+            this.lines = lines;
+        }
+
+    }
+
+    private static final class UnsavedLine {
+
+        private final String userId;
+        private final String productId;
+
+        private UnsavedLine(String userId, String productId) {
+            this.userId = userId;
+            this.productId = productId;
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.vishal.electronicsstore.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String LISTING_COUNTS_CACHE = "listingCounts";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${product.cache.enabled}") boolean productCacheEnabled,
+            @Value("${product.cache.maximum-size}") long productCacheMaximumSize,
+            @Value("${product.cache.ttl}") Duration productCacheTtl,
+            @Value("${listing.count-cache.maximum-size}") long listingCountCacheMaximumSize,
+            @Value("${listing.count-cache.ttl}") Duration listingCountCacheTtl) {
+        // A disabled cache stays registered as a no-op so the annotations keep working
+        // and latency can be compared with the cache switched off
+        // Evictions from a product change wait for its transaction to commit, so a read in between
+        // cannot put the old product back
+        Cache productsCache = productCacheEnabled
+                ? new TransactionAwareCacheDecorator(
+                        caffeineCache(PRODUCTS_CACHE, productCacheMaximumSize, productCacheTtl))
+                : new NoOpCache(PRODUCTS_CACHE);
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                productsCache,
+                caffeineCache(LISTING_COUNTS_CACHE, listingCountCacheMaximumSize, listingCountCacheTtl)));
+        return cacheManager;
+    }
+
+    private CaffeineCache caffeineCache(String name, long maximumSize, Duration ttl) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+
+}
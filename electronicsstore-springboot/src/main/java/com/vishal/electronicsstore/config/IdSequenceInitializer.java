@@ -0,0 +1,59 @@
+package com.vishal.electronicsstore.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+// OrderItem and CartItem ids come from sequences, which Hibernate emulates on MySQL with a one-row table per
+// sequence that ddl-auto creates starting at 1. Rows inserted while the ids were AUTO_INCREMENT would collide
+// with those, so each sequence is moved past the highest id in use at startup, before anything is inserted.
+// Runs after the EntityManagerFactory, which creates the tables.
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class IdSequenceInitializer {
+
+    // The pooled optimizer hands out up to allocationSize ids below the value it reads, hence the headroom
+    private static final List<IdSequence> SEQUENCES = List.of(
+            new IdSequence("order_item_seq", "order_item", "order_item_id", 50),
+            new IdSequence("cart_item_seq", "cart_item", "cart_item_id", 50));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        for (IdSequence sequence : SEQUENCES) {
+            Integer tables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+                    + "WHERE table_schema = DATABASE() AND table_name = ?", Integer.class, sequence.sequence);
+            if (tables == null || tables == 0) {
+                // A database with native sequences, nothing emulated to move
+                continue;
+            }
+
+            int updated = jdbcTemplate.update("UPDATE " + sequence.sequence + " SET next_val = GREATEST(next_val, "
+                    + "(SELECT COALESCE(MAX(" + sequence.column + "), 0) + ? FROM " + sequence.table + "))",
+                    sequence.allocationSize + 1);
+            if (updated == 0) {
+                log.warn("Sequence table {} has no row, ids of {} cannot be checked", sequence.sequence,
+                        sequence.table);
+            } else {
+                log.info("Sequence {} is past the highest id of {}", sequence.sequence, sequence.table);
+            }
+        }
+    }
+
+    private record IdSequence(String sequence, String table, String column, int allocationSize) {
+    }
+
+}
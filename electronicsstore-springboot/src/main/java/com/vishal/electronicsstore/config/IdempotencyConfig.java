@@ -0,0 +1,29 @@
+package com.vishal.electronicsstore.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.idempotency.IdempotencyFilter;
+import com.vishal.electronicsstore.idempotency.IdempotencyStore;
+
+@Configuration
+public class IdempotencyConfig {
+
+    // Registered after Spring Security so the caller is known and rejected requests never reach it
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.in-flight-wait}") Duration inFlightWait) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, objectMapper, inFlightWait));
+        registration.addUrlPatterns("/orders", "/carts/user/*");
+        return registration;
+    }
+
+}
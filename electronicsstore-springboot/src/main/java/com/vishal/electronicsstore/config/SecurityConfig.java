@@ -48,13 +48,19 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/users").permitAll()
                 .requestMatchers("/carts/**").hasAnyRole("USER", "ADMIN")
                 .requestMatchers(HttpMethod.GET, "/orders/user/**").hasAnyRole("USER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/orders/intake/**").hasAnyRole("USER", "ADMIN")
                 .requestMatchers(HttpMethod.POST, "/orders").hasAnyRole("USER", "ADMIN")
                 .requestMatchers(HttpMethod.GET, "/orders").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PATCH, "/orders/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/orders/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/products/**").permitAll()
                 .requestMatchers("/products/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/categories/**").permitAll()
                 .requestMatchers("/categories/**").hasRole("ADMIN")
+                .requestMatchers("/reports/**").hasRole("ADMIN")
+                .requestMatchers("/exports/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().permitAll());
 
         http.cors(corsConfigurer -> corsConfigurer.configurationSource(
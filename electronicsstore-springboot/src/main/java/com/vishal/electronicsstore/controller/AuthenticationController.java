@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -31,6 +30,7 @@ import com.vishal.electronicsstore.dto.UserDto;
 import com.vishal.electronicsstore.entity.User;
 import com.vishal.electronicsstore.exception.BadAPIRequestException;
 import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.mapper.UserMapper;
 import com.vishal.electronicsstore.security.JwtHelper;
 import com.vishal.electronicsstore.service.RefreshTokenService;
 import com.vishal.electronicsstore.service.UserService;
@@ -49,7 +49,7 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthenticationController {
 
     private final AuthenticationManager authenticationManager;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final JwtHelper jwtHelper;
     private final String clientId;
     private final String googleProviderDefaultPassword;
@@ -59,14 +59,14 @@ public class AuthenticationController {
     @Autowired
     public AuthenticationController(
             AuthenticationManager authenticationManager,
-            ModelMapper modelMapper,
+            UserMapper userMapper,
             JwtHelper jwtHelper,
             @Value("${google.client.id}") String clientId,
             @Value("${google.default-password}") String googleProviderDefaultPassword,
             UserService userService,
             RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
         this.jwtHelper = jwtHelper;
         this.clientId = clientId;
         this.googleProviderDefaultPassword = googleProviderDefaultPassword;
@@ -80,7 +80,7 @@ public class AuthenticationController {
         RefreshTokenDto refreshTokenDto = refreshTokenService.findByToken(request.getRefreshToken());
         refreshTokenService.verifyRefreshToken(refreshTokenDto);
         UserDto userDto = refreshTokenService.getUser(refreshTokenDto);
-        User user = modelMapper.map(userDto, User.class);
+        User user = userMapper.toEntity(userDto);
         String jwtToken = jwtHelper.generateToken(user);
         JwtResponse jwtResponse = JwtResponse.builder()
                 .jwtToken(jwtToken)
@@ -116,7 +116,7 @@ public class AuthenticationController {
 
             JwtResponse jwtResponse = JwtResponse.builder()
                     .jwtToken(jwtToken)
-                    .user(modelMapper.map(user, UserDto.class))
+                    .user(userMapper.toDto(user))
                     .refreshToken(refreshTokenDto)
                     .build();
             return jwtResponse;
@@ -1,5 +1,7 @@
 package com.vishal.electronicsstore.controller;
 
+import jakarta.validation.Valid;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,8 +14,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.vishal.electronicsstore.dto.ApiResponseMessage;
-import com.vishal.electronicsstore.dto.CartDto;
 import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
+import com.vishal.electronicsstore.dto.CartUpdateRequest;
 import com.vishal.electronicsstore.service.CartService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -31,16 +34,24 @@ public class CartController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<CartDto> getCart(@PathVariable String userId) {
-        CartDto cartDto = cartService.getCartByUserId(userId);
+    public ResponseEntity<CartSummaryDto> getCart(@PathVariable String userId) {
+        CartSummaryDto cartDto = cartService.getCartByUserId(userId);
         return ResponseEntity.ok(cartDto);
     }
 
     @PostMapping("/user/{userId}")
-    public ResponseEntity<CartDto> addItemToCart(
+    public ResponseEntity<CartSummaryDto> addItemToCart(
             @RequestBody CartItemDto cartItemDto,
             @PathVariable String userId) {
-        CartDto updatedCartDto = cartService.addCartItemToCart(userId, cartItemDto);
+        CartSummaryDto updatedCartDto = cartService.addCartItemToCart(userId, cartItemDto);
+        return ResponseEntity.ok(updatedCartDto);
+    }
+
+    @PostMapping("/user/{userId}/batch")
+    public ResponseEntity<CartSummaryDto> updateCart(
+            @Valid @RequestBody CartUpdateRequest cartUpdateRequest,
+            @PathVariable String userId) {
+        CartSummaryDto updatedCartDto = cartService.updateCart(userId, cartUpdateRequest.getOperations());
         return ResponseEntity.ok(updatedCartDto);
     }
 
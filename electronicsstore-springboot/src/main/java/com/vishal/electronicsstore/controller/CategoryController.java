@@ -28,6 +28,7 @@ import com.vishal.electronicsstore.dto.CategoryDto;
 import com.vishal.electronicsstore.dto.ImageResponse;
 import com.vishal.electronicsstore.dto.PageableResponse;
 import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.service.CategoryService;
 import com.vishal.electronicsstore.service.FileService;
 import com.vishal.electronicsstore.service.ProductService;
@@ -85,10 +86,24 @@ public class CategoryController {
             @RequestParam(defaultValue = "0", required = false) int pageNumber,
             @RequestParam(defaultValue = "5", required = false) int pageSize,
             @RequestParam(defaultValue = "title", required = false) String sortBy,
-            @RequestParam(defaultValue = "asc", required = false) String sortDirec) {
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(categoryService.getAllWithCursor(cursor, pageSize, sortBy, sortDirec));
+        }
         return ResponseEntity.ok(categoryService.getAll(pageNumber, pageSize, sortBy, sortDirec));
     }
 
+    @GetMapping(params = "count=false")
+    public ResponseEntity<SliceResponse<CategoryDto>> getAllCategoriesAsSlice(
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "title", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal) {
+        return ResponseEntity.ok(categoryService.getAllAsSlice(pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
     @GetMapping("/{categoryId}")
     public ResponseEntity<CategoryDto> getCategory(@PathVariable String categoryId) {
         CategoryDto categoryDto = categoryService.get(categoryId);
@@ -105,6 +120,18 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.searchCategories(keyword, pageNumber, pageSize, sortBy, sortDirec));
     }
 
+    @GetMapping(value = "/search/{keyword}", params = "count=false")
+    public ResponseEntity<SliceResponse<CategoryDto>> searchCategoriesAsSlice(
+            @PathVariable String keyword,
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "title", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal) {
+        return ResponseEntity.ok(categoryService.searchCategoriesAsSlice(
+                keyword, pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
     @PostMapping(value = "/image/{categoryId}", consumes = "multipart/form-data")
     @Operation(summary = "Upload category image")
     public ResponseEntity<ImageResponse> uploadCategoryImage(
@@ -164,10 +191,27 @@ public class CategoryController {
             @RequestParam(defaultValue = "0", required = false) int pageNumber,
             @RequestParam(defaultValue = "5", required = false) int pageSize,
             @RequestParam(defaultValue = "title", required = false) String sortBy,
-            @RequestParam(defaultValue = "asc", required = false) String sortDirec) {
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(required = false) String cursor) {
 
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getAllProductsOfACategoryWithCursor(
+                    categoryId, cursor, pageSize, sortBy, sortDirec));
+        }
         return ResponseEntity.ok(productService.getAllProductsOfACategory(
                 categoryId, pageNumber, pageSize, sortBy, sortDirec));
     }
 
+    @GetMapping(value = "/{categoryId}/product", params = "count=false")
+    public ResponseEntity<SliceResponse<ProductDto>> getAllProductsOfACategoryAsSlice(
+            @PathVariable String categoryId,
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "title", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal) {
+        return ResponseEntity.ok(productService.getAllProductsOfACategoryAsSlice(
+                categoryId, pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
 }
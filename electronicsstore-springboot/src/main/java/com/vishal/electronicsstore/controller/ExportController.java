@@ -0,0 +1,63 @@
+package com.vishal.electronicsstore.controller;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.vishal.electronicsstore.export.DataFormat;
+import com.vishal.electronicsstore.service.ExportService;
+
+import lombok.extern.slf4j.Slf4j;
+
+// The whole result is streamed as a download, ordered by orderDate and productId respectively
+@RestController
+@RequestMapping("/exports")
+@Slf4j
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/orders")
+    public void exportOrders(
+            @RequestParam(defaultValue = "CSV", required = false) DataFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) throws IOException {
+        prepare(response, format, "orders");
+        long rows = exportService.exportOrders(format, from, to, response.getOutputStream());
+        log.info("Exported {} orders as {}", rows, format);
+    }
+
+    @GetMapping("/products")
+    public void exportProducts(
+            @RequestParam(defaultValue = "CSV", required = false) DataFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) throws IOException {
+        prepare(response, format, "products");
+        long rows = exportService.exportProducts(format, from, to, response.getOutputStream());
+        log.info("Exported {} products as {}", rows, format);
+    }
+
+    private void prepare(HttpServletResponse response, DataFormat format, String name) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+    }
+
+}
@@ -1,25 +1,37 @@
 package com.vishal.electronicsstore.controller;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.vishal.electronicsstore.dto.ApiResponseMessage;
 import com.vishal.electronicsstore.dto.CreateOrderRequest;
-import com.vishal.electronicsstore.dto.OrderDto;
+import com.vishal.electronicsstore.dto.OrderIntakeStatusDto;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionRequest;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionResponse;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+import com.vishal.electronicsstore.service.OrderIntakeService;
 import com.vishal.electronicsstore.service.OrderService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -30,34 +42,115 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIntakeService orderIntakeService) {
         this.orderService = orderService;
+        this.orderIntakeService = orderIntakeService;
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderDto>> getOrdersOfUser(@PathVariable String userId) {
-        List<OrderDto> ordersOfUser = orderService.getOrdersOfUser(userId);
+    public ResponseEntity<List<OrderSummaryDto>> getOrdersOfUser(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "false", required = false) boolean includeArchived) {
+        List<OrderSummaryDto> ordersOfUser = orderService.getOrdersOfUser(userId, includeArchived);
         return ResponseEntity.ok(ordersOfUser);
     }
 
+    // Asking for a pageSize pages the history; without it the full list is returned as before
+    @GetMapping(value = "/user/{userId}", params = "pageSize")
+    public ResponseEntity<PageableResponse<OrderSummaryDto>> getOrdersOfUserPaged(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam int pageSize,
+            @RequestParam(defaultValue = "orderDate", required = false) String sortBy,
+            @RequestParam(defaultValue = "desc", required = false) String sortDirec,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(orderService.getOrdersOfUserWithCursor(userId, cursor, pageSize, sortBy, sortDirec));
+        }
+        return ResponseEntity.ok(orderService.getOrdersOfUser(userId, pageNumber, pageSize, sortBy, sortDirec));
+    }
+
     @GetMapping
-    public ResponseEntity<PageableResponse<OrderDto>> getOrdersOfAllUsers(
+    public ResponseEntity<PageableResponse<OrderSummaryDto>> getOrdersOfAllUsers(
             @RequestParam(defaultValue = "0", required = false) int pageNumber,
             @RequestParam(defaultValue = "5", required = false) int pageSize,
             @RequestParam(defaultValue = "orderDate", required = false) String sortBy,
-            @RequestParam(defaultValue = "asc", required = false) String sortDirec) {
-        PageableResponse<OrderDto> allOrders = orderService.getOrders(pageNumber, pageSize, sortBy, sortDirec);
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String orderStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        boolean filtered = orderStatus != null || from != null || to != null;
+        if (cursor != null) {
+            // Cursor paging is over all orders, a filtered listing pages by number
+            if (filtered) {
+                throw new BadAPIRequestException("orderStatus, from and to cannot be combined with a cursor!");
+            }
+            return ResponseEntity.ok(orderService.getOrdersWithCursor(cursor, pageSize, sortBy, sortDirec));
+        }
+        if (filtered) {
+            return ResponseEntity.ok(orderService.getOrders(orderStatus, from, to, pageNumber, pageSize, sortBy,
+                    sortDirec));
+        }
+        PageableResponse<OrderSummaryDto> allOrders = orderService.getOrders(pageNumber, pageSize, sortBy, sortDirec);
         return ResponseEntity.ok(allOrders);
     }
 
+    @GetMapping(params = "count=false")
+    public ResponseEntity<SliceResponse<OrderSummaryDto>> getOrdersOfAllUsersAsSlice(
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "orderDate", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal,
+            @RequestParam(required = false) String orderStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        // Declared only to be refused, the slice is over all orders and must not look like a filtered one
+        if (orderStatus != null || from != null || to != null) {
+            throw new BadAPIRequestException("orderStatus, from and to cannot be combined with count=false!");
+        }
+        return ResponseEntity.ok(orderService.getOrdersAsSlice(pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
     @PostMapping
-    public ResponseEntity<OrderDto> createOrder(@Valid @RequestBody CreateOrderRequest createOrderRequest) {
-        OrderDto createdOrder = orderService.createOrder(createOrderRequest);
+    public ResponseEntity<OrderSummaryDto> createOrder(@Valid @RequestBody CreateOrderRequest createOrderRequest) {
+        OrderSummaryDto createdOrder = orderService.createOrder(createOrderRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
+    // Queues the order and answers at once, the Location header is where to poll for the outcome
+    @PostMapping(params = "async=true")
+    public ResponseEntity<OrderIntakeStatusDto> submitOrder(
+            @Valid @RequestBody CreateOrderRequest createOrderRequest,
+            Authentication authentication) {
+        OrderIntakeStatusDto intakeStatus = orderIntakeService.submitOrder(createOrderRequest, authentication.getName());
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/orders/intake/{orderId}")
+                .buildAndExpand(intakeStatus.getOrderId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(intakeStatus);
+    }
+
+    @GetMapping("/intake/{orderId}")
+    public ResponseEntity<OrderIntakeStatusDto> getIntakeStatus(
+            @PathVariable String orderId,
+            Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return ResponseEntity.ok(orderIntakeService.getIntakeStatus(orderId, admin ? null : authentication.getName()));
+    }
+
+    // Moves many orders to a new status at once, with the outcome for every order
+    @PatchMapping("/status")
+    public ResponseEntity<OrderStatusTransitionResponse> transitionStatus(
+            @Valid @RequestBody OrderStatusTransitionRequest transitionRequest) {
+        return ResponseEntity.ok(orderService.transitionStatus(transitionRequest));
+    }
+
     @DeleteMapping("/{orderId}")
     public ResponseEntity<ApiResponseMessage> removeOrder(@PathVariable String orderId) {
         orderService.removeOrder(orderId);
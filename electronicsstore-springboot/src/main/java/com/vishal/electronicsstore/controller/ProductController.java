@@ -27,8 +27,12 @@ import com.vishal.electronicsstore.dto.ApiResponseMessage;
 import com.vishal.electronicsstore.dto.ProductDto;
 import com.vishal.electronicsstore.dto.ImageResponse;
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.ProductImportResult;
+import com.vishal.electronicsstore.dto.SliceResponse;
+import com.vishal.electronicsstore.export.DataFormat;
 import com.vishal.electronicsstore.service.ProductService;
 import com.vishal.electronicsstore.service.FileService;
+import com.vishal.electronicsstore.service.ProductImportService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,11 +46,14 @@ public class ProductController {
 
     private final ProductService productService;
     private final FileService fileService;
+    private final ProductImportService productImportService;
 
     @Autowired
-    public ProductController(ProductService productService, FileService fileService) {
+    public ProductController(ProductService productService, FileService fileService,
+            ProductImportService productImportService) {
         this.productService = productService;
         this.fileService = fileService;
+        this.productImportService = productImportService;
     }
 
     @PostMapping
@@ -79,19 +86,48 @@ public class ProductController {
             @RequestParam(defaultValue = "0", required = false) int pageNumber,
             @RequestParam(defaultValue = "5", required = false) int pageSize,
             @RequestParam(defaultValue = "title", required = false) String sortBy,
-            @RequestParam(defaultValue = "asc", required = false) String sortDirec) {
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getAllWithCursor(cursor, pageSize, sortBy, sortDirec));
+        }
         return ResponseEntity.ok(productService.getAll(pageNumber, pageSize, sortBy, sortDirec));
     }
 
+    // count=false skips the COUNT(*) query; approximateTotal=true adds a cached total instead
+    @GetMapping(params = "count=false")
+    public ResponseEntity<SliceResponse<ProductDto>> getAllProductsAsSlice(
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "title", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal) {
+        return ResponseEntity.ok(productService.getAllAsSlice(pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
     @GetMapping("/live")
     public ResponseEntity<PageableResponse<ProductDto>> getAllLiveProducts(
             @RequestParam(defaultValue = "0", required = false) int pageNumber,
             @RequestParam(defaultValue = "5", required = false) int pageSize,
             @RequestParam(defaultValue = "title", required = false) String sortBy,
-            @RequestParam(defaultValue = "asc", required = false) String sortDirec) {
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getAllLiveWithCursor(cursor, pageSize, sortBy, sortDirec));
+        }
         return ResponseEntity.ok(productService.getAllLive(pageNumber, pageSize, sortBy, sortDirec));
     }
 
+    @GetMapping(value = "/live", params = "count=false")
+    public ResponseEntity<SliceResponse<ProductDto>> getAllLiveProductsAsSlice(
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "title", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal) {
+        return ResponseEntity.ok(productService.getAllLiveAsSlice(pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
     @GetMapping("/{productId}")
     public ResponseEntity<ProductDto> getProduct(@PathVariable String productId) {
         ProductDto productDto = productService.get(productId);
@@ -103,20 +139,30 @@ public class ProductController {
             @PathVariable String keyword,
             @RequestParam(defaultValue = "0", required = false) int pageNumber,
             @RequestParam(defaultValue = "5", required = false) int pageSize,
-            @RequestParam(defaultValue = "title", required = false) String sortBy,
+            @RequestParam(defaultValue = "relevance", required = false) String sortBy,
             @RequestParam(defaultValue = "asc", required = false) String sortDirec) {
         return ResponseEntity.ok(productService.searchProducts(keyword, pageNumber, pageSize, sortBy, sortDirec));
     }
 
+    @GetMapping(value = "/search/{keyword}", params = "count=false")
+    public ResponseEntity<SliceResponse<ProductDto>> searchProductsAsSlice(
+            @PathVariable String keyword,
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "relevance", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal) {
+        return ResponseEntity.ok(productService.searchProductsAsSlice(
+                keyword, pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
     @PostMapping(value = "/image/{productId}", consumes = "multipart/form-data")
     public ResponseEntity<ImageResponse> uploadProductImage(
             @PathVariable String productId,
             @RequestParam MultipartFile productImage) throws IOException {
         String imageName = fileService.uploadFile(productImage, imagePath);
 
-        ProductDto productDto = productService.get(productId);
-        productDto.setProductImage(imageName);
-        productService.update(productDto, productId);
+        productService.updateImageOfProduct(imageName, productId);
 
         ImageResponse imageResponse = ImageResponse.builder()
                 .imageName(imageName)
@@ -140,4 +186,12 @@ public class ProductController {
         StreamUtils.copy(resource, response.getOutputStream());
     }
 
+    // The file is the raw request body, read as it arrives
+    @PostMapping("/import")
+    public ResponseEntity<ProductImportResult> importProducts(
+            @RequestParam(defaultValue = "CSV", required = false) DataFormat format,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(format, body));
+    }
+
 }
@@ -0,0 +1,69 @@
+package com.vishal.electronicsstore.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.vishal.electronicsstore.dto.ApiResponseMessage;
+import com.vishal.electronicsstore.dto.SalesRollupDto;
+import com.vishal.electronicsstore.report.SalesRollupDimension;
+import com.vishal.electronicsstore.report.SalesRollupGranularity;
+import com.vishal.electronicsstore.service.ReportService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/reports")
+@Slf4j
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @Autowired
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesRollupDto>> getSales(
+            @RequestParam(defaultValue = "DAY", required = false) SalesRollupGranularity granularity,
+            @RequestParam(defaultValue = "TOTAL", required = false) SalesRollupDimension dimension,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getSales(granularity, dimension, from, to));
+    }
+
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<ApiResponseMessage> rebuildSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        long orders = reportService.rebuildSales(from, to);
+        ApiResponseMessage response = ApiResponseMessage.builder()
+                .message("Sales rollups rebuilt from " + orders + " orders.")
+                .success(true)
+                .status(HttpStatus.OK)
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/sales/rebuild-failed")
+    public ResponseEntity<ApiResponseMessage> rebuildFailedSales() {
+        long orders = reportService.rebuildFailedSales();
+        ApiResponseMessage response = ApiResponseMessage.builder()
+                .message("Sales rollups of failed days rebuilt from " + orders + " orders.")
+                .success(true)
+                .status(HttpStatus.OK)
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+}
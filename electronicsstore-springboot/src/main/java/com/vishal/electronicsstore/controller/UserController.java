@@ -26,6 +26,7 @@ import org.springframework.web.multipart.MultipartFile;
 import com.vishal.electronicsstore.dto.ApiResponseMessage;
 import com.vishal.electronicsstore.dto.ImageResponse;
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.dto.UserDto;
 import com.vishal.electronicsstore.service.FileService;
 import com.vishal.electronicsstore.service.UserService;
@@ -79,10 +80,24 @@ public class UserController {
             @RequestParam(defaultValue = "0", required = false) int pageNumber,
             @RequestParam(defaultValue = "5", required = false) int pageSize,
             @RequestParam(defaultValue = "fullName", required = false) String sortBy,
-            @RequestParam(defaultValue = "asc", required = false) String sortDirec) {
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return ResponseEntity.ok(userService.getAllUsersWithCursor(cursor, pageSize, sortBy, sortDirec));
+        }
         return ResponseEntity.ok(userService.getAllUsers(pageNumber, pageSize, sortBy, sortDirec));
     }
 
+    @GetMapping(params = "count=false")
+    public ResponseEntity<SliceResponse<UserDto>> getAllUsersAsSlice(
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "fullName", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal) {
+        return ResponseEntity.ok(userService.getAllUsersAsSlice(pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<UserDto> getUserById(@PathVariable String userId) {
         return ResponseEntity.ok(userService.getUserById(userId));
@@ -103,6 +118,18 @@ public class UserController {
         return ResponseEntity.ok(userService.searchUsers(keyword, pageNumber, pageSize, sortBy, sortDirec));
     }
 
+    @GetMapping(value = "/search/{keyword}", params = "count=false")
+    public ResponseEntity<SliceResponse<UserDto>> searchUsersAsSlice(
+            @PathVariable String keyword,
+            @RequestParam(defaultValue = "0", required = false) int pageNumber,
+            @RequestParam(defaultValue = "5", required = false) int pageSize,
+            @RequestParam(defaultValue = "fullName", required = false) String sortBy,
+            @RequestParam(defaultValue = "asc", required = false) String sortDirec,
+            @RequestParam(defaultValue = "false", required = false) boolean approximateTotal) {
+        return ResponseEntity.ok(userService.searchUsersAsSlice(
+                keyword, pageNumber, pageSize, sortBy, sortDirec, approximateTotal));
+    }
+
     @PostMapping(value = "/image/{userId}", consumes = "multipart/form-data")
     public ResponseEntity<ImageResponse> uploadUserImage(
             @PathVariable String userId,
@@ -0,0 +1,26 @@
+package com.vishal.electronicsstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartLineDto {
+
+    private Integer cartItemId;
+
+    private String productId;
+
+    private String productTitle;
+
+    private int quantityOfCartItem;
+
+    private int priceOfCartItem;
+
+}
@@ -0,0 +1,36 @@
+package com.vishal.electronicsstore.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartLineOperation {
+
+    public enum Op {
+        // Replaces the quantity of the line, adding it if needed
+        SET,
+        // Adds to the quantity of the line, adding it if needed
+        ADD,
+        // Drops the line, quantity is ignored
+        REMOVE
+    }
+
+    @NotBlank(message = "The product is required!")
+    private String productId;
+
+    private int quantityOfCartItem;
+
+    @NotNull(message = "The operation is required!")
+    private Op op;
+
+}
@@ -0,0 +1,34 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartSummaryDto {
+
+    private String cartId;
+
+    private Date createdAt;
+
+    private String userId;
+
+    @Builder.Default
+    private List<CartLineDto> cartItems = new ArrayList<>();
+
+    // Target of the constructor expression in CartRepository, the lines are filled in separately
+    public CartSummaryDto(String cartId, Date createdAt, String userId) {
+        this(cartId, createdAt, userId, new ArrayList<>());
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Applied in order, all or nothing
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartUpdateRequest {
+
+    @NotEmpty(message = "At least one operation is required!")
+    @Size(max = 500, message = "At most 500 operations can be applied at once!")
+    private List<@Valid CartLineOperation> operations;
+
+}
@@ -0,0 +1,42 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderExportRow {
+
+    private String orderId;
+
+    private String orderStatus;
+
+    private String paymentStatus;
+
+    private int orderAmount;
+
+    private String billingName;
+
+    private String billingPhone;
+
+    private String billingAddress;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Date orderDate;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Date deliveryDate;
+
+    private String userId;
+
+}
@@ -0,0 +1,33 @@
+package com.vishal.electronicsstore.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderIntakeStatusDto {
+
+    public enum State {
+        QUEUED, PROCESSING, PLACED, FAILED
+    }
+
+    private String orderId;
+
+    private State state;
+
+    // Why the order could not be placed, only set once it FAILED
+    private String message;
+
+    // Only set once it is PLACED and the outcome is still held in memory
+    private OrderSummaryDto order;
+
+}
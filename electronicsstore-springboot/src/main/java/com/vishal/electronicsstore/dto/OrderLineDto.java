@@ -0,0 +1,32 @@
+package com.vishal.electronicsstore.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderLineDto {
+
+    // Only used to group the lines of a page of orders
+    @JsonIgnore
+    private String orderId;
+
+    private Integer orderItemId;
+
+    private String productId;
+
+    private String productTitle;
+
+    private int quantity;
+
+    private int priceOfOrderItem;
+
+}
@@ -0,0 +1,44 @@
+package com.vishal.electronicsstore.dto;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Moves orders from one status to another, either the listed orders or every order in fromStatus placed
+// between orderedFrom and orderedTo (UTC days, both included)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusTransitionRequest {
+
+    @NotBlank(message = "The current order status is required!")
+    private String fromStatus;
+
+    @NotBlank(message = "The new order status is required!")
+    private String toStatus;
+
+    // Left unchanged when not given
+    private String paymentStatus;
+
+    // Left unchanged when not given, except that DELIVERED orders get the time of the transition
+    private Date deliveryDate;
+
+    @Size(max = 10000, message = "At most 10000 orders can be changed at once!")
+    private List<String> orderIds;
+
+    private LocalDate orderedFrom;
+
+    private LocalDate orderedTo;
+
+}
@@ -0,0 +1,24 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusTransitionResponse {
+
+    private int updated;
+
+    @Builder.Default
+    private List<OrderStatusTransitionResult> results = new ArrayList<>();
+
+}
@@ -0,0 +1,30 @@
+package com.vishal.electronicsstore.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderStatusTransitionResult {
+
+    public enum Outcome {
+        UPDATED, SKIPPED, NOT_FOUND
+    }
+
+    private String orderId;
+
+    private Outcome outcome;
+
+    // The status that kept a SKIPPED order from moving
+    private String orderStatus;
+
+}
@@ -0,0 +1,43 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryDto {
+
+    private String orderId;
+
+    private String orderStatus;
+
+    private String paymentStatus;
+
+    private int orderAmount;
+
+    private String billingAddress;
+
+    private String billingPhone;
+
+    private String billingName;
+
+    private Date orderDate;
+
+    private Date deliveryDate;
+
+    private String userId;
+
+    @Builder.Default
+    private List<OrderLineDto> orderItems = new ArrayList<>();
+
+}
@@ -2,6 +2,8 @@ package com.vishal.electronicsstore.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,4 +29,12 @@ public class PageableResponse<T> {
 
     private boolean lastPage;
 
+    // Only set in cursor mode, pass it back as the cursor parameter to fetch the next page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    // Only set on searches, when a query prefix matched too many terms and rarer matches were left out
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean truncated;
+
 }
@@ -0,0 +1,39 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductExportRow {
+
+    private String productId;
+
+    private String title;
+
+    private int price;
+
+    private int discountedPrice;
+
+    private int quantity;
+
+    private boolean live;
+
+    private boolean stock;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Date addedDate;
+
+    private String categoryId;
+
+}
@@ -0,0 +1,23 @@
+package com.vishal.electronicsstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportError {
+
+    // Counted from 1, the CSV header is not a row
+    private long row;
+
+    private String productId;
+
+    private String message;
+
+}
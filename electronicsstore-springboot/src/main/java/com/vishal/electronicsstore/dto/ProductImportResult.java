@@ -0,0 +1,35 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportResult {
+
+    private long rows;
+
+    private long inserted;
+
+    private long updated;
+
+    private long failed;
+
+    private long elapsedMillis;
+
+    private long rowsPerSecond;
+
+    // The first product.import.max-reported-errors failures, failed counts them all
+    @Builder.Default
+    private List<ProductImportError> errors = new ArrayList<>();
+
+}
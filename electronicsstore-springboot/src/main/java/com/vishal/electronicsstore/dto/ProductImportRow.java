@@ -0,0 +1,51 @@
+package com.vishal.electronicsstore.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One product of an import. A row with the id of an existing product replaces its fields, keeping its image
+// and added date; a row without an id creates a new product.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportRow {
+
+    @Size(max = 255, message = "productId is longer than 255 characters")
+    private String productId;
+
+    @NotBlank(message = "title is required")
+    @Size(max = 255, message = "title is longer than 255 characters")
+    private String title;
+
+    @Size(max = 10000, message = "description is longer than 10000 characters")
+    private String description;
+
+    @NotNull(message = "price is required")
+    @PositiveOrZero(message = "price must not be negative")
+    private Integer price;
+
+    @PositiveOrZero(message = "discountedPrice must not be negative")
+    private Integer discountedPrice;
+
+    @NotNull(message = "quantity is required")
+    @PositiveOrZero(message = "quantity must not be negative")
+    private Integer quantity;
+
+    private Boolean live;
+
+    // Follows the quantity when not given
+    private Boolean stock;
+
+    private String categoryId;
+
+}
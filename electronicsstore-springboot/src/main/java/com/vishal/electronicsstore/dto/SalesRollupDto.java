@@ -0,0 +1,35 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.Date;
+
+import com.vishal.electronicsstore.report.SalesRollupDimension;
+import com.vishal.electronicsstore.report.SalesRollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollupDto {
+
+    private SalesRollupGranularity granularity;
+
+    private SalesRollupDimension dimension;
+
+    private Date bucketStart;
+
+    private String dimensionId;
+
+    private long orderCount;
+
+    private long revenue;
+
+    private long units;
+
+}
@@ -0,0 +1,36 @@
+package com.vishal.electronicsstore.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SliceResponse<T> {
+
+    private List<T> content;
+
+    private int pageNumber;
+
+    private int pageSize;
+
+    private boolean hasNext;
+
+    // Only set when requested, served from a short-lived cache so it may lag recent writes
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long approximateTotalElements;
+
+    // Only set on searches, when a query prefix matched too many terms and rarer matches were left out
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean truncated;
+
+}
@@ -0,0 +1,54 @@
+package com.vishal.electronicsstore.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// An order moved out of customer_order by the OrderArchiver. It only keeps the id of its user, so archived
+// orders never stand in the way of removing users or products.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {
+        @Index(columnList = "userId, orderDate"),
+        @Index(columnList = "orderDate") })
+public class ArchivedOrder {
+
+    @Id
+    private String orderId;
+
+    private String orderStatus;
+
+    private String paymentStatus;
+
+    private int orderAmount;
+
+    @Column(length = 1000)
+    private String billingAddress;
+
+    private String billingPhone;
+
+    private String billingName;
+
+    private Date orderDate;
+
+    private Date deliveryDate;
+
+    private String userId;
+
+    private Date archivedAt;
+
+}
@@ -0,0 +1,40 @@
+package com.vishal.electronicsstore.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// The product title and category are copied at archival time, the product may be gone by the time it is read
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(columnList = "orderId"))
+public class ArchivedOrderItem {
+
+    // Keeps the id the item had in order_item
+    @Id
+    private Integer orderItemId;
+
+    private String orderId;
+
+    private String productId;
+
+    private String productTitle;
+
+    private String categoryId;
+
+    private int quantity;
+
+    private int priceOfOrderItem;
+
+}
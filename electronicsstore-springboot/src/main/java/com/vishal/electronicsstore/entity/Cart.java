@@ -8,9 +8,12 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
@@ -26,6 +29,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = @Index(columnList = "updatedAt"))
 public class Cart {
 
     @Id
@@ -33,8 +37,16 @@ public class Cart {
 
     private Date createdAt;
 
+    // Set whenever the version is incremented through CartRepository.incrementVersion; null on carts from
+    // before it was added until the reaper backfills it from createdAt
+    private Date updatedAt;
+
+    // Incremented by every change to the cart or its lines, see CartServiceImpl
+    @Version
+    private long version;
+
     @OneToOne
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", unique = true)
     private User user;
 
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
@@ -5,8 +5,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
@@ -22,10 +26,14 @@ import lombok.Setter;
 @AllArgsConstructor
 @Builder
 @Entity
+// The index finds the lines to reprice when the price of a product changes
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "cart_id", "product_id" }),
+        indexes = @Index(columnList = "product_id"))
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq")
+    @SequenceGenerator(name = "cart_item_seq", allocationSize = 50)
     private Integer cartItemId;
 
     @ManyToOne
@@ -0,0 +1,46 @@
+package com.vishal.electronicsstore.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(columnList = "expiresAt"))
+public class IdempotencyRecord {
+
+    // SHA-256 of the caller, the request line and the Idempotency-Key header
+    @Id
+    @Column(length = 64)
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, a retry must send the same one to be replayed
+    @Column(length = 64)
+    private String requestHash;
+
+    private int statusCode;
+
+    private String contentType;
+
+    @Lob
+    private byte[] body;
+
+    private Date createdAt;
+
+    private Date expiresAt;
+
+}
@@ -9,11 +9,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import lombok.AllArgsConstructor;
@@ -28,7 +31,11 @@ import lombok.Setter;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "customer_order")
+// The indexes back the admin listings by date and status and the order history of a user
+@Table(name = "customer_order", indexes = {
+        @Index(columnList = "orderDate"),
+        @Index(columnList = "orderStatus, orderDate"),
+        @Index(columnList = "user_id, orderDate") })
 public class Order {
 
     @Id
@@ -51,11 +58,14 @@ public class Order {
 
     private Date deliveryDate;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Reads go through OrderSummaryDto, so neither the user nor the items are needed to list orders
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @OneToMany(mappedBy = "order", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    // Items of a page of orders load in one statement instead of one per order
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     @Builder.Default
     @JsonManagedReference
     private List<OrderItem> orderItems = new ArrayList<>();
@@ -0,0 +1,60 @@
+package com.vishal.electronicsstore.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.vishal.electronicsstore.outbox.OutboxEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class OutboxEvent {
+
+    // Ascending in commit order per instance, consumers can also use it to drop redeliveries
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", allocationSize = 50)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40)
+    private OutboxEventType eventType;
+
+    private String aggregateType;
+
+    private String aggregateId;
+
+    // Already JSON, sinks write it out as is
+    @Lob
+    @JsonRawValue
+    private String payload;
+
+    private Date createdAt;
+
+    // Failed deliveries so far, the event is skipped until nextAttemptAt and parked once it runs out of tries
+    private int attempts;
+
+    private Date nextAttemptAt;
+
+    private boolean deadLettered;
+
+}
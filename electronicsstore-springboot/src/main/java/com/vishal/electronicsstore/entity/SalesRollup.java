@@ -0,0 +1,55 @@
+package com.vishal.electronicsstore.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+
+import com.vishal.electronicsstore.report.SalesRollupDimension;
+import com.vishal.electronicsstore.report.SalesRollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Order count, revenue and units sold per hour or day, in total and per product or category.
+// The key is ordered for the report query, a range of buckets of one granularity and dimension.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(SalesRollupId.class)
+public class SalesRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private SalesRollupGranularity granularity;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private SalesRollupDimension dimension;
+
+    @Id
+    private Date bucketStart;
+
+    // The product or category id, empty for the TOTAL dimension
+    @Id
+    private String dimensionId;
+
+    private long orderCount;
+
+    private long revenue;
+
+    private long units;
+
+}
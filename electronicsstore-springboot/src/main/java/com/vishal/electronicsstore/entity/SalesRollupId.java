@@ -0,0 +1,30 @@
+package com.vishal.electronicsstore.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import com.vishal.electronicsstore.report.SalesRollupDimension;
+import com.vishal.electronicsstore.report.SalesRollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SalesRollupId implements Serializable {
+
+    private SalesRollupGranularity granularity;
+
+    private SalesRollupDimension dimension;
+
+    private Date bucketStart;
+
+    private String dimensionId;
+
+}
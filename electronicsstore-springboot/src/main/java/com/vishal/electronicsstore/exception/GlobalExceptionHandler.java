@@ -4,6 +4,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -60,6 +62,44 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ApiResponseMessage> insufficientStockExceptionHandler(InsufficientStockException e) {
+        ApiResponseMessage response = ApiResponseMessage.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.CONFLICT)
+                .success(false)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // Left over once the service has run out of retries, the client may simply send the request again
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponseMessage> optimisticLockingFailureExceptionHandler(
+            OptimisticLockingFailureException e) {
+        ApiResponseMessage response = ApiResponseMessage.builder()
+                .message("The resource was changed by another request, try again!")
+                .status(HttpStatus.CONFLICT)
+                .success(false)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // Retry-After tells well behaved clients how long to back off before trying again
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponseMessage> tooManyRequestsExceptionHandler(TooManyRequestsException e) {
+        ApiResponseMessage response = ApiResponseMessage.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .success(false)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> methodArgumentNotValidExceptionHandler(
             MethodArgumentNotValidException e) {
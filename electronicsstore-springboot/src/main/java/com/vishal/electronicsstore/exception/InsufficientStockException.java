@@ -0,0 +1,13 @@
+package com.vishal.electronicsstore.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException() {
+        super("Not enough stock to place the order!");
+    }
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+}
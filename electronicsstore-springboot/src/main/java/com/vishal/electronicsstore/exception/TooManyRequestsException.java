@@ -0,0 +1,13 @@
+package com.vishal.electronicsstore.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException() {
+        super("Too many requests, try again later!");
+    }
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+
+}
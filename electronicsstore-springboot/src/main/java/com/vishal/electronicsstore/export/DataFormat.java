@@ -0,0 +1,18 @@
+package com.vishal.electronicsstore.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Formats of the streaming exports and of the product import
+@Getter
+@AllArgsConstructor
+public enum DataFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String extension;
+
+}
@@ -0,0 +1,75 @@
+package com.vishal.electronicsstore.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Writes export rows one at a time through a small buffer, so nothing but the current row is held in memory.
+// Both formats take their columns from the Jackson view of the row: NDJSON is one JSON object per line,
+// CSV has a header line taken from the first row.
+public class ExportWriter {
+
+    // Connector/J streams a forward-only result row by row at this fetch size, instead of buffering all of it.
+    // Only these queries stream, so the connection must not run other statements until the stream is closed
+    public static final String FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    private final DataFormat format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+    private boolean headerWritten;
+
+    public ExportWriter(DataFormat format, ObjectMapper objectMapper, OutputStream outputStream) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    public void write(Object row) throws IOException {
+        if (format == DataFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+            return;
+        }
+
+        JsonNode node = objectMapper.valueToTree(row);
+        if (!headerWritten) {
+            writeCsvLine(node.fieldNames(), name -> name);
+            headerWritten = true;
+        }
+        writeCsvLine(node.fields(), field -> field.getValue().isNull() ? "" : field.getValue().asText());
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private <T> void writeCsvLine(Iterator<T> values, Function<T, String> text) throws IOException {
+        boolean first = true;
+        while (values.hasNext()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write(escape(text.apply(values.next())));
+            first = false;
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: fields holding a separator, a quote or a line break are quoted, with quotes doubled
+    private String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
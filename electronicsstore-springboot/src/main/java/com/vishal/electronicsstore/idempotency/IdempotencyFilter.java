@@ -0,0 +1,241 @@
+package com.vishal.electronicsstore.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.dto.ApiResponseMessage;
+import com.vishal.electronicsstore.entity.IdempotencyRecord;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+// Replays the stored response when a client retries a POST with the same Idempotency-Key.
+// A duplicate that arrives while the first request is still running waits for its outcome.
+// Reusing a key with a different request body is a client error and is rejected, not replayed.
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Duration inFlightWait;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlightRequests = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper, Duration inFlightWait) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.inFlightWait = inFlightWait;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) throws ServletException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        return !"POST".equals(request.getMethod()) || idempotencyKey == null || idempotencyKey.isBlank();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        BodyCachingRequest cachedRequest = request instanceof BodyCachingRequest alreadyCached
+                ? alreadyCached
+                : new BodyCachingRequest(request);
+        String key = scopedKey(cachedRequest);
+        String requestHash = sha256(cachedRequest.body);
+
+        IdempotencyRecord stored = idempotencyStore.find(key);
+        if (stored != null) {
+            replay(stored, requestHash, response);
+            return;
+        }
+
+        CompletableFuture<IdempotencyRecord> inFlight = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlightRequests.putIfAbsent(key, inFlight);
+        if (running != null) {
+            awaitAndReplay(running, requestHash, cachedRequest, response, filterChain);
+            return;
+        }
+
+        try {
+            // The request this one retries may have stored its response and left between the two checks
+            stored = idempotencyStore.find(key);
+            if (stored != null) {
+                inFlight.complete(stored);
+                replay(stored, requestHash, response);
+                return;
+            }
+
+            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(cachedRequest, responseWrapper);
+
+            // Only successes are kept, a failed request may well succeed when retried
+            IdempotencyRecord record = null;
+            if (HttpStatus.valueOf(responseWrapper.getStatus()).is2xxSuccessful()) {
+                record = idempotencyStore.save(key, requestHash, responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+            }
+            inFlight.complete(record);
+            responseWrapper.copyBodyToResponse();
+        } finally {
+            inFlight.complete(null);
+            inFlightRequests.remove(key, inFlight);
+        }
+    }
+
+    private void awaitAndReplay(
+            CompletableFuture<IdempotencyRecord> running,
+            String requestHash,
+            BodyCachingRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        IdempotencyRecord record;
+        try {
+            record = running.get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed!");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for the original request", e);
+        } catch (ExecutionException e) {
+            record = null;
+        }
+
+        if (record != null) {
+            replay(record, requestHash, response);
+        } else {
+            // The original request failed and stored nothing, so this one gets to run
+            doFilterInternal(request, response, filterChain);
+        }
+    }
+
+    private void replay(IdempotencyRecord record, String requestHash, HttpServletResponse response)
+            throws IOException {
+        // Records written before request hashes were kept have none and are replayed as before
+        if (record.getRequestHash() != null && !record.getRequestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This Idempotency-Key was already used with a different request body!");
+            return;
+        }
+
+        response.setStatus(record.getStatusCode());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(record.getBody().length);
+        response.getOutputStream().write(record.getBody());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ApiResponseMessage body = ApiResponseMessage.builder()
+                .message(message)
+                .status(status)
+                .success(false)
+                .build();
+        response.setStatus(status.value());
+        response.setContentType("application/json");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    // Keys are per caller and per endpoint, so two users can never replay each other's responses. The query
+    // string is part of the endpoint, POST /orders?async=true answers differently from POST /orders
+    private String scopedKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication != null ? authentication.getName() : "";
+        String query = request.getQueryString() != null ? "?" + request.getQueryString() : "";
+        String scope = caller + "\n" + request.getMethod() + " " + request.getRequestURI() + query + "\n"
+                + request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        return sha256(scope.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // The body is read up front so it can be hashed and still be handed to the controller
+    private static class BodyCachingRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BodyCachingRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return inputStream.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : "UTF-8";
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+
+    }
+
+}
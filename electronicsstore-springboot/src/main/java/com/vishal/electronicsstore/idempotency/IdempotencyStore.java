@@ -0,0 +1,87 @@
+package com.vishal.electronicsstore.idempotency;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vishal.electronicsstore.entity.IdempotencyRecord;
+import com.vishal.electronicsstore.repository.IdempotencyRecordRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Responses stored against idempotency keys: recent ones in memory, all of them in the database
+// so a retry that lands on another instance or after a restart is still replayed
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyRecord> recentResponses;
+
+    @Autowired
+    public IdempotencyStore(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            @Value("${idempotency.ttl}") Duration ttl,
+            @Value("${idempotency.cache.maximum-size}") long cacheMaximumSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = ttl;
+        this.recentResponses = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public IdempotencyRecord find(String idempotencyKey) {
+        Date now = new Date();
+        IdempotencyRecord record = recentResponses.getIfPresent(idempotencyKey);
+        if (record != null && record.getExpiresAt().after(now)) {
+            return record;
+        }
+
+        record = idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(idempotencyKey, now)
+                .orElse(null);
+        if (record != null) {
+            recentResponses.put(idempotencyKey, record);
+        }
+        return record;
+    }
+
+    public IdempotencyRecord save(String idempotencyKey, String requestHash, int statusCode, String contentType,
+            byte[] body) {
+        Date now = new Date();
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .statusCode(statusCode)
+                .contentType(contentType)
+                .body(body)
+                .createdAt(now)
+                .expiresAt(new Date(now.getTime() + ttl.toMillis()))
+                .build();
+        recentResponses.put(idempotencyKey, record);
+
+        // The request itself has already succeeded, so a failed write only costs durability
+        try {
+            idempotencyRecordRepository.save(record);
+        } catch (RuntimeException e) {
+            log.warn("Could not persist idempotent response, keeping it in memory only", e);
+        }
+        return record;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(new Date());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency records", purged);
+        }
+    }
+
+}
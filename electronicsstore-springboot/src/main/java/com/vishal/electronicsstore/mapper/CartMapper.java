@@ -0,0 +1,62 @@
+package com.vishal.electronicsstore.mapper;
+
+import java.util.ArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.dto.CartDto;
+import com.vishal.electronicsstore.dto.CartLineDto;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+
+@Component
+public class CartMapper {
+
+    private final UserMapper userMapper;
+
+    @Autowired
+    public CartMapper(UserMapper userMapper) {
+        this.userMapper = userMapper;
+    }
+
+    // CartDto exposes the CartItem entities themselves, so the items are shared rather than copied
+    public CartDto toDto(Cart cart) {
+        if (cart == null) {
+            return null;
+        }
+        CartDto cartDto = new CartDto();
+        cartDto.setCartId(cart.getCartId());
+        cartDto.setCreatedAt(cart.getCreatedAt());
+        cartDto.setUser(userMapper.toDto(cart.getUser()));
+        cartDto.setCartItems(cart.getCartItems() == null ? null : new ArrayList<>(cart.getCartItems()));
+        return cartDto;
+    }
+
+    public CartSummaryDto toSummary(Cart cart) {
+        if (cart == null) {
+            return null;
+        }
+        CartSummaryDto cartSummaryDto = new CartSummaryDto();
+        cartSummaryDto.setCartId(cart.getCartId());
+        cartSummaryDto.setCreatedAt(cart.getCreatedAt());
+        cartSummaryDto.setUserId(cart.getUser() == null ? null : cart.getUser().getUserId());
+        cartSummaryDto.setCartItems(cart.getCartItems() == null ? null
+                : cart.getCartItems().stream().map(this::toLine).toList());
+        return cartSummaryDto;
+    }
+
+    private CartLineDto toLine(CartItem cartItem) {
+        CartLineDto cartLineDto = new CartLineDto();
+        cartLineDto.setCartItemId(cartItem.getCartItemId());
+        if (cartItem.getProduct() != null) {
+            cartLineDto.setProductId(cartItem.getProduct().getProductId());
+            cartLineDto.setProductTitle(cartItem.getProduct().getTitle());
+        }
+        cartLineDto.setQuantityOfCartItem(cartItem.getQuantityOfCartItem());
+        cartLineDto.setPriceOfCartItem(cartItem.getPriceOfCartItem());
+        return cartLineDto;
+    }
+
+}
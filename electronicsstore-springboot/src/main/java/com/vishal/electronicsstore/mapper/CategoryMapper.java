@@ -0,0 +1,35 @@
+package com.vishal.electronicsstore.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.dto.CategoryDto;
+import com.vishal.electronicsstore.entity.Category;
+
+@Component
+public class CategoryMapper {
+
+    public CategoryDto toDto(Category category) {
+        if (category == null) {
+            return null;
+        }
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setCategoryId(category.getCategoryId());
+        categoryDto.setTitle(category.getTitle());
+        categoryDto.setDescription(category.getDescription());
+        categoryDto.setCategoryImage(category.getCategoryImage());
+        return categoryDto;
+    }
+
+    public Category toEntity(CategoryDto categoryDto) {
+        if (categoryDto == null) {
+            return null;
+        }
+        Category category = new Category();
+        category.setCategoryId(categoryDto.getCategoryId());
+        category.setTitle(categoryDto.getTitle());
+        category.setDescription(categoryDto.getDescription());
+        category.setCategoryImage(categoryDto.getCategoryImage());
+        return category;
+    }
+
+}
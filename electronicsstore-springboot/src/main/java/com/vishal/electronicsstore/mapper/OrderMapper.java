@@ -0,0 +1,102 @@
+package com.vishal.electronicsstore.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.dto.OrderDto;
+import com.vishal.electronicsstore.dto.OrderLineDto;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.entity.ArchivedOrder;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+
+@Component
+public class OrderMapper {
+
+    // OrderDto exposes the User and OrderItem entities themselves, so they are shared rather than copied
+    public OrderDto toDto(Order order) {
+        if (order == null) {
+            return null;
+        }
+        OrderDto orderDto = new OrderDto();
+        orderDto.setOrderId(order.getOrderId());
+        orderDto.setOrderStatus(order.getOrderStatus());
+        orderDto.setPaymentStatus(order.getPaymentStatus());
+        orderDto.setOrderAmount(order.getOrderAmount());
+        orderDto.setBillingAddress(order.getBillingAddress());
+        orderDto.setBillingPhone(order.getBillingPhone());
+        orderDto.setBillingName(order.getBillingName());
+        orderDto.setOrderDate(order.getOrderDate());
+        orderDto.setDeliveryDate(order.getDeliveryDate());
+        orderDto.setUser(order.getUser());
+        orderDto.setOrderItems(order.getOrderItems() == null ? null : new ArrayList<>(order.getOrderItems()));
+        return orderDto;
+    }
+
+    // For an order already in memory, e.g. one just placed
+    public OrderSummaryDto toSummary(Order order) {
+        if (order == null) {
+            return null;
+        }
+        List<OrderLineDto> lines = order.getOrderItems() == null ? null : order.getOrderItems().stream()
+                .map(orderItem -> toLine(order, orderItem))
+                .toList();
+        return toSummary(order, lines);
+    }
+
+    // Reads pass in lines loaded by OrderRepository.findLinesByOrderIds, so the items are never initialized
+    public OrderSummaryDto toSummary(Order order, List<OrderLineDto> lines) {
+        if (order == null) {
+            return null;
+        }
+        OrderSummaryDto orderSummaryDto = new OrderSummaryDto();
+        orderSummaryDto.setOrderId(order.getOrderId());
+        orderSummaryDto.setOrderStatus(order.getOrderStatus());
+        orderSummaryDto.setPaymentStatus(order.getPaymentStatus());
+        orderSummaryDto.setOrderAmount(order.getOrderAmount());
+        orderSummaryDto.setBillingAddress(order.getBillingAddress());
+        orderSummaryDto.setBillingPhone(order.getBillingPhone());
+        orderSummaryDto.setBillingName(order.getBillingName());
+        orderSummaryDto.setOrderDate(order.getOrderDate());
+        orderSummaryDto.setDeliveryDate(order.getDeliveryDate());
+        // Reading the id of a lazy user does not load it
+        orderSummaryDto.setUserId(order.getUser() == null ? null : order.getUser().getUserId());
+        orderSummaryDto.setOrderItems(lines);
+        return orderSummaryDto;
+    }
+
+    public OrderSummaryDto toSummary(ArchivedOrder archivedOrder, List<OrderLineDto> lines) {
+        if (archivedOrder == null) {
+            return null;
+        }
+        OrderSummaryDto orderSummaryDto = new OrderSummaryDto();
+        orderSummaryDto.setOrderId(archivedOrder.getOrderId());
+        orderSummaryDto.setOrderStatus(archivedOrder.getOrderStatus());
+        orderSummaryDto.setPaymentStatus(archivedOrder.getPaymentStatus());
+        orderSummaryDto.setOrderAmount(archivedOrder.getOrderAmount());
+        orderSummaryDto.setBillingAddress(archivedOrder.getBillingAddress());
+        orderSummaryDto.setBillingPhone(archivedOrder.getBillingPhone());
+        orderSummaryDto.setBillingName(archivedOrder.getBillingName());
+        orderSummaryDto.setOrderDate(archivedOrder.getOrderDate());
+        orderSummaryDto.setDeliveryDate(archivedOrder.getDeliveryDate());
+        orderSummaryDto.setUserId(archivedOrder.getUserId());
+        orderSummaryDto.setOrderItems(lines);
+        return orderSummaryDto;
+    }
+
+    private OrderLineDto toLine(Order order, OrderItem orderItem) {
+        OrderLineDto orderLineDto = new OrderLineDto();
+        orderLineDto.setOrderId(order.getOrderId());
+        orderLineDto.setOrderItemId(orderItem.getOrderItemId());
+        if (orderItem.getProduct() != null) {
+            orderLineDto.setProductId(orderItem.getProduct().getProductId());
+            orderLineDto.setProductTitle(orderItem.getProduct().getTitle());
+        }
+        orderLineDto.setQuantity(orderItem.getQuantity());
+        orderLineDto.setPriceOfOrderItem(orderItem.getPriceOfOrderItem());
+        return orderLineDto;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.vishal.electronicsstore.mapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.entity.Product;
+
+@Component
+public class ProductMapper {
+
+    private final CategoryMapper categoryMapper;
+
+    @Autowired
+    public ProductMapper(CategoryMapper categoryMapper) {
+        this.categoryMapper = categoryMapper;
+    }
+
+    public ProductDto toDto(Product product) {
+        if (product == null) {
+            return null;
+        }
+        ProductDto productDto = new ProductDto();
+        productDto.setProductId(product.getProductId());
+        productDto.setTitle(product.getTitle());
+        productDto.setDescription(product.getDescription());
+        productDto.setPrice(product.getPrice());
+        productDto.setDiscountedPrice(product.getDiscountedPrice());
+        productDto.setQuantity(product.getQuantity());
+        productDto.setAddedDate(product.getAddedDate());
+        productDto.setLive(product.isLive());
+        productDto.setStock(product.isStock());
+        productDto.setProductImage(product.getProductImage());
+        productDto.setCategory(categoryMapper.toDto(product.getCategory()));
+        return productDto;
+    }
+
+    public Product toEntity(ProductDto productDto) {
+        if (productDto == null) {
+            return null;
+        }
+        Product product = new Product();
+        product.setProductId(productDto.getProductId());
+        product.setTitle(productDto.getTitle());
+        product.setDescription(productDto.getDescription());
+        product.setPrice(productDto.getPrice());
+        product.setDiscountedPrice(productDto.getDiscountedPrice());
+        product.setQuantity(productDto.getQuantity());
+        product.setAddedDate(productDto.getAddedDate());
+        product.setLive(productDto.isLive());
+        product.setStock(productDto.isStock());
+        product.setProductImage(productDto.getProductImage());
+        product.setCategory(categoryMapper.toEntity(productDto.getCategory()));
+        return product;
+    }
+
+}
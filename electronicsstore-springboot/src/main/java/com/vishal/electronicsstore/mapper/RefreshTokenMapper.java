@@ -0,0 +1,31 @@
+package com.vishal.electronicsstore.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.dto.RefreshTokenDto;
+import com.vishal.electronicsstore.entity.RefreshToken;
+
+@Component
+public class RefreshTokenMapper {
+
+    public RefreshTokenDto toDto(RefreshToken refreshToken) {
+        if (refreshToken == null) {
+            return null;
+        }
+        RefreshTokenDto refreshTokenDto = new RefreshTokenDto();
+        refreshTokenDto.setToken(refreshToken.getToken());
+        refreshTokenDto.setExpiryDate(refreshToken.getExpiryDate());
+        return refreshTokenDto;
+    }
+
+    public RefreshToken toEntity(RefreshTokenDto refreshTokenDto) {
+        if (refreshTokenDto == null) {
+            return null;
+        }
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setToken(refreshTokenDto.getToken());
+        refreshToken.setExpiryDate(refreshTokenDto.getExpiryDate());
+        return refreshToken;
+    }
+
+}
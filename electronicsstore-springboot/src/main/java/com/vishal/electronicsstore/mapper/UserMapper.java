@@ -0,0 +1,82 @@
+package com.vishal.electronicsstore.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.dto.RoleDto;
+import com.vishal.electronicsstore.dto.UserDto;
+import com.vishal.electronicsstore.entity.Role;
+import com.vishal.electronicsstore.entity.User;
+
+@Component
+public class UserMapper {
+
+    public UserDto toDto(User user) {
+        if (user == null) {
+            return null;
+        }
+        UserDto userDto = new UserDto();
+        userDto.setUserId(user.getUserId());
+        userDto.setFullName(user.getFullName());
+        userDto.setEmail(user.getEmail());
+        userDto.setPassword(user.getPassword());
+        userDto.setGender(user.getGender());
+        userDto.setAbout(user.getAbout());
+        userDto.setUserImageName(user.getUserImageName());
+        if (user.getRoles() != null) {
+            List<RoleDto> roleDtos = new ArrayList<>(user.getRoles().size());
+            for (Role role : user.getRoles()) {
+                roleDtos.add(toDto(role));
+            }
+            userDto.setRoles(roleDtos);
+        }
+        return userDto;
+    }
+
+    public User toEntity(UserDto userDto) {
+        if (userDto == null) {
+            return null;
+        }
+        User user = new User();
+        user.setUserId(userDto.getUserId());
+        user.setFullName(userDto.getFullName());
+        user.setEmail(userDto.getEmail());
+        user.setPassword(userDto.getPassword());
+        user.setGender(userDto.getGender());
+        user.setAbout(userDto.getAbout());
+        user.setUserImageName(userDto.getUserImageName());
+        // Like ModelMapper, a missing source list overwrites the entity's default with null
+        List<Role> roles = null;
+        if (userDto.getRoles() != null) {
+            roles = new ArrayList<>(userDto.getRoles().size());
+            for (RoleDto roleDto : userDto.getRoles()) {
+                roles.add(toEntity(roleDto));
+            }
+        }
+        user.setRoles(roles);
+        return user;
+    }
+
+    private RoleDto toDto(Role role) {
+        if (role == null) {
+            return null;
+        }
+        RoleDto roleDto = new RoleDto();
+        roleDto.setRoleId(role.getRoleId());
+        roleDto.setRoleName(role.getRoleName());
+        return roleDto;
+    }
+
+    private Role toEntity(RoleDto roleDto) {
+        if (roleDto == null) {
+            return null;
+        }
+        Role role = new Role();
+        role.setRoleId(roleDto.getRoleId());
+        role.setRoleName(roleDto.getRoleName());
+        return role;
+    }
+
+}
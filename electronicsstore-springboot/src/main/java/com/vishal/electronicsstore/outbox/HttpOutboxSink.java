@@ -0,0 +1,46 @@
+package com.vishal.electronicsstore.outbox;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.vishal.electronicsstore.entity.OutboxEvent;
+
+// POSTs each batch as a JSON array, anything but a 2xx leaves the batch for the next run
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+    private final String url;
+
+    @Autowired
+    public HttpOutboxSink(
+            @Value("${outbox.sink.http.url}") String url,
+            @Value("${outbox.sink.http.timeout}") Duration timeout,
+            RestClient.Builder restClientBuilder) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.url = url;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+}
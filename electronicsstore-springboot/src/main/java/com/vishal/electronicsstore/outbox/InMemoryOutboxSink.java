@@ -0,0 +1,31 @@
+package com.vishal.electronicsstore.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.entity.OutboxEvent;
+
+// Keeps what was published, for tests
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        published.addAll(events);
+    }
+
+    public List<OutboxEvent> getPublished() {
+        return List.copyOf(published);
+    }
+
+    public void clear() {
+        published.clear();
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.vishal.electronicsstore.outbox;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.entity.OutboxEvent;
+
+// One JSON line per event on the "outbox" logger, which the logging configuration can route to its own file
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    private static final Logger EVENTS = LoggerFactory.getLogger("outbox");
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LogOutboxSink(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws Exception {
+        for (OutboxEvent event : events) {
+            EVENTS.info(objectMapper.writeValueAsString(event));
+        }
+    }
+
+}
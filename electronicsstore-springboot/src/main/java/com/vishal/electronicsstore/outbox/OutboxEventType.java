@@ -0,0 +1,19 @@
+package com.vishal.electronicsstore.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum OutboxEventType {
+
+    ORDER_CREATED("Order"),
+    ORDER_REMOVED("Order"),
+    ORDER_STATUS_CHANGED("Order"),
+    PRODUCT_CREATED("Product"),
+    PRODUCT_UPDATED("Product"),
+    PRODUCT_DELETED("Product");
+
+    private final String aggregateType;
+
+}
@@ -0,0 +1,167 @@
+package com.vishal.electronicsstore.outbox;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.entity.OutboxEvent;
+import com.vishal.electronicsstore.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Drains the outbox in id order: a batch is deleted only after the sink accepted it, so a crash or a
+// failing sink means the batch is published again rather than lost. An event the sink keeps refusing
+// backs off exponentially and is dead-lettered after max-attempts, so it cannot hold up the events behind it.
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final AtomicLong oldestPendingAge = new AtomicLong();
+    private final Counter published;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private final Timer lag;
+    private final Timer batches;
+
+    @Autowired
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxSink outboxSink,
+            @Value("${outbox.relay.enabled}") boolean enabled,
+            @Value("${outbox.relay.batch-size}") int batchSize,
+            @Value("${outbox.relay.max-attempts}") int maxAttempts,
+            @Value("${outbox.relay.backoff}") Duration backoff,
+            @Value("${outbox.relay.max-backoff}") Duration maxBackoff,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.published = Counter.builder("outbox.relay.published")
+                .description("Events handed to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures")
+                .description("Batches the sink did not accept")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("outbox.relay.dead-lettered")
+                .description("Events given up on after max-attempts failed deliveries")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.oldest.age", oldestPendingAge, AtomicLong::get)
+                .description("Age of the oldest event still waiting to be published")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.lag = Timer.builder("outbox.relay.lag")
+                .description("Time from an event being committed to it being published")
+                .register(meterRegistry);
+        this.batches = Timer.builder("outbox.relay.batch")
+                .description("Time to publish and remove one batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval}")
+    public void scheduledRelay() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    // Returns how many events were published
+    public synchronized int relay() {
+        int total = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findDue(new Date(), Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            long start = System.nanoTime();
+            try {
+                outboxSink.publish(batch);
+            } catch (Exception e) {
+                failures.increment();
+                if (batch.size() == 1) {
+                    recordFailure(batch.get(0), e);
+                } else {
+                    log.warn("Outbox sink rejected a batch of {} events, publishing them one by one", batch.size(), e);
+                    total += publishOneByOne(batch);
+                }
+                break;
+            }
+            remove(batch, start);
+            total += batch.size();
+        } while (batch.size() == batchSize);
+
+        Date oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        oldestPendingAge.set(oldest != null ? System.currentTimeMillis() - oldest.getTime() : 0);
+        return total;
+    }
+
+    // Stops at the first refused event: it is the one charged with a failure, and when the sink is down
+    // altogether only that event pays for it instead of the whole batch
+    private int publishOneByOne(List<OutboxEvent> batch) {
+        int total = 0;
+        for (OutboxEvent event : batch) {
+            long start = System.nanoTime();
+            try {
+                outboxSink.publish(List.of(event));
+            } catch (Exception e) {
+                recordFailure(event, e);
+                break;
+            }
+            remove(List.of(event), start);
+            total++;
+        }
+        return total;
+    }
+
+    private void remove(List<OutboxEvent> events, long start) {
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getEventId).toList());
+        batches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        long now = System.currentTimeMillis();
+        events.forEach(event -> lag.record(now - event.getCreatedAt().getTime(), TimeUnit.MILLISECONDS));
+        published.increment(events.size());
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            event.setDeadLettered(true);
+            deadLettered.increment();
+            log.error("Outbox event {} failed {} times and was dead-lettered", event.getEventId(), attempts, e);
+        } else {
+            Duration wait = backoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+            if (wait.compareTo(maxBackoff) > 0) {
+                wait = maxBackoff;
+            }
+            event.setNextAttemptAt(new Date(System.currentTimeMillis() + wait.toMillis()));
+            log.warn("Outbox event {} failed attempt {}, retrying in {}", event.getEventId(), attempts, wait, e);
+        }
+        outboxEventRepository.save(event);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.vishal.electronicsstore.outbox;
+
+import java.util.List;
+
+import com.vishal.electronicsstore.entity.OutboxEvent;
+
+// Where OutboxRelay delivers events, picked with outbox.sink. Throwing leaves the batch in the outbox
+// to be delivered again on the next run, so deliveries are at least once.
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws Exception;
+
+}
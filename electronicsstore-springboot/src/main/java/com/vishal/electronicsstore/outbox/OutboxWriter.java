@@ -0,0 +1,47 @@
+package com.vishal.electronicsstore.outbox;
+
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.entity.OutboxEvent;
+import com.vishal.electronicsstore.repository.OutboxEventRepository;
+
+import jakarta.transaction.Transactional;
+
+// Change events are written next to the change itself, so they commit or roll back together with it
+// and OutboxRelay only ever sees events for changes that happened
+@Component
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void write(OutboxEventType eventType, String aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateType(eventType.getAggregateType())
+                .aggregateId(aggregateId)
+                .payload(json)
+                .createdAt(new Date())
+                .build());
+    }
+
+}
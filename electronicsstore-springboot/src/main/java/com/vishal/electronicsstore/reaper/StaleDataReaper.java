@@ -0,0 +1,176 @@
+package com.vishal.electronicsstore.reaper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vishal.electronicsstore.cart.WriteBehindCartStore;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Deletes expired refresh tokens, and carts left unchanged for longer than reaper.cart-max-idle together with
+// their lines. Rows go in chunks of reaper.chunk-size, each in its own transaction with reaper.chunk-pause
+// between them, so row locks are held briefly and other writes to the tables get through during a run.
+// Carts held by WriteBehindCartStore are in use whatever the database says, they are touched instead.
+@Component
+@Slf4j
+public class StaleDataReaper {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final CartRepository cartRepository;
+    private final ObjectProvider<WriteBehindCartStore> cartStore;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration cartMaxIdle;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final Counter reapedTokens;
+    private final Counter reapedCarts;
+    private final Timer tokenChunks;
+    private final Timer cartChunks;
+
+    @Autowired
+    public StaleDataReaper(
+            RefreshTokenRepository refreshTokenRepository,
+            CartRepository cartRepository,
+            ObjectProvider<WriteBehindCartStore> cartStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${reaper.enabled}") boolean enabled,
+            @Value("${reaper.cart-max-idle}") Duration cartMaxIdle,
+            @Value("${reaper.chunk-size}") int chunkSize,
+            @Value("${reaper.chunk-pause}") Duration chunkPause,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.cartRepository = cartRepository;
+        this.cartStore = cartStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.cartMaxIdle = cartMaxIdle;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+        this.reapedTokens = reapedCounter(meterRegistry, "refresh_token");
+        this.reapedCarts = reapedCounter(meterRegistry, "cart");
+        this.tokenChunks = chunkTimer(meterRegistry, "refresh_token");
+        this.cartChunks = chunkTimer(meterRegistry, "cart");
+    }
+
+    @Scheduled(cron = "${reaper.cron}")
+    public void scheduledReap() {
+        if (enabled) {
+            reapRefreshTokens();
+            reapCarts();
+        }
+    }
+
+    // Returns how many refresh tokens were deleted
+    public synchronized int reapRefreshTokens() {
+        Instant now = Instant.now();
+        int total = reap(tokenChunks, () -> {
+            List<Integer> ids = refreshTokenRepository.findIdsExpiredBefore(now, PageRequest.of(0, chunkSize));
+            int deleted = ids.isEmpty() ? 0 : refreshTokenRepository.deleteExpiredByIds(ids, now);
+            return new Chunk(ids.size(), deleted);
+        });
+
+        reapedTokens.increment(total);
+        log.info("Reaped {} refresh tokens expired before {}", total, now);
+        return total;
+    }
+
+    // Returns how many carts were deleted
+    public synchronized int reapCarts() {
+        // Carts from before updatedAt was kept get their createdAt, so the idle carts are one range on its index
+        int backfilled = reap(cartChunks, () -> {
+            List<String> cartIds = cartRepository.findIdsWithoutUpdatedAt(PageRequest.of(0, chunkSize));
+            return new Chunk(cartIds.size(), cartIds.isEmpty() ? 0 : cartRepository.backfillUpdatedAt(cartIds));
+        });
+        if (backfilled > 0) {
+            log.info("Backfilled updatedAt of {} carts", backfilled);
+        }
+
+        Date cutoff = new Date(System.currentTimeMillis() - cartMaxIdle.toMillis());
+        int total = reap(cartChunks, () -> {
+            List<String> cartIds = cartRepository.findIdsIdleSince(cutoff, PageRequest.of(0, chunkSize));
+            List<String> idle = cartIds.isEmpty() ? List.of() : cartRepository.lockIdleSince(cartIds, cutoff);
+            WriteBehindCartStore store = cartStore.getIfAvailable();
+            if (store != null && !idle.isEmpty()) {
+                Set<String> held = store.heldCartIds(idle);
+                if (!held.isEmpty()) {
+                    cartRepository.touch(held);
+                    idle = idle.stream().filter(cartId -> !held.contains(cartId)).toList();
+                }
+            }
+            if (idle.isEmpty()) {
+                return new Chunk(cartIds.size(), 0);
+            }
+            cartRepository.deleteItemsByCartIds(idle);
+            return new Chunk(cartIds.size(), cartRepository.deleteByCartIds(idle));
+        });
+
+        reapedCarts.increment(total);
+        log.info("Reaped {} carts unchanged since {}", total, cutoff);
+        return total;
+    }
+
+    // A full chunk means there may be more rows to delete. Rows changed between being found and deleted are
+    // left alone, and are not found again.
+    private int reap(Timer chunks, Supplier<Chunk> chunk) {
+        int total = 0;
+        for (;;) {
+            Chunk result = chunks.record(() -> transactionTemplate.execute(status -> chunk.get()));
+            total += result.deleted;
+            if (result.found < chunkSize) {
+                return total;
+            }
+            try {
+                Thread.sleep(chunkPause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+
+    private static Counter reapedCounter(MeterRegistry meterRegistry, String table) {
+        return Counter.builder("reaper.rows")
+                .tag("table", table)
+                .description("Rows deleted by the reaper")
+                .register(meterRegistry);
+    }
+
+    private static Timer chunkTimer(MeterRegistry meterRegistry, String table) {
+        return Timer.builder("reaper.chunk")
+                .tag("table", table)
+                .description("Time to delete one chunk of rows, including the wait for row locks")
+                .register(meterRegistry);
+    }
+
+    private static final class Chunk {
+
+        private final int found;
+        private final int deleted;
+
+        private Chunk(int found, int deleted) {
+            this.found = found;
+            this.deleted = deleted;
+        }
+
+    }
+
+}
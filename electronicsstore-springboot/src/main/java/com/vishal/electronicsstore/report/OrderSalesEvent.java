@@ -0,0 +1,51 @@
+package com.vishal.electronicsstore.report;
+
+import java.util.Date;
+import java.util.List;
+
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by OrderServiceImpl and applied to the sales rollups once the order change has committed
+@Getter
+@AllArgsConstructor
+public class OrderSalesEvent {
+
+    private final String orderId;
+
+    // 1 when the order was placed, -1 when it was removed
+    private final int sign;
+
+    private final Date orderDate;
+
+    private final int orderAmount;
+
+    private final List<OrderSalesLine> lines;
+
+    public static OrderSalesEvent placed(Order order) {
+        return of(1, order);
+    }
+
+    public static OrderSalesEvent removed(Order order) {
+        return of(-1, order);
+    }
+
+    private static OrderSalesEvent of(int sign, Order order) {
+        List<OrderSalesLine> lines = order.getOrderItems().stream()
+                .map(orderItem -> line(order, orderItem))
+                .toList();
+        return new OrderSalesEvent(order.getOrderId(), sign, order.getOrderDate(), order.getOrderAmount(), lines);
+    }
+
+    private static OrderSalesLine line(Order order, OrderItem orderItem) {
+        String categoryId = orderItem.getProduct().getCategory() == null
+                ? null
+                : orderItem.getProduct().getCategory().getCategoryId();
+        return new OrderSalesLine(order.getOrderId(), orderItem.getProduct().getProductId(), categoryId,
+                orderItem.getQuantity(), orderItem.getPriceOfOrderItem());
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.vishal.electronicsstore.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderSalesLine {
+
+    private final String orderId;
+
+    private final String productId;
+
+    // Null for products without a category
+    private final String categoryId;
+
+    private final int quantity;
+
+    private final int price;
+
+}
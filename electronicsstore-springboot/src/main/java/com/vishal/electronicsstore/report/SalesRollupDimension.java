@@ -0,0 +1,7 @@
+package com.vishal.electronicsstore.report;
+
+public enum SalesRollupDimension {
+
+    TOTAL, PRODUCT, CATEGORY
+
+}
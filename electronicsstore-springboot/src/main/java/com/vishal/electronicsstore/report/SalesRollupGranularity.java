@@ -0,0 +1,22 @@
+package com.vishal.electronicsstore.report;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+// Buckets are aligned to UTC hours and days
+public enum SalesRollupGranularity {
+
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    SalesRollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public Date bucketOf(Date date) {
+        return Date.from(date.toInstant().truncatedTo(unit));
+    }
+
+}
@@ -0,0 +1,237 @@
+package com.vishal.electronicsstore.report;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vishal.electronicsstore.entity.SalesRollup;
+import com.vishal.electronicsstore.entity.SalesRollupId;
+import com.vishal.electronicsstore.util.DateRangeUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Keeps the sales rollups up to date by adding each order's contribution to its hour and day buckets.
+// Committed order changes are buffered and flushed in one batch per interval: checkout neither waits for
+// nor fails on the rollups, and concurrent checkouts do not queue up on the same bucket rows. Changes
+// still buffered at a crash are corrected by ReportService.rebuildSales, the days of a failed flush are
+// kept so ReportService.rebuildFailedSales can correct just those.
+@Component
+@Slf4j
+public class SalesRollupUpdater {
+
+    // Atomic increments, so a flush and a rebuild running side by side cannot lose updates
+    private static final String UPSERT = "INSERT INTO sales_rollup "
+            + "(granularity, dimension, bucket_start, dimension_id, order_count, revenue, units) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "order_count = order_count + VALUES(order_count), revenue = revenue + VALUES(revenue), "
+            + "units = units + VALUES(units)";
+
+    // Rows are written in key order so two transactions touching the same buckets cannot deadlock
+    private static final Comparator<SalesRollup> KEY_ORDER = Comparator
+            .comparing(SalesRollup::getGranularity)
+            .thenComparing(SalesRollup::getDimension)
+            .thenComparing(SalesRollup::getBucketStart)
+            .thenComparing(SalesRollup::getDimensionId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Queue<OrderSalesEvent> pending = new ConcurrentLinkedQueue<>();
+    private final Set<LocalDate> failedDays = ConcurrentHashMap.newKeySet();
+    private final Counter failures;
+
+    @Autowired
+    public SalesRollupUpdater(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.failures = Counter.builder("sales.rollup.failures")
+                .description("Order changes that could not be applied to the sales rollups")
+                .register(meterRegistry);
+        Gauge.builder("sales.rollup.pending", pending, Queue::size)
+                .description("Order changes waiting for the next flush")
+                .register(meterRegistry);
+        Gauge.builder("sales.rollup.failed.days", failedDays, Set::size)
+                .description("Days whose rollups missed a failed flush and need a rebuild")
+                .register(meterRegistry);
+    }
+
+    // Only reached once the order change has committed, a rolled back checkout is never counted
+    @TransactionalEventListener
+    public void onOrderSales(OrderSalesEvent event) {
+        pending.add(event);
+    }
+
+    @Scheduled(fixedDelayString = "${reports.sales.flush-interval}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    // Returns how many order changes were flushed
+    public synchronized int flush() {
+        List<OrderSalesEvent> events = drain();
+        applyOrRecord(events);
+        return events.size();
+    }
+
+    // Rebuilds the days from..to one at a time through rebuildDay, which replays a day's orders and returns
+    // their ids. Flushes are held off meanwhile, and changes buffered for orders of a rebuilt day are then
+    // reconciled with the replay so an order it already counted is not counted again. Returns how many
+    // orders were replayed.
+    public synchronized long rebuild(LocalDate from, LocalDate to, Function<LocalDate, Collection<String>> rebuildDay) {
+        Set<LocalDate> rebuiltDays = new HashSet<>();
+        Set<String> replayedOrders = new HashSet<>();
+        try {
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                replayedOrders.addAll(rebuildDay.apply(day));
+                rebuiltDays.add(day);
+                failedDays.remove(day);
+            }
+        } finally {
+            applyOrRecord(reconcile(drain(), rebuiltDays, replayedOrders));
+        }
+        return replayedOrders.size();
+    }
+
+    public Set<LocalDate> getFailedDays() {
+        return new TreeSet<>(failedDays);
+    }
+
+    private List<OrderSalesEvent> drain() {
+        List<OrderSalesEvent> events = new ArrayList<>();
+        for (OrderSalesEvent event = pending.poll(); event != null; event = pending.poll()) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    // The last change to an order tells whether it exists now; it only needs applying when the replay
+    // saw the order differently
+    private List<OrderSalesEvent> reconcile(List<OrderSalesEvent> events, Set<LocalDate> rebuiltDays,
+            Set<String> replayedOrders) {
+        List<OrderSalesEvent> remaining = new ArrayList<>();
+        Map<String, OrderSalesEvent> lastChanges = new LinkedHashMap<>();
+        for (OrderSalesEvent event : events) {
+            if (rebuiltDays.contains(DateRangeUtil.dayOf(event.getOrderDate()))) {
+                lastChanges.put(event.getOrderId(), event);
+            } else {
+                remaining.add(event);
+            }
+        }
+        lastChanges.forEach((orderId, last) -> {
+            if ((last.getSign() > 0) != replayedOrders.contains(orderId)) {
+                remaining.add(last);
+            }
+        });
+        return remaining;
+    }
+
+    private void applyOrRecord(List<OrderSalesEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(events));
+        } catch (RuntimeException e) {
+            failures.increment(events.size());
+            events.forEach(event -> failedDays.add(DateRangeUtil.dayOf(event.getOrderDate())));
+            log.warn("Could not apply {} order changes to the sales rollups, rebuilding {} will correct them",
+                    events.size(), getFailedDays(), e);
+        }
+    }
+
+    public void apply(List<OrderSalesEvent> events) {
+        Map<SalesRollupId, SalesRollup> rows = new HashMap<>();
+        for (OrderSalesEvent event : events) {
+            for (SalesRollupGranularity granularity : SalesRollupGranularity.values()) {
+                addOrder(rows, granularity, event);
+            }
+        }
+
+        List<SalesRollup> ordered = new ArrayList<>(rows.values());
+        ordered.sort(KEY_ORDER);
+        jdbcTemplate.batchUpdate(UPSERT, ordered, ordered.size(), (statement, row) -> {
+            statement.setString(1, row.getGranularity().name());
+            statement.setString(2, row.getDimension().name());
+            statement.setTimestamp(3, new Timestamp(row.getBucketStart().getTime()));
+            statement.setString(4, row.getDimensionId());
+            statement.setLong(5, row.getOrderCount());
+            statement.setLong(6, row.getRevenue());
+            statement.setLong(7, row.getUnits());
+        });
+    }
+
+    // A product or category counts an order once, however many of its lines it appears on
+    private void addOrder(Map<SalesRollupId, SalesRollup> rows, SalesRollupGranularity granularity,
+            OrderSalesEvent event) {
+        int sign = event.getSign();
+        Date bucketStart = granularity.bucketOf(event.getOrderDate());
+        int units = event.getLines().stream().mapToInt(OrderSalesLine::getQuantity).sum();
+        add(rows, granularity, SalesRollupDimension.TOTAL, bucketStart, "", sign,
+                sign * (long) event.getOrderAmount(), sign * (long) units);
+
+        event.getLines().stream()
+                .collect(Collectors.groupingBy(OrderSalesLine::getProductId))
+                .forEach((productId, lines) -> add(rows, granularity, SalesRollupDimension.PRODUCT, bucketStart,
+                        productId, sign, sign * revenue(lines), sign * units(lines)));
+
+        event.getLines().stream()
+                .filter(line -> Objects.nonNull(line.getCategoryId()))
+                .collect(Collectors.groupingBy(OrderSalesLine::getCategoryId))
+                .forEach((categoryId, lines) -> add(rows, granularity, SalesRollupDimension.CATEGORY, bucketStart,
+                        categoryId, sign, sign * revenue(lines), sign * units(lines)));
+    }
+
+    private void add(Map<SalesRollupId, SalesRollup> rows, SalesRollupGranularity granularity,
+            SalesRollupDimension dimension, Date bucketStart, String dimensionId, long orderCount,
+            long revenue, long units) {
+        SalesRollup row = rows.computeIfAbsent(new SalesRollupId(granularity, dimension, bucketStart, dimensionId),
+                id -> SalesRollup.builder()
+                        .granularity(granularity)
+                        .dimension(dimension)
+                        .bucketStart(bucketStart)
+                        .dimensionId(dimensionId)
+                        .build());
+        row.setOrderCount(row.getOrderCount() + orderCount);
+        row.setRevenue(row.getRevenue() + revenue);
+        row.setUnits(row.getUnits() + units);
+    }
+
+    private long revenue(List<OrderSalesLine> lines) {
+        return lines.stream().mapToLong(OrderSalesLine::getPrice).sum();
+    }
+
+    private long units(List<OrderSalesLine> lines) {
+        return lines.stream().mapToLong(OrderSalesLine::getQuantity).sum();
+    }
+
+}
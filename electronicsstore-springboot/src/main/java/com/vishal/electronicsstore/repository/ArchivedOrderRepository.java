@@ -0,0 +1,54 @@
+package com.vishal.electronicsstore.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vishal.electronicsstore.dto.OrderLineDto;
+import com.vishal.electronicsstore.entity.ArchivedOrder;
+import com.vishal.electronicsstore.report.OrderSalesLine;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, String> {
+
+    List<ArchivedOrder> findByUserIdOrderByOrderDateDesc(String userId);
+
+    Slice<ArchivedOrder> findSliceByOrderDateGreaterThanEqualAndOrderDateLessThan(Date from, Date to,
+            Pageable pageable);
+
+    @Query("SELECT new com.vishal.electronicsstore.dto.OrderLineDto("
+            + "ai.orderId, ai.orderItemId, ai.productId, ai.productTitle, ai.quantity, ai.priceOfOrderItem) "
+            + "FROM ArchivedOrderItem ai WHERE ai.orderId IN :orderIds ORDER BY ai.orderItemId")
+    List<OrderLineDto> findLinesByOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    @Query("SELECT new com.vishal.electronicsstore.report.OrderSalesLine("
+            + "ai.orderId, ai.productId, ai.categoryId, ai.quantity, ai.priceOfOrderItem) "
+            + "FROM ArchivedOrderItem ai WHERE ai.orderId IN :orderIds")
+    List<OrderSalesLine> findSalesLinesByOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    // Copied with INSERT ... SELECT, the archived rows never pass through the application
+    @Modifying
+    @Query("INSERT INTO ArchivedOrder (orderId, orderStatus, paymentStatus, orderAmount, billingAddress, "
+            + "billingPhone, billingName, orderDate, deliveryDate, userId, archivedAt) "
+            + "SELECT o.orderId, o.orderStatus, o.paymentStatus, o.orderAmount, o.billingAddress, "
+            + "o.billingPhone, o.billingName, o.orderDate, o.deliveryDate, o.user.userId, CURRENT_TIMESTAMP "
+            + "FROM Order o WHERE o.orderId IN :orderIds")
+    int copyOrders(@Param("orderIds") Collection<String> orderIds);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedOrderItem (orderItemId, orderId, productId, productTitle, categoryId, quantity, "
+            + "priceOfOrderItem) "
+            + "SELECT oi.orderItemId, oi.order.orderId, p.productId, p.title, c.categoryId, oi.quantity, "
+            + "oi.priceOfOrderItem "
+            + "FROM OrderItem oi LEFT JOIN oi.product p LEFT JOIN p.category c WHERE oi.order.orderId IN :orderIds")
+    int copyOrderItems(@Param("orderIds") Collection<String> orderIds);
+
+}
@@ -1,6 +1,13 @@
 package com.vishal.electronicsstore.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.vishal.electronicsstore.entity.CartItem;
@@ -8,4 +15,62 @@ import com.vishal.electronicsstore.entity.CartItem;
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Integer> {
 
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.quantityOfCartItem = :quantity, ci.priceOfCartItem = :price "
+            + "WHERE ci.cart.cartId = :cartId AND ci.product.productId = :productId")
+    int updateLine(@Param("cartId") String cartId, @Param("productId") String productId,
+            @Param("quantity") int quantity, @Param("price") int price);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cartItemId = :cartItemId")
+    int deleteLine(@Param("cartItemId") int cartItemId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.cartId = :cartId AND ci.product.productId = :productId")
+    int deleteLine(@Param("cartId") String cartId, @Param("productId") String productId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.cartId = :cartId")
+    int deleteLines(@Param("cartId") String cartId);
+
+    @Query("SELECT ci.cart.user.userId AS userId, ci.product.productId AS productId FROM CartItem ci "
+            + "WHERE ci.cartItemId = :cartItemId")
+    Optional<OwnerView> findOwnerByCartItemId(@Param("cartItemId") int cartItemId);
+
+    // Walks the index on product_id, and returns only the lines not priced at the current discounted price
+    @Query("SELECT ci.cartItemId AS cartItemId, p.productId AS productId, p.discountedPrice AS discountedPrice "
+            + "FROM CartItem ci JOIN ci.product p WHERE p.productId IN :productIds "
+            + "AND ci.priceOfCartItem <> ci.quantityOfCartItem * p.discountedPrice")
+    List<StalePriceView> findStalePrices(@Param("productIds") Collection<String> productIds);
+
+    // A full pass over the cart lines, only run once at startup
+    @Query("SELECT DISTINCT p.productId FROM CartItem ci JOIN ci.product p "
+            + "WHERE ci.priceOfCartItem <> ci.quantityOfCartItem * p.discountedPrice")
+    List<String> findProductIdsWithStalePrices();
+
+    // The price follows the quantity of the line at the time of the update
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.priceOfCartItem = ci.quantityOfCartItem * :discountedPrice "
+            + "WHERE ci.cartItemId IN :cartItemIds")
+    int repriceLines(@Param("cartItemIds") Collection<Integer> cartItemIds,
+            @Param("discountedPrice") int discountedPrice);
+
+    interface OwnerView {
+
+        String getUserId();
+
+        String getProductId();
+
+    }
+
+    interface StalePriceView {
+
+        int getCartItemId();
+
+        String getProductId();
+
+        int getDiscountedPrice();
+
+    }
+
 }
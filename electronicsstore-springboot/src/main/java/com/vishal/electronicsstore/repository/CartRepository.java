@@ -1,16 +1,92 @@
 package com.vishal.electronicsstore.repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.vishal.electronicsstore.dto.CartLineDto;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
 import com.vishal.electronicsstore.entity.Cart;
 import com.vishal.electronicsstore.entity.User;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface CartRepository extends JpaRepository<Cart, String> {
 
     Optional<Cart> findByUser(User user);
 
+    @Query("SELECT new com.vishal.electronicsstore.dto.CartSummaryDto(c.cartId, c.createdAt, c.user.userId) "
+            + "FROM Cart c WHERE c.user.userId = :userId")
+    Optional<CartSummaryDto> findSummaryByUserId(@Param("userId") String userId);
+
+    @Query("SELECT new com.vishal.electronicsstore.dto.CartLineDto("
+            + "ci.cartItemId, p.productId, p.title, ci.quantityOfCartItem, ci.priceOfCartItem) "
+            + "FROM CartItem ci JOIN ci.product p WHERE ci.cart.cartId = :cartId ORDER BY ci.cartItemId")
+    List<CartLineDto> findLinesByCartId(@Param("cartId") String cartId);
+
+    // Checkout increments the version when it commits, so it fails if the cart changed after it was read
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM Cart c WHERE c.user = :user")
+    Optional<Cart> lockByUser(@Param("user") User user);
+
+    @Query("SELECT c.cartId AS cartId, c.version AS version FROM Cart c WHERE c.user.userId = :userId")
+    Optional<VersionView> findVersionByUserId(@Param("userId") String userId);
+
+    @Query("SELECT c.cartId AS cartId, c.version AS version FROM CartItem ci JOIN ci.cart c "
+            + "WHERE ci.cartItemId = :cartItemId")
+    Optional<VersionView> findVersionByCartItemId(@Param("cartItemId") int cartItemId);
+
+    // Matches nothing once another change to the cart has committed; the row lock taken here also queues
+    // concurrent changes to the same cart behind this one
+    @Modifying
+    @Query("UPDATE Cart c SET c.version = c.version + 1, c.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE c.cartId = :cartId AND c.version = :version")
+    int incrementVersion(@Param("cartId") String cartId, @Param("version") long version);
+
+    // A single range on the index on updatedAt; carts without one are backfilled first
+    @Query("SELECT c.cartId FROM Cart c WHERE c.updatedAt < :cutoff")
+    List<String> findIdsIdleSince(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    // Locks the carts still idle, a change to one of them then waits and finds the cart gone
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.cartId FROM Cart c WHERE c.cartId IN :cartIds AND c.updatedAt < :cutoff")
+    List<String> lockIdleSince(@Param("cartIds") Collection<String> cartIds, @Param("cutoff") Date cutoff);
+
+    @Query("SELECT c.cartId FROM Cart c WHERE c.updatedAt IS NULL")
+    List<String> findIdsWithoutUpdatedAt(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.updatedAt = c.createdAt WHERE c.cartId IN :cartIds AND c.updatedAt IS NULL")
+    int backfillUpdatedAt(@Param("cartIds") Collection<String> cartIds);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.updatedAt = CURRENT_TIMESTAMP WHERE c.cartId IN :cartIds")
+    int touch(@Param("cartIds") Collection<String> cartIds);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.cartId IN :cartIds")
+    int deleteItemsByCartIds(@Param("cartIds") Collection<String> cartIds);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.cartId IN :cartIds")
+    int deleteByCartIds(@Param("cartIds") Collection<String> cartIds);
+
+    interface VersionView {
+
+        String getCartId();
+
+        long getVersion();
+
+    }
+
 }
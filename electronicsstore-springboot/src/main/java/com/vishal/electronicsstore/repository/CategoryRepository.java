@@ -1,10 +1,18 @@
 package com.vishal.electronicsstore.repository;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.vishal.electronicsstore.config.CacheConfig;
 import com.vishal.electronicsstore.entity.Category;
 
 @Repository
@@ -12,4 +20,17 @@ public interface CategoryRepository extends JpaRepository<Category, String> {
 
     Page<Category> findByTitleContaining(String keyword, Pageable pageable);
 
+    Slice<Category> findSliceBy(Pageable pageable);
+
+    Slice<Category> findSliceByTitleContaining(String keyword, Pageable pageable);
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'categories'")
+    @Query("SELECT COUNT(c) FROM Category c")
+    long countAll();
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'categorySearch:' + #keyword")
+    long countByTitleContaining(String keyword);
+
+    Window<Category> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
 }
@@ -0,0 +1,26 @@
+package com.vishal.electronicsstore.repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vishal.electronicsstore.entity.IdempotencyRecord;
+
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    Optional<IdempotencyRecord> findByIdempotencyKeyAndExpiresAtAfter(String idempotencyKey, Date now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+
+}
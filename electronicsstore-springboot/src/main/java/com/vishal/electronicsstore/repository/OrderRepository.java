@@ -1,16 +1,128 @@
 package com.vishal.electronicsstore.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.vishal.electronicsstore.config.CacheConfig;
+import com.vishal.electronicsstore.dto.OrderExportRow;
+import com.vishal.electronicsstore.dto.OrderLineDto;
 import com.vishal.electronicsstore.entity.Order;
 import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.export.ExportWriter;
+import com.vishal.electronicsstore.report.OrderSalesLine;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
 
     List<Order> findByUser(User user);
 
+    List<Order> findByUserUserId(String userId);
+
+    Page<Order> findByUserUserId(String userId, Pageable pageable);
+
+    Window<Order> findByUserUserId(String userId, ScrollPosition position, Sort sort, Limit limit);
+
+    boolean existsByOrderIdAndUserEmail(String orderId, String email);
+
+    Slice<Order> findSliceBy(Pageable pageable);
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'orders'")
+    @Query("SELECT COUNT(o) FROM Order o")
+    long countAll();
+
+    Window<Order> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("SELECT new com.vishal.electronicsstore.dto.OrderLineDto("
+            + "oi.order.orderId, oi.orderItemId, p.productId, p.title, oi.quantity, oi.priceOfOrderItem) "
+            + "FROM OrderItem oi JOIN oi.product p WHERE oi.order.orderId IN :orderIds ORDER BY oi.orderItemId")
+    List<OrderLineDto> findLinesByOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    Page<Order> findByOrderStatus(String orderStatus, Pageable pageable);
+
+    Page<Order> findByOrderDateGreaterThanEqualAndOrderDateLessThan(Date from, Date to, Pageable pageable);
+
+    Page<Order> findByOrderStatusAndOrderDateGreaterThanEqualAndOrderDateLessThan(String orderStatus, Date from,
+            Date to, Pageable pageable);
+
+    Slice<Order> findSliceByOrderDateGreaterThanEqualAndOrderDateLessThan(Date from, Date to, Pageable pageable);
+
+    @Query("SELECT new com.vishal.electronicsstore.report.OrderSalesLine("
+            + "oi.order.orderId, p.productId, c.categoryId, oi.quantity, oi.priceOfOrderItem) "
+            + "FROM OrderItem oi JOIN oi.product p LEFT JOIN p.category c WHERE oi.order.orderId IN :orderIds")
+    List<OrderSalesLine> findSalesLinesByOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    // Oldest first, so an interrupted archival run picks up where it stopped
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderDate < :cutoff ORDER BY o.orderDate")
+    List<String> findIdsOrderedBefore(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem oi WHERE oi.order.orderId IN :orderIds")
+    int deleteItemsByOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.orderId IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    // Status reads for the bulk status update lock the rows, so the outcome reported per order is the one applied
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.orderId AS orderId, o.orderStatus AS orderStatus FROM Order o WHERE o.orderId IN :orderIds")
+    List<StatusView> lockStatusesByOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderStatus = :orderStatus "
+            + "AND o.orderDate >= :from AND o.orderDate < :to ORDER BY o.orderDate")
+    List<String> lockIdsByStatusAndOrderDate(
+            @Param("orderStatus") String orderStatus,
+            @Param("from") Date from,
+            @Param("to") Date to,
+            Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :toStatus, "
+            + "o.paymentStatus = COALESCE(:paymentStatus, o.paymentStatus), "
+            + "o.deliveryDate = COALESCE(:deliveryDate, o.deliveryDate) "
+            + "WHERE o.orderId IN :orderIds AND o.orderStatus = :fromStatus")
+    int updateStatuses(
+            @Param("orderIds") Collection<String> orderIds,
+            @Param("fromStatus") String fromStatus,
+            @Param("toStatus") String toStatus,
+            @Param("paymentStatus") String paymentStatus,
+            @Param("deliveryDate") Date deliveryDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE))
+    @Query("SELECT new com.vishal.electronicsstore.dto.OrderExportRow(o.orderId, o.orderStatus, o.paymentStatus, "
+            + "o.orderAmount, o.billingName, o.billingPhone, o.billingAddress, o.orderDate, o.deliveryDate, "
+            + "o.user.userId) FROM Order o WHERE o.orderDate >= :from AND o.orderDate < :to ORDER BY o.orderDate")
+    Stream<OrderExportRow> streamExportRows(@Param("from") Date from, @Param("to") Date to);
+
+    interface StatusView {
+
+        String getOrderId();
+
+        String getOrderStatus();
+
+    }
+
 }
@@ -0,0 +1,24 @@
+package com.vishal.electronicsstore.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vishal.electronicsstore.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.deadLettered = false "
+            + "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) ORDER BY e.eventId")
+    List<OutboxEvent> findDue(@Param("now") Date now, Limit limit);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.deadLettered = false")
+    Date findOldestPendingCreatedAt();
+
+}
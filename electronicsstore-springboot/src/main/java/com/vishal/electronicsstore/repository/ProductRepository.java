@@ -1,12 +1,35 @@
 package com.vishal.electronicsstore.repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.vishal.electronicsstore.config.CacheConfig;
+import com.vishal.electronicsstore.dto.ProductExportRow;
 import com.vishal.electronicsstore.entity.Category;
 import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.export.ExportWriter;
+import com.vishal.electronicsstore.search.ProductSearchDocument;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, String> {
@@ -17,4 +40,74 @@ public interface ProductRepository extends JpaRepository<Product, String> {
 
     Page<Product> findByCategory(Category category, Pageable pageable);
 
+    Slice<Product> findSliceBy(Pageable pageable);
+
+    Slice<Product> findSliceByTitleContaining(String keyword, Pageable pageable);
+
+    Slice<Product> findSliceByLiveTrue(Pageable pageable);
+
+    Slice<Product> findSliceByCategory(Category category, Pageable pageable);
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'products'")
+    @Query("SELECT COUNT(p) FROM Product p")
+    long countAll();
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'productSearch:' + #keyword")
+    long countByTitleContaining(String keyword);
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'liveProducts'")
+    long countByLiveTrue();
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'categoryProducts:' + #category.categoryId")
+    long countByCategory(Category category);
+
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Product> findByLiveTrue(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Product> findByCategory(Category category, ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("SELECT new com.vishal.electronicsstore.search.ProductSearchDocument("
+            + "p.productId, p.title, p.description, p.price, p.discountedPrice, p.quantity, p.addedDate, p.live) "
+            + "FROM Product p WHERE p.productId > :afterProductId ORDER BY p.productId")
+    List<ProductSearchDocument> findSearchDocuments(@Param("afterProductId") String afterProductId, Pageable pageable);
+
+    @Query("SELECT new com.vishal.electronicsstore.search.ProductSearchDocument("
+            + "p.productId, p.title, p.description, p.price, p.discountedPrice, p.quantity, p.addedDate, p.live) "
+            + "FROM Product p WHERE p.productId IN :productIds")
+    List<ProductSearchDocument> findSearchDocumentsByProductIds(@Param("productIds") Collection<String> productIds);
+
+    @Query("SELECT p.productId FROM Product p WHERE p.productId IN :productIds")
+    Set<String> findExistingIds(@Param("productIds") Collection<String> productIds);
+
+    @Query("SELECT p.productId AS productId, p.discountedPrice AS discountedPrice FROM Product p "
+            + "WHERE p.productId IN :productIds")
+    List<PriceView> findPricesByProductIds(@Param("productIds") Collection<String> productIds);
+
+    // Takes stock only if enough is left; the row lock is held until the surrounding transaction ends.
+    // stock is assigned first so it is computed from the quantity before the decrement on every database.
+    // Nothing pending in the session affects these columns, so the auto flush (a dirty check of every
+    // managed entity, once per cart line) is skipped
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("UPDATE Product p SET p.stock = CASE WHEN p.quantity > :quantity THEN true ELSE false END, "
+            + "p.quantity = p.quantity - :quantity WHERE p.productId = :productId AND p.quantity >= :quantity")
+    int reserveStock(@Param("productId") String productId, @Param("quantity") int quantity);
+
+    // Must be read inside a transaction and closed, the driver streams the rows
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportWriter.FETCH_SIZE))
+    @Query("SELECT new com.vishal.electronicsstore.dto.ProductExportRow(p.productId, p.title, p.price, "
+            + "p.discountedPrice, p.quantity, p.live, p.stock, p.addedDate, c.categoryId) "
+            + "FROM Product p LEFT JOIN p.category c WHERE p.addedDate >= :from AND p.addedDate < :to "
+            + "ORDER BY p.productId")
+    Stream<ProductExportRow> streamExportRows(@Param("from") Date from, @Param("to") Date to);
+
+    interface PriceView {
+
+        String getProductId();
+
+        int getDiscountedPrice();
+
+    }
+
 }
@@ -1,7 +1,11 @@
 package com.vishal.electronicsstore.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -22,4 +26,12 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Inte
     @Query("DELETE FROM RefreshToken rt WHERE rt.user.userId = :userId")
     void deleteRefreshTokenByUserId(@Param("userId") String userId);
 
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.expiryDate < :now")
+    List<Integer> findIdsExpiredBefore(@Param("now") Instant now, Pageable pageable);
+
+    // A token renewed since it was found expired keeps its row
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids AND rt.expiryDate < :now")
+    int deleteExpiredByIds(@Param("ids") Collection<Integer> ids, @Param("now") Instant now);
+
 }
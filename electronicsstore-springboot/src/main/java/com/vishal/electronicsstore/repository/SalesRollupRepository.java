@@ -0,0 +1,35 @@
+package com.vishal.electronicsstore.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vishal.electronicsstore.dto.SalesRollupDto;
+import com.vishal.electronicsstore.entity.SalesRollup;
+import com.vishal.electronicsstore.entity.SalesRollupId;
+import com.vishal.electronicsstore.report.SalesRollupDimension;
+import com.vishal.electronicsstore.report.SalesRollupGranularity;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollupId> {
+
+    @Query("SELECT new com.vishal.electronicsstore.dto.SalesRollupDto("
+            + "r.granularity, r.dimension, r.bucketStart, r.dimensionId, r.orderCount, r.revenue, r.units) "
+            + "FROM SalesRollup r WHERE r.granularity = :granularity AND r.dimension = :dimension "
+            + "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart, r.dimensionId")
+    List<SalesRollupDto> findRange(
+            @Param("granularity") SalesRollupGranularity granularity,
+            @Param("dimension") SalesRollupDimension dimension,
+            @Param("from") Date from,
+            @Param("to") Date to);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteRange(@Param("from") Date from, @Param("to") Date to);
+
+}
@@ -2,11 +2,19 @@ package com.vishal.electronicsstore.repository;
 
 import java.util.Optional;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.vishal.electronicsstore.config.CacheConfig;
 import com.vishal.electronicsstore.entity.User;
 
 @Repository
@@ -16,4 +24,17 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     Page<User> findByFullNameContaining(String keyword, Pageable pageable);
 
+    Slice<User> findSliceBy(Pageable pageable);
+
+    Slice<User> findSliceByFullNameContaining(String keyword, Pageable pageable);
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'users'")
+    @Query("SELECT COUNT(u) FROM User u")
+    long countAll();
+
+    @Cacheable(cacheNames = CacheConfig.LISTING_COUNTS_CACHE, key = "'userSearch:' + #keyword")
+    long countByFullNameContaining(String keyword);
+
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
 }
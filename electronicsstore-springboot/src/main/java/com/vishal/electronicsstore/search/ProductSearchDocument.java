@@ -0,0 +1,42 @@
+package com.vishal.electronicsstore.search;
+
+import java.util.Date;
+
+import com.vishal.electronicsstore.entity.Product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductSearchDocument {
+
+    private String productId;
+
+    private String title;
+
+    private String description;
+
+    private int price;
+
+    private int discountedPrice;
+
+    private int quantity;
+
+    private Date addedDate;
+
+    private boolean live;
+
+    public static ProductSearchDocument of(Product product) {
+        return new ProductSearchDocument(
+                product.getProductId(),
+                product.getTitle(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getDiscountedPrice(),
+                product.getQuantity(),
+                product.getAddedDate(),
+                product.isLive());
+    }
+
+}
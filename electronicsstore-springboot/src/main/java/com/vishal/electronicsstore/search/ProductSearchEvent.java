@@ -0,0 +1,28 @@
+package com.vishal.electronicsstore.search;
+
+import com.vishal.electronicsstore.entity.Product;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by ProductServiceImpl, the index follows the change once it has committed so a rolled back
+// change never shows up in searches
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductSearchEvent {
+
+    private final String productId;
+
+    // The product as written, null when it was deleted
+    private final ProductSearchDocument document;
+
+    public static ProductSearchEvent indexed(Product product) {
+        return new ProductSearchEvent(product.getProductId(), ProductSearchDocument.of(product));
+    }
+
+    public static ProductSearchEvent removed(String productId) {
+        return new ProductSearchEvent(productId, null);
+    }
+
+}
@@ -0,0 +1,413 @@
+package com.vishal.electronicsstore.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product titles and descriptions.
+ *
+ * Every query term must match (exactly or as a prefix of an indexed term) and hits are
+ * ranked with BM25, title occurrences counting more than description ones. A prefix is
+ * expanded to at most MAX_PREFIX_EXPANSIONS indexed terms, the ones in the most products;
+ * a page that left out rarer expansions is marked as truncated. Reads share a read lock;
+ * upserts and removals take the write lock.
+ */
+public class ProductSearchIndex {
+
+    public static final String SORT_BY_RELEVANCE = "relevance";
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            SORT_BY_RELEVANCE, "title", "price", "discountedPrice", "quantity", "addedDate", "live");
+
+    private static final int TITLE_BOOST = 3;
+    private static final float PREFIX_MATCH_WEIGHT = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int COMPACTION_THRESHOLD = 10_000;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    // Doc number -> indexed doc; slots of removed products are nulled until the next compaction
+    private final List<IndexedDoc> docs = new ArrayList<>();
+    private final Map<String, Integer> docNumbers = new HashMap<>();
+    private long totalLength;
+    private int removedSinceCompaction;
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    public static boolean isSortable(String sortBy) {
+        return SORTABLE_FIELDS.contains(sortBy);
+    }
+
+    public void upsert(ProductSearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(document.getTitle()).forEach(term -> frequencies.merge(term, TITLE_BOOST, Integer::sum));
+        tokenize(document.getDescription()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.getProductId());
+
+            int docNumber = docs.size();
+            docs.add(new IndexedDoc(document, length));
+            docNumbers.put(document.getProductId(), docNumber);
+            totalLength += length;
+            frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, t -> new Postings())
+                    .add(docNumber, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docs.clear();
+            docNumbers.clear();
+            totalLength = 0;
+            removedSinceCompaction = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docNumbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ProductSearchPage search(String query, String sortBy, boolean ascending, int pageNumber, int pageSize) {
+        if (!isSortable(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field for search: " + sortBy);
+        }
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return new ProductSearchPage(List.of(), 0, false);
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docNumbers.size();
+            float averageLength = liveDocs == 0 ? 1 : (float) totalLength / liveDocs;
+
+            List<DocScores> termMatches = new ArrayList<>();
+            boolean truncated = false;
+            for (String term : queryTerms) {
+                DocScores matches = matchTerm(term, liveDocs, averageLength);
+                truncated |= matches.truncated;
+                if (matches.size == 0) {
+                    return new ProductSearchPage(List.of(), 0, truncated);
+                }
+                termMatches.add(matches);
+            }
+
+            // Intersect the rarest terms first so the candidate set shrinks as early as possible
+            termMatches.sort(Comparator.comparingInt(matches -> matches.size));
+            DocScores hits = termMatches.get(0);
+            for (int i = 1; i < termMatches.size() && hits.size > 0; i++) {
+                hits = hits.intersect(termMatches.get(i));
+            }
+
+            int from = (int) Math.min((long) pageNumber * pageSize, hits.size);
+            int to = (int) Math.min((long) from + pageSize, hits.size);
+            List<Integer> top = topHits(hits, to, comparator(hits, sortBy, ascending));
+
+            List<String> productIds = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                productIds.add(docs.get(hits.docs[top.get(i)]).productId);
+            }
+            return new ProductSearchPage(productIds, hits.size, truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeInternal(String productId) {
+        Integer docNumber = docNumbers.remove(productId);
+        if (docNumber == null) {
+            return false;
+        }
+        totalLength -= docs.get(docNumber).length;
+        docs.set(docNumber, null);
+        removedSinceCompaction++;
+
+        if (removedSinceCompaction >= COMPACTION_THRESHOLD && removedSinceCompaction > docNumbers.size() / 4) {
+            compact();
+        }
+        return true;
+    }
+
+    // Drops removed docs and their postings. The live docs are renumbered in their current order, so
+    // postings stay sorted and no re-tokenizing is needed
+    private void compact() {
+        int[] renumbered = new int[docs.size()];
+        List<IndexedDoc> liveDocs = new ArrayList<>(docNumbers.size());
+        for (int i = 0; i < docs.size(); i++) {
+            IndexedDoc doc = docs.get(i);
+            renumbered[i] = doc == null ? -1 : liveDocs.size();
+            if (doc != null) {
+                liveDocs.add(doc);
+            }
+        }
+
+        Iterator<Postings> iterator = terms.values().iterator();
+        while (iterator.hasNext()) {
+            Postings postings = iterator.next();
+            postings.renumber(renumbered);
+            if (postings.size == 0) {
+                iterator.remove();
+            }
+        }
+        docs.clear();
+        docs.addAll(liveDocs);
+        docNumbers.replaceAll((productId, docNumber) -> renumbered[docNumber]);
+        removedSinceCompaction = 0;
+    }
+
+    int docSlots() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private DocScores matchTerm(String term, int liveDocs, float averageLength) {
+        DocScores matches = new DocScores(0);
+
+        Postings exact = terms.get(term);
+        if (exact != null) {
+            matches = matches.unionMax(score(exact, 1f, liveDocs, averageLength));
+        }
+
+        NavigableMap<String, Postings> expansions = terms.subMap(term, false, term + Character.MAX_VALUE, false);
+        // Keeps the expansions found in the most docs, the ones left out can only add the rarer hits
+        PriorityQueue<Postings> kept = new PriorityQueue<>(Comparator.comparingInt(postings -> postings.size));
+        boolean truncated = false;
+        for (Postings postings : expansions.values()) {
+            kept.add(postings);
+            if (kept.size() > MAX_PREFIX_EXPANSIONS) {
+                kept.poll();
+                truncated = true;
+            }
+        }
+        for (Postings postings : kept) {
+            matches = matches.unionMax(score(postings, PREFIX_MATCH_WEIGHT, liveDocs, averageLength));
+        }
+        matches.truncated = truncated;
+        return matches;
+    }
+
+    private DocScores score(Postings postings, float weight, int liveDocs, float averageLength) {
+        double idf = Math.log(1 + (liveDocs - postings.size + 0.5) / (postings.size + 0.5));
+        DocScores scores = new DocScores(postings.size);
+        for (int i = 0; i < postings.size; i++) {
+            IndexedDoc doc = docs.get(postings.docs[i]);
+            if (doc == null) {
+                continue;
+            }
+            int frequency = postings.frequencies[i];
+            double normalization = K1 * (1 - B + B * doc.length / averageLength);
+            float score = (float) (weight * idf * frequency * (K1 + 1) / (frequency + normalization));
+            scores.append(postings.docs[i], score);
+        }
+        return scores;
+    }
+
+    // Only the hits up to the end of the requested page are ordered, using a bounded heap
+    private List<Integer> topHits(DocScores hits, int count, Comparator<Integer> comparator) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(count, 1), comparator.reversed());
+        for (int i = 0; i < hits.size && count > 0; i++) {
+            if (heap.size() < count) {
+                heap.add(i);
+            } else if (comparator.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        List<Integer> top = new ArrayList<>(heap);
+        top.sort(comparator);
+        return top;
+    }
+
+    private Comparator<Integer> comparator(DocScores hits, String sortBy, boolean ascending) {
+        if (SORT_BY_RELEVANCE.equals(sortBy)) {
+            return Comparator.<Integer>comparingDouble(i -> hits.scores[i]).reversed()
+                    .thenComparingInt(i -> hits.docs[i]);
+        }
+
+        Comparator<IndexedDoc> byField = switch (sortBy) {
+            case "title" -> Comparator.comparing(doc -> doc.title, String.CASE_INSENSITIVE_ORDER);
+            case "price" -> Comparator.comparingInt(doc -> doc.price);
+            case "discountedPrice" -> Comparator.comparingInt(doc -> doc.discountedPrice);
+            case "quantity" -> Comparator.comparingInt(doc -> doc.quantity);
+            case "addedDate" -> Comparator.comparingLong(doc -> doc.addedDate);
+            default -> Comparator.comparing(doc -> doc.live);
+        };
+        if (!ascending) {
+            byField = byField.reversed();
+        }
+        Comparator<IndexedDoc> fieldComparator = byField;
+        return Comparator.<Integer, IndexedDoc>comparing(i -> docs.get(hits.docs[i]), fieldComparator)
+                .thenComparingInt(i -> hits.docs[i]);
+    }
+
+    private static final class IndexedDoc {
+
+        private final String productId;
+        private final String title;
+        private final int price;
+        private final int discountedPrice;
+        private final int quantity;
+        private final long addedDate;
+        private final boolean live;
+        private final int length;
+
+        private IndexedDoc(ProductSearchDocument document, int length) {
+            this.productId = document.getProductId();
+            this.title = document.getTitle() == null ? "" : document.getTitle();
+            this.price = document.getPrice();
+            this.discountedPrice = document.getDiscountedPrice();
+            this.quantity = document.getQuantity();
+            this.addedDate = document.getAddedDate() == null ? Long.MIN_VALUE : document.getAddedDate().getTime();
+            this.live = document.isLive();
+            this.length = length;
+        }
+
+    }
+
+    // Doc numbers are handed out in increasing order, so postings stay sorted by doc
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        private void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        // Drops the docs renumbered to -1
+        private void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (renumbered[docs[i]] >= 0) {
+                    docs[kept] = renumbered[docs[i]];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            docs = Arrays.copyOf(docs, Math.max(kept, 1));
+            frequencies = Arrays.copyOf(frequencies, Math.max(kept, 1));
+        }
+
+    }
+
+    // Doc numbers sorted ascending with their accumulated scores
+    private static final class DocScores {
+
+        private int[] docs;
+        private float[] scores;
+        private int size;
+        // Whether prefix expansions were left out
+        private boolean truncated;
+
+        private DocScores(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        private void append(int doc, float score) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+                scores = Arrays.copyOf(scores, Math.max(4, size * 2));
+            }
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        // A doc matching several expansions of the same query term keeps its best score
+        private DocScores unionMax(DocScores other) {
+            if (size == 0) {
+                return other;
+            }
+            DocScores merged = new DocScores(size + other.size);
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && docs[i] < other.docs[j])) {
+                    merged.append(docs[i], scores[i++]);
+                } else if (i == size || other.docs[j] < docs[i]) {
+                    merged.append(other.docs[j], other.scores[j++]);
+                } else {
+                    merged.append(docs[i], Math.max(scores[i++], other.scores[j++]));
+                }
+            }
+            return merged;
+        }
+
+        private DocScores intersect(DocScores other) {
+            DocScores intersection = new DocScores(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (other.docs[j] < docs[i]) {
+                    j++;
+                } else {
+                    intersection.append(docs[i], scores[i++] + other.scores[j++]);
+                }
+            }
+            return intersection;
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.vishal.electronicsstore.search;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vishal.electronicsstore.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class ProductSearchIndexer {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final boolean enabled;
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    // Guards the rebuild against overwriting products written by the services meanwhile
+    private final Object writeMutex = new Object();
+    private final Set<String> writtenDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    @Autowired
+    public ProductSearchIndexer(
+            @Value("${product.search.index.enabled}") boolean enabled,
+            ProductRepository productRepository) {
+        this.enabled = enabled;
+        this.productRepository = productRepository;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public ProductSearchPage search(String query, String sortBy, boolean ascending, int pageNumber, int pageSize) {
+        return index.search(query, sortBy, ascending, pageNumber, pageSize);
+    }
+
+    // A change made outside a transaction is applied right away
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductSearchEvent event) {
+        if (event.getDocument() == null) {
+            remove(event.getProductId());
+        } else {
+            index(List.of(event.getDocument()));
+        }
+    }
+
+    // Called once the documents are committed
+    public void index(List<ProductSearchDocument> documents) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeMutex) {
+            for (ProductSearchDocument document : documents) {
+                if (rebuilding) {
+                    writtenDuringRebuild.add(document.getProductId());
+                }
+                index.upsert(document);
+            }
+        }
+    }
+
+    private void remove(String productId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeMutex) {
+            if (rebuilding) {
+                writtenDuringRebuild.add(productId);
+            }
+            index.remove(productId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            log.info("Product search index disabled, searches use the database");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        synchronized (writeMutex) {
+            rebuilding = true;
+            writtenDuringRebuild.clear();
+            index.clear();
+        }
+        // Searches keep falling back to the database until the index holds the whole catalog
+        ready = false;
+
+        try {
+            String afterProductId = "";
+            List<ProductSearchDocument> batch;
+            do {
+                batch = productRepository.findSearchDocuments(afterProductId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                synchronized (writeMutex) {
+                    batch.stream()
+                            .filter(document -> !writtenDuringRebuild.contains(document.getProductId()))
+                            .forEach(index::upsert);
+                }
+                if (!batch.isEmpty()) {
+                    afterProductId = batch.get(batch.size() - 1).getProductId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            ready = true;
+            log.info("Product search index built with {} products in {} ms",
+                    index.size(), System.currentTimeMillis() - start);
+        } finally {
+            synchronized (writeMutex) {
+                rebuilding = false;
+                writtenDuringRebuild.clear();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.vishal.electronicsstore.search;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductSearchPage {
+
+    // Product ids of the requested page, in result order
+    private List<String> productIds;
+
+    private long totalHits;
+
+    // Whether a query prefix matched more indexed terms than are expanded, so rarer matches are missing
+    private boolean truncated;
+
+}
@@ -1,9 +1,15 @@
 package com.vishal.electronicsstore.security;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
@@ -16,15 +22,20 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
@@ -33,16 +44,51 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final boolean jwtFilterEnabled;
     private final JwtHelper jwtHelper;
-    private final ObjectMapper objectMapper;
+    private final Cache<String, VerifiedAuthentication> verifiedTokenCache;
 
     @Autowired
     public JwtAuthenticationFilter(
             @Value("${jwt.filter.enabled}") boolean jwtFilterEnabled,
+            @Value("${jwt.token-cache.enabled}") boolean tokenCacheEnabled,
+            @Value("${jwt.token-cache.maximum-size}") long tokenCacheMaximumSize,
             JwtHelper jwtHelper,
-            ObjectMapper objectMapper) {
+            ObjectProvider<MeterRegistry> meterRegistry) {
         this.jwtFilterEnabled = jwtFilterEnabled;
         this.jwtHelper = jwtHelper;
-        this.objectMapper = objectMapper;
+        this.verifiedTokenCache = tokenCacheEnabled ? buildTokenCache(tokenCacheMaximumSize) : null;
+
+        if (verifiedTokenCache != null) {
+            meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, verifiedTokenCache, "jwtTokens"));
+        }
+    }
+
+    // Clients reuse a token until it expires, so a verified token is remembered by its digest
+    // and each entry is dropped no later than the expiry inside the token itself
+    private static Cache<String, VerifiedAuthentication> buildTokenCache(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedAuthentication>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedAuthentication authentication,
+                            long currentTime) {
+                        long remainingMillis = authentication.getExpiresAt() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedAuthentication authentication,
+                            long currentTime, long currentDuration) {
+                        return expireAfterCreate(digest, authentication, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedAuthentication authentication,
+                            long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
     }
 
     @Override
@@ -67,13 +113,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String requestHeader = request.getHeader("Authorization");
         log.info("Header: " + requestHeader);
 
-        String username = null;
-        String token = null;
+        VerifiedAuthentication verifiedAuthentication = null;
         if (requestHeader != null && requestHeader.startsWith("Bearer ")) {
-            token = requestHeader.substring(7);
+            String token = requestHeader.substring(7);
             try {
-                username = jwtHelper.getUsernameFromToken(token);
-                log.info("Username: " + username);
+                verifiedAuthentication = verify(token);
+                log.info("Username: " + verifiedAuthentication.getUsername());
             } catch (IllegalArgumentException e) {
                 log.error("Invalid token! " + e.getMessage());
             } catch (ExpiredJwtException e) {
@@ -87,18 +132,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.warn("Authenticate yourself and try again.");
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
-                && !jwtHelper.isTokenExpired(token)) {
-            List<GrantedAuthority> authorities = jwtHelper.getClaimFromToken(token, claims -> {
-                Object rawRoles = claims.get("roles");
-                List<String> rolesList = objectMapper.convertValue(rawRoles, new TypeReference<List<String>>() {
-                });
-                return rolesList.stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-            });
-
-            UserDetails userDetails = new org.springframework.security.core.userdetails.User(username, "", authorities);
+        if (verifiedAuthentication != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            List<GrantedAuthority> authorities = verifiedAuthentication.getAuthorities();
+
+            UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                    verifiedAuthentication.getUsername(), "", authorities);
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userDetails, null, authorities);
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -108,4 +146,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private VerifiedAuthentication verify(String token) {
+        if (verifiedTokenCache == null) {
+            return toVerifiedAuthentication(jwtHelper.verifyToken(token));
+        }
+
+        String digest = digest(token);
+        VerifiedAuthentication cached = verifiedTokenCache.getIfPresent(digest);
+        // Caffeine expires on its own ticker, the wall clock decides whether the token is still valid
+        if (cached != null && cached.getExpiresAt() > System.currentTimeMillis()) {
+            return cached;
+        }
+
+        VerifiedAuthentication verified = toVerifiedAuthentication(jwtHelper.verifyToken(token));
+        verifiedTokenCache.put(digest, verified);
+        return verified;
+    }
+
+    private VerifiedAuthentication toVerifiedAuthentication(VerifiedToken verifiedToken) {
+        List<GrantedAuthority> authorities = verifiedToken.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableList());
+        return new VerifiedAuthentication(verifiedToken.getSubject(), authorities,
+                verifiedToken.getExpiration().getTime());
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class VerifiedAuthentication {
+
+        private final String username;
+
+        private final List<GrantedAuthority> authorities;
+
+        private final long expiresAt;
+
+    }
+
 }
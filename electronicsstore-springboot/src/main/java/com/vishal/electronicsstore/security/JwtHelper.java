@@ -1,9 +1,10 @@
 package com.vishal.electronicsstore.security;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
@@ -15,6 +16,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -24,37 +27,47 @@ public class JwtHelper {
     // validity is 5 hours
     public static final long JWT_TOKEN_VALIDITY = 5 * 60 * 60 * 1000;
 
-    private final String secretKey;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
 
     @Autowired
     public JwtHelper(@Value("${jwt.secret}") String secretKey) {
-        this.secretKey = secretKey;
+        // The key and parser are immutable and thread-safe, so build them once
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    // Checks signature and expiry in a single parse, throwing a JwtException if either fails
+    public VerifiedToken verifyToken(String token) {
+        final Claims claims = getAllClaimsFromToken(token);
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration(), getRolesFromClaims(claims));
     }
 
-    public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+    private List<String> getRolesFromClaims(Claims claims) {
+        if (!(claims.get("roles") instanceof Collection<?> roles)) {
+            return List.of();
+        }
+        return roles.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList());
     }
 
-    public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
+    // Callers that need more than the subject should use verifyToken, which reads every claim in the same parse
+    public String getUsernameFromToken(String token) {
+        return verifyToken(token).getSubject();
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
+    // The parser rejects expired tokens, other failures are still thrown
     public Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
-    private Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        try {
+            return verifyToken(token).getExpiration().before(new Date());
+        } catch (ExpiredJwtException e) {
+            return true;
+        }
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -71,7 +84,7 @@ public class JwtHelper {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY))
-                .signWith(getSigningKey()).compact();
+                .signWith(signingKey).compact();
     }
 
 }
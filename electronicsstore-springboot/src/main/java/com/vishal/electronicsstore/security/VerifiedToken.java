@@ -0,0 +1,20 @@
+package com.vishal.electronicsstore.security;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Claims of a token whose signature and expiry have already been checked
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    private final String subject;
+
+    private final Date expiration;
+
+    private final List<String> roles;
+
+}
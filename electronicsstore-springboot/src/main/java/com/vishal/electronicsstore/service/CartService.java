@@ -1,14 +1,20 @@
 package com.vishal.electronicsstore.service;
 
-import com.vishal.electronicsstore.dto.CartDto;
+import java.util.List;
+
 import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.dto.CartLineOperation;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
 
 public interface CartService {
 
     // Add items to the cart has two cases:
     // 1: create a cart for the user if one not available, and then add the items
     // 2: cart already available to add the items
-    CartDto addCartItemToCart(String userId, CartItemDto cartItemDto);
+    CartSummaryDto addCartItemToCart(String userId, CartItemDto cartItemDto);
+
+    // Apply several line changes at once, in order and all or nothing, creating the cart if needed
+    CartSummaryDto updateCart(String userId, List<CartLineOperation> operations);
 
     // Remove item from the cart
     void removeCartItemFromCart(int cartItemId);
@@ -16,6 +22,9 @@ public interface CartService {
     // Remove all items from the cart
     void clearCart(String userId);
 
-    CartDto getCartByUserId(String userId);
+    CartSummaryDto getCartByUserId(String userId);
+
+    // Writes out changes to the user's cart not yet in the database, as part of the caller's transaction
+    void flushCart(String userId);
 
 }
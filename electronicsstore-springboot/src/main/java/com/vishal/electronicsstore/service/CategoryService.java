@@ -2,6 +2,7 @@ package com.vishal.electronicsstore.service;
 
 import com.vishal.electronicsstore.dto.CategoryDto;
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 
 public interface CategoryService {
 
@@ -13,9 +14,17 @@ public interface CategoryService {
 
     PageableResponse<CategoryDto> getAll(int pageNumber, int pageSize, String sortBy, String sortDirec);
 
+    PageableResponse<CategoryDto> getAllWithCursor(String cursor, int pageSize, String sortBy, String sortDirec);
+
+    SliceResponse<CategoryDto> getAllAsSlice(int pageNumber, int pageSize, String sortBy, String sortDirec,
+            boolean withApproximateTotal);
+
     CategoryDto get(String categoryId);
 
     PageableResponse<CategoryDto> searchCategories(String keyword, int pageNumber, int pageSize, String sortBy,
             String sortDirec);
 
+    SliceResponse<CategoryDto> searchCategoriesAsSlice(String keyword, int pageNumber, int pageSize, String sortBy,
+            String sortDirec, boolean withApproximateTotal);
+
 }
@@ -0,0 +1,18 @@
+package com.vishal.electronicsstore.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import com.vishal.electronicsstore.export.DataFormat;
+
+public interface ExportService {
+
+    // from and to are UTC days, both included; either may be left out for an open range. Returns the row count.
+    long exportOrders(DataFormat format, LocalDate from, LocalDate to, OutputStream outputStream)
+            throws IOException;
+
+    long exportProducts(DataFormat format, LocalDate from, LocalDate to, OutputStream outputStream)
+            throws IOException;
+
+}
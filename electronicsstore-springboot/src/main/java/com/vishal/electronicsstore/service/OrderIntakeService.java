@@ -0,0 +1,14 @@
+package com.vishal.electronicsstore.service;
+
+import com.vishal.electronicsstore.dto.CreateOrderRequest;
+import com.vishal.electronicsstore.dto.OrderIntakeStatusDto;
+
+public interface OrderIntakeService {
+
+    // Queue the order to be placed by a worker, the returned order id is the one it will be saved under
+    OrderIntakeStatusDto submitOrder(CreateOrderRequest createOrderRequest, String requestedBy);
+
+    // Only the caller who submitted the order sees its status, a null caller (an admin) sees every order
+    OrderIntakeStatusDto getIntakeStatus(String orderId, String requestedBy);
+
+}
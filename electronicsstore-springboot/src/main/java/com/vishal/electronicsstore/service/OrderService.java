@@ -1,19 +1,47 @@
 package com.vishal.electronicsstore.service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import com.vishal.electronicsstore.dto.CreateOrderRequest;
-import com.vishal.electronicsstore.dto.OrderDto;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionRequest;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionResponse;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 
 public interface OrderService {
 
-    OrderDto createOrder(CreateOrderRequest createOrderRequest);
+    OrderSummaryDto createOrder(CreateOrderRequest createOrderRequest);
+
+    // Place the order under an id handed out beforehand, as the asynchronous intake does
+    OrderSummaryDto createOrder(CreateOrderRequest createOrderRequest, String orderId);
 
     void removeOrder(String orderId);
 
-    List<OrderDto> getOrdersOfUser(String userId);
+    OrderStatusTransitionResponse transitionStatus(OrderStatusTransitionRequest transitionRequest);
+
+    List<OrderSummaryDto> getOrdersOfUser(String userId);
+
+    // With includeArchived the orders moved to the archive tables follow the current ones, newest first
+    List<OrderSummaryDto> getOrdersOfUser(String userId, boolean includeArchived);
+
+    PageableResponse<OrderSummaryDto> getOrdersOfUser(String userId, int pageNumber, int pageSize, String sortBy,
+            String sortDirec);
+
+    PageableResponse<OrderSummaryDto> getOrdersOfUserWithCursor(String userId, String cursor, int pageSize,
+            String sortBy, String sortDirec);
+
+    PageableResponse<OrderSummaryDto> getOrders(int pageNumber, int pageSize, String sortBy, String sortDirec);
+
+    // Either filter may be left out; from and to are UTC days, both included, and must be given together
+    PageableResponse<OrderSummaryDto> getOrders(String orderStatus, LocalDate from, LocalDate to, int pageNumber,
+            int pageSize, String sortBy, String sortDirec);
+
+    PageableResponse<OrderSummaryDto> getOrdersWithCursor(String cursor, int pageSize, String sortBy,
+            String sortDirec);
 
-    PageableResponse<OrderDto> getOrders(int pageNumber, int pageSize, String sortBy, String sortDirec);
+    SliceResponse<OrderSummaryDto> getOrdersAsSlice(int pageNumber, int pageSize, String sortBy, String sortDirec,
+            boolean withApproximateTotal);
 
 }
@@ -0,0 +1,14 @@
+package com.vishal.electronicsstore.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.vishal.electronicsstore.dto.ProductImportResult;
+import com.vishal.electronicsstore.export.DataFormat;
+
+public interface ProductImportService {
+
+    // Invalid rows are reported in the result and skipped, the valid ones are still imported
+    ProductImportResult importProducts(DataFormat format, InputStream inputStream) throws IOException;
+
+}
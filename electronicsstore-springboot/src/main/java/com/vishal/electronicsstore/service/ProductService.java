@@ -1,6 +1,7 @@
 package com.vishal.electronicsstore.service;
 
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.dto.ProductDto;
 
 public interface ProductService {
@@ -11,15 +12,30 @@ public interface ProductService {
 
     void delete(String productId, String imagePath);
 
+    void updateImageOfProduct(String imageName, String productId);
+
     PageableResponse<ProductDto> getAll(int pageNumber, int pageSize, String sortBy, String sortDirec);
 
+    PageableResponse<ProductDto> getAllWithCursor(String cursor, int pageSize, String sortBy, String sortDirec);
+
+    SliceResponse<ProductDto> getAllAsSlice(int pageNumber, int pageSize, String sortBy, String sortDirec,
+            boolean withApproximateTotal);
+
     PageableResponse<ProductDto> getAllLive(int pageNumber, int pageSize, String sortBy, String sortDirec);
 
+    PageableResponse<ProductDto> getAllLiveWithCursor(String cursor, int pageSize, String sortBy, String sortDirec);
+
+    SliceResponse<ProductDto> getAllLiveAsSlice(int pageNumber, int pageSize, String sortBy, String sortDirec,
+            boolean withApproximateTotal);
+
     ProductDto get(String productId);
 
     PageableResponse<ProductDto> searchProducts(String keyword, int pageNumber, int pageSize, String sortBy,
             String sortDirec);
 
+    SliceResponse<ProductDto> searchProductsAsSlice(String keyword, int pageNumber, int pageSize, String sortBy,
+            String sortDirec, boolean withApproximateTotal);
+
     ProductDto createProductWithCategory(ProductDto productDto, String categoryId);
 
     ProductDto updateCategoryOfProduct(String productId, String categoryId);
@@ -27,4 +43,10 @@ public interface ProductService {
     PageableResponse<ProductDto> getAllProductsOfACategory(String categoryId, int pageNumber, int pageSize,
             String sortBy, String sortDirec);
 
+    PageableResponse<ProductDto> getAllProductsOfACategoryWithCursor(String categoryId, String cursor, int pageSize,
+            String sortBy, String sortDirec);
+
+    SliceResponse<ProductDto> getAllProductsOfACategoryAsSlice(String categoryId, int pageNumber, int pageSize,
+            String sortBy, String sortDirec, boolean withApproximateTotal);
+
 }
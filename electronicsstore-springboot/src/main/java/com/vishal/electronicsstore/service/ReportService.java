@@ -0,0 +1,22 @@
+package com.vishal.electronicsstore.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.vishal.electronicsstore.dto.SalesRollupDto;
+import com.vishal.electronicsstore.report.SalesRollupDimension;
+import com.vishal.electronicsstore.report.SalesRollupGranularity;
+
+public interface ReportService {
+
+    // Dates are UTC days, both ends included
+    List<SalesRollupDto> getSales(SalesRollupGranularity granularity, SalesRollupDimension dimension, LocalDate from,
+            LocalDate to);
+
+    // Recomputes the rollups of the given days from the orders table, returns the number of orders counted
+    long rebuildSales(LocalDate from, LocalDate to);
+
+    // Rebuilds only the days a failed rollup flush left out of date
+    long rebuildFailedSales();
+
+}
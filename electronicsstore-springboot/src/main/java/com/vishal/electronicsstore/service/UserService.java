@@ -1,6 +1,7 @@
 package com.vishal.electronicsstore.service;
 
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.dto.UserDto;
 
 public interface UserService {
@@ -15,6 +16,11 @@ public interface UserService {
 
     PageableResponse<UserDto> getAllUsers(int pageNumber, int pageSize, String sortBy, String sortDirec);
 
+    PageableResponse<UserDto> getAllUsersWithCursor(String cursor, int pageSize, String sortBy, String sortDirec);
+
+    SliceResponse<UserDto> getAllUsersAsSlice(int pageNumber, int pageSize, String sortBy, String sortDirec,
+            boolean withApproximateTotal);
+
     UserDto getUserById(String userId);
 
     UserDto getUserByEmail(String email);
@@ -22,4 +28,7 @@ public interface UserService {
     PageableResponse<UserDto> searchUsers(String keyword, int pageNumber, int pageSize, String sortBy,
             String sortDirec);
 
+    SliceResponse<UserDto> searchUsersAsSlice(String keyword, int pageNumber, int pageSize, String sortBy,
+            String sortDirec, boolean withApproximateTotal);
+
 }
\ No newline at end of file
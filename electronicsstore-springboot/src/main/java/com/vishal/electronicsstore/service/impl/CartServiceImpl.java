@@ -1,21 +1,33 @@
 package com.vishal.electronicsstore.service.impl;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.NoSuchElementException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.vishal.electronicsstore.dto.CartDto;
 import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.dto.CartLineDto;
+import com.vishal.electronicsstore.dto.CartLineOperation;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
 import com.vishal.electronicsstore.entity.Cart;
 import com.vishal.electronicsstore.entity.CartItem;
 import com.vishal.electronicsstore.entity.Product;
-import com.vishal.electronicsstore.entity.User;
 import com.vishal.electronicsstore.exception.BadAPIRequestException;
 import com.vishal.electronicsstore.exception.ResourceNotFoundException;
 import com.vishal.electronicsstore.repository.CartItemRepository;
@@ -23,10 +35,17 @@ import com.vishal.electronicsstore.repository.CartRepository;
 import com.vishal.electronicsstore.repository.ProductRepository;
 import com.vishal.electronicsstore.repository.UserRepository;
 import com.vishal.electronicsstore.service.CartService;
+import com.vishal.electronicsstore.util.CartOperationUtil;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+// Changes touch only the affected cart lines and bump the cart version in the same transaction. A change that
+// finds the version moved on since it was read, or loses the race to create the cart or one of its lines,
+// is rolled back and run again against the new state, up to cart.retry.max-attempts times.
 @Service
+@ConditionalOnProperty(name = "cart.store", havingValue = "database", matchIfMissing = true)
 @Slf4j
 public class CartServiceImpl implements CartService {
 
@@ -34,7 +53,10 @@ public class CartServiceImpl implements CartService {
     private final UserRepository userRepository;
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
-    private final ModelMapper modelMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Counter conflicts;
 
     @Autowired
     public CartServiceImpl(
@@ -42,16 +64,24 @@ public class CartServiceImpl implements CartService {
             UserRepository userRepository,
             CartRepository cartRepository,
             CartItemRepository cartItemRepository,
-            ModelMapper modelMapper) {
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${cart.retry.max-attempts}") int maxAttempts,
+            @Value("${cart.retry.backoff}") Duration retryBackoff) {
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
-        this.modelMapper = modelMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.conflicts = Counter.builder("cart.update.conflicts")
+                .description("Cart changes run again after a concurrent change to the same cart")
+                .register(meterRegistry);
     }
 
     @Override
-    public CartDto addCartItemToCart(String userId, CartItemDto cartItemDto) {
+    public CartSummaryDto addCartItemToCart(String userId, CartItemDto cartItemDto) {
         String productId = cartItemDto.getProductId();
         int quantity = cartItemDto.getQuantityOfCartItem();
 
@@ -62,75 +92,165 @@ public class CartServiceImpl implements CartService {
         Product product = productRepository.findById(productId).orElseThrow(
                 () -> new ResourceNotFoundException("Product not found in database!"));
 
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ResourceNotFoundException("User not found in database!"));
-
-        Cart cart = null;
-        try {
-            cart = cartRepository.findByUser(user).get();
-        } catch (NoSuchElementException e) {
-            cart = Cart.builder()
-                    .cartId(UUID.randomUUID().toString())
-                    .createdAt(new Date())
-                    .user(user)
-                    .build();
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found in database!");
         }
 
-        // If cart items already present then update them
-        AtomicReference<Boolean> isCartItemsUpdated = new AtomicReference<>(false);
-        cart.getCartItems().stream().map(item -> {
-            if (item.getProduct().getProductId().equals(productId)) {
-                item.setQuantityOfCartItem(quantity);
-                item.setPriceOfCartItem(quantity * product.getDiscountedPrice());
-                isCartItemsUpdated.set(true);
+        int price = quantity * product.getDiscountedPrice();
+        return retryOnConflict(() -> {
+            String cartId = cartRepository.findVersionByUserId(userId)
+                    .map(this::incrementVersion)
+                    .orElseGet(() -> createCart(userId));
+
+            // Either the line is already in the cart or it is inserted; a concurrent insert of the same line
+            // breaks the unique key on (cart_id, product_id) and is retried as an update
+            if (cartItemRepository.updateLine(cartId, productId, quantity, price) == 0) {
+                cartItemRepository.saveAndFlush(CartItem.builder()
+                        .quantityOfCartItem(quantity)
+                        .priceOfCartItem(price)
+                        .cart(cartRepository.getReferenceById(cartId))
+                        .product(product)
+                        .build());
             }
-            return item;
-        }).collect(Collectors.toList());
-
-        if (!isCartItemsUpdated.get()) {
-            CartItem cartItem = CartItem.builder()
-                    .quantityOfCartItem(quantity)
-                    .priceOfCartItem(quantity * product.getDiscountedPrice())
-                    .cart(cart)
-                    .product(product)
-                    .build();
-
-            cart.getCartItems().add(cartItem);
+
+            CartSummaryDto cart = cartRepository.findSummaryByUserId(userId).get();
+            cart.setCartItems(cartRepository.findLinesByCartId(cartId));
+            return cart;
+        });
+    }
+
+    @Override
+    public CartSummaryDto updateCart(String userId, List<CartLineOperation> operations) {
+        CartOperationUtil.checkQuantities(operations);
+
+        Set<String> productIds = operations.stream()
+                .map(CartLineOperation::getProductId)
+                .collect(Collectors.toSet());
+        Map<String, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        if (products.size() < productIds.size()) {
+            throw new ResourceNotFoundException("Product not found in database!");
+        }
+
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found in database!");
         }
 
-        Cart updatedCart = cartRepository.save(cart);
+        return retryOnConflict(() -> {
+            String cartId = cartRepository.findVersionByUserId(userId)
+                    .map(this::incrementVersion)
+                    .orElseGet(() -> createCart(userId));
 
-        return modelMapper.map(updatedCart, CartDto.class);
+            // Read after the version bump, so no other change can slip in between this read and the commit
+            Map<String, Integer> quantities = cartRepository.findLinesByCartId(cartId).stream()
+                    .collect(Collectors.toMap(CartLineDto::getProductId, CartLineDto::getQuantityOfCartItem));
+            List<CartItem> inserts = new ArrayList<>();
+            CartOperationUtil.apply(quantities, operations).forEach((productId, quantity) -> {
+                Product product = products.get(productId);
+                if (quantity == null) {
+                    if (quantities.containsKey(productId)) {
+                        cartItemRepository.deleteLine(cartId, productId);
+                    }
+                } else if (quantities.containsKey(productId)) {
+                    cartItemRepository.updateLine(cartId, productId, quantity,
+                            quantity * product.getDiscountedPrice());
+                } else {
+                    inserts.add(CartItem.builder()
+                            .quantityOfCartItem(quantity)
+                            .priceOfCartItem(quantity * product.getDiscountedPrice())
+                            .cart(cartRepository.getReferenceById(cartId))
+                            .product(product)
+                            .build());
+                }
+            });
+            cartItemRepository.saveAllAndFlush(inserts);
+
+            CartSummaryDto cart = cartRepository.findSummaryByUserId(userId).get();
+            cart.setCartItems(cartRepository.findLinesByCartId(cartId));
+            return cart;
+        });
     }
 
     @Override
     public void removeCartItemFromCart(int cartItemId) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId).orElseThrow(
-                () -> new ResourceNotFoundException("Cart item not found in database!"));
-        cartItemRepository.delete(cartItem);
+        retryOnConflict(() -> {
+            CartRepository.VersionView cart = cartRepository.findVersionByCartItemId(cartItemId).orElseThrow(
+                    () -> new ResourceNotFoundException("Cart item not found in database!"));
+            incrementVersion(cart);
+            return cartItemRepository.deleteLine(cartItemId);
+        });
     }
 
     @Override
     public void clearCart(String userId) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ResourceNotFoundException("User not found in database!"));
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found in database!");
+        }
+
+        retryOnConflict(() -> {
+            CartRepository.VersionView cart = cartRepository.findVersionByUserId(userId).orElseThrow(
+                    () -> new ResourceNotFoundException("Cart not found in database!"));
+            return cartItemRepository.deleteLines(incrementVersion(cart));
+        });
+    }
 
-        Cart cart = cartRepository.findByUser(user).orElseThrow(
-                () -> new ResourceNotFoundException("Cart not found in database!"));
+    @Override
+    public CartSummaryDto getCartByUserId(String userId) {
+        // The user is only looked up to tell the two not found cases apart
+        CartSummaryDto cart = cartRepository.findSummaryByUserId(userId).orElseThrow(
+                () -> new ResourceNotFoundException(userRepository.existsById(userId)
+                        ? "Cart not found in database!"
+                        : "User not found in database!"));
 
-        cart.getCartItems().clear();
-        cartRepository.save(cart);
+        cart.setCartItems(cartRepository.findLinesByCartId(cart.getCartId()));
+        return cart;
     }
 
+    // Every change is written as it is made
     @Override
-    public CartDto getCartByUserId(String userId) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ResourceNotFoundException("User not found in database!"));
+    public void flushCart(String userId) {
+    }
 
-        Cart cart = cartRepository.findByUser(user).orElseThrow(
-                () -> new ResourceNotFoundException("Cart not found in database!"));
+    private String incrementVersion(CartRepository.VersionView cart) {
+        if (cartRepository.incrementVersion(cart.getCartId(), cart.getVersion()) == 0) {
+            throw new OptimisticLockingFailureException("Cart " + cart.getCartId() + " was changed concurrently");
+        }
+        return cart.getCartId();
+    }
+
+    // A concurrent first change for the same user breaks the unique key on user_id, and is retried
+    private String createCart(String userId) {
+        return cartRepository.saveAndFlush(Cart.builder()
+                .cartId(UUID.randomUUID().toString())
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .user(userRepository.getReferenceById(userId))
+                .build()).getCartId();
+    }
 
-        return modelMapper.map(cart, CartDto.class);
+    private <T> T retryOnConflict(Supplier<T> change) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> change.get());
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                conflicts.increment();
+                log.debug("Cart change conflicted on attempt {}, retrying: {}", attempt, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Randomized so the changes that conflicted once do not all come back at the same moment
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(retryBackoff.toMillis() * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OptimisticLockingFailureException("Interrupted while retrying a cart change", e);
+        }
     }
 
 }
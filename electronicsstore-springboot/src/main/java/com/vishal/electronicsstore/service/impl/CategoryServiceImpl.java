@@ -4,22 +4,30 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Set;
 import java.util.UUID;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import com.vishal.electronicsstore.config.CacheConfig;
 import com.vishal.electronicsstore.dto.CategoryDto;
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.entity.Category;
 import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.mapper.CategoryMapper;
 import com.vishal.electronicsstore.repository.CategoryRepository;
 import com.vishal.electronicsstore.service.CategoryService;
+import com.vishal.electronicsstore.util.CursorUtil;
 import com.vishal.electronicsstore.util.PageableUtil;
 
 import lombok.extern.slf4j.Slf4j;
@@ -29,14 +37,15 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 
     private static final String CATEGORY_NOT_FOUND_MESSAGE = "Category not found: ";
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("categoryId", "title");
 
     private final CategoryRepository categoryRepository;
-    private final ModelMapper modelMapper;
+    private final CategoryMapper categoryMapper;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, ModelMapper modelMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
         this.categoryRepository = categoryRepository;
-        this.modelMapper = modelMapper;
+        this.categoryMapper = categoryMapper;
     }
 
     @Override
@@ -48,7 +57,9 @@ public class CategoryServiceImpl implements CategoryService {
         return entityToDto(savedCategory);
     }
 
+    // Cached products embed their category, so category edits drop the whole product cache
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
     public CategoryDto update(CategoryDto categoryDto, String categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND_MESSAGE + categoryId));
@@ -61,6 +72,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
     public void delete(String categoryId, String imagePath) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND_MESSAGE + categoryId));
@@ -84,7 +96,32 @@ public class CategoryServiceImpl implements CategoryService {
             String sortDirec) {
         Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
         Page<Category> categoriesPage = categoryRepository.findAll(pageable);
-        return PageableUtil.getPageableResponse(categoriesPage, CategoryDto.class, modelMapper);
+        return PageableUtil.getPageableResponse(categoriesPage, categoryMapper::toDto);
+    }
+
+    @Override
+    public PageableResponse<CategoryDto> getAllWithCursor(
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        Window<Category> categoriesWindow = categoryRepository.findAllBy(
+                CursorUtil.decode(cursor, pageSize, sortBy, sortDirec, CURSOR_SORT_FIELDS, "categoryId"),
+                createSort(sortBy, sortDirec), Limit.of(pageSize));
+        return PageableUtil.getPageableResponse(categoriesWindow, categoryMapper::toDto, sortBy, sortDirec);
+    }
+
+    @Override
+    public SliceResponse<CategoryDto> getAllAsSlice(
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
+        Slice<Category> categoriesSlice = categoryRepository.findSliceBy(pageable);
+        Long approximateTotal = withApproximateTotal ? categoryRepository.countAll() : null;
+        return PageableUtil.getSliceResponse(categoriesSlice, categoryMapper::toDto, approximateTotal);
     }
 
     @Override
@@ -104,15 +141,29 @@ public class CategoryServiceImpl implements CategoryService {
             String sortDirec) {
         Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
         Page<Category> categoriesPage = categoryRepository.findByTitleContaining(keyword, pageable);
-        return PageableUtil.getPageableResponse(categoriesPage, CategoryDto.class, modelMapper);
+        return PageableUtil.getPageableResponse(categoriesPage, categoryMapper::toDto);
+    }
+
+    @Override
+    public SliceResponse<CategoryDto> searchCategoriesAsSlice(
+            String keyword,
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
+        Slice<Category> categoriesSlice = categoryRepository.findSliceByTitleContaining(keyword, pageable);
+        Long approximateTotal = withApproximateTotal ? categoryRepository.countByTitleContaining(keyword) : null;
+        return PageableUtil.getSliceResponse(categoriesSlice, categoryMapper::toDto, approximateTotal);
     }
 
     private Category dtoToEntity(CategoryDto categoryDto) {
-        return modelMapper.map(categoryDto, Category.class);
+        return categoryMapper.toEntity(categoryDto);
     }
 
     private CategoryDto entityToDto(Category savedCategory) {
-        return modelMapper.map(savedCategory, CategoryDto.class);
+        return categoryMapper.toDto(savedCategory);
     }
 
     private Pageable createPageable(
@@ -120,10 +171,13 @@ public class CategoryServiceImpl implements CategoryService {
             int pageSize,
             String sortBy,
             String sortDirec) {
-        Sort sort = sortDirec.equalsIgnoreCase("desc")
+        return PageRequest.of(pageNumber, pageSize, createSort(sortBy, sortDirec));
+    }
+
+    private Sort createSort(String sortBy, String sortDirec) {
+        return sortDirec.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
-        return PageRequest.of(pageNumber, pageSize, sort);
     }
 
 }
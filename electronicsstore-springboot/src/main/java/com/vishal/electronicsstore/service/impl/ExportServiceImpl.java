@@ -0,0 +1,84 @@
+package com.vishal.electronicsstore.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.dto.OrderExportRow;
+import com.vishal.electronicsstore.dto.ProductExportRow;
+import com.vishal.electronicsstore.export.DataFormat;
+import com.vishal.electronicsstore.export.ExportWriter;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.service.ExportService;
+import com.vishal.electronicsstore.util.DateRangeUtil;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+// Rows are read as DTO projections, which the persistence context does not keep, and written out as they
+// arrive, so an export needs the same memory whatever the size of the table
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final LocalDate FIRST_DAY = LocalDate.EPOCH;
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ExportServiceImpl(
+            OrderRepository orderRepository,
+            ProductRepository productRepository,
+            ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    @Override
+    public long exportOrders(DataFormat format, LocalDate from, LocalDate to, OutputStream outputStream)
+            throws IOException {
+        LocalDate first = from == null ? FIRST_DAY : from;
+        LocalDate last = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+        DateRangeUtil.checkRange(first, last);
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(DateRangeUtil.startOf(first),
+                DateRangeUtil.endOf(last))) {
+            return write(format, rows, outputStream);
+        }
+    }
+
+    @Transactional
+    @Override
+    public long exportProducts(DataFormat format, LocalDate from, LocalDate to, OutputStream outputStream)
+            throws IOException {
+        LocalDate first = from == null ? FIRST_DAY : from;
+        LocalDate last = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+        DateRangeUtil.checkRange(first, last);
+        try (Stream<ProductExportRow> rows = productRepository.streamExportRows(DateRangeUtil.startOf(first),
+                DateRangeUtil.endOf(last))) {
+            return write(format, rows, outputStream);
+        }
+    }
+
+    private long write(DataFormat format, Stream<?> rows, OutputStream outputStream) throws IOException {
+        ExportWriter exportWriter = new ExportWriter(format, objectMapper, outputStream);
+        long count = 0;
+        for (Iterator<?> iterator = rows.iterator(); iterator.hasNext(); count++) {
+            exportWriter.write(iterator.next());
+        }
+        exportWriter.flush();
+        return count;
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.vishal.electronicsstore.service.impl;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vishal.electronicsstore.dto.CreateOrderRequest;
+import com.vishal.electronicsstore.dto.OrderIntakeStatusDto;
+import com.vishal.electronicsstore.dto.OrderIntakeStatusDto.State;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+import com.vishal.electronicsstore.exception.InsufficientStockException;
+import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.exception.TooManyRequestsException;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.service.OrderIntakeService;
+import com.vishal.electronicsstore.service.OrderService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Orders taken in asynchronously: requests wait in a bounded queue that a fixed pool of workers drains
+// through OrderService.createOrder, and are turned away with a 429 once the queue is full.
+// Outcomes are kept in memory for polling, after that a placed order is still found in the database.
+@Service
+@Slf4j
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ThreadPoolExecutor workers;
+    private final Duration shutdownWait;
+    private final Cache<String, Intake> statuses;
+    private final Timer lag;
+    private final Timer placed;
+    private final Timer failed;
+    private final Counter rejected;
+
+    @Autowired
+    public OrderIntakeServiceImpl(
+            OrderService orderService,
+            OrderRepository orderRepository,
+            @Value("${order-intake.workers}") int workerCount,
+            @Value("${order-intake.queue-depth}") int queueDepth,
+            @Value("${order-intake.shutdown-wait}") Duration shutdownWait,
+            @Value("${order-intake.status-retention}") Duration statusRetention,
+            @Value("${order-intake.status-cache.maximum-size}") long statusCacheMaximumSize,
+            MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.shutdownWait = shutdownWait;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth), new CustomizableThreadFactory("order-intake-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(statusCacheMaximumSize)
+                .expireAfterWrite(statusRetention)
+                .build();
+
+        Gauge.builder("orders.intake.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Orders waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("orders.intake.queue.remaining", workers, executor -> executor.getQueue().remainingCapacity())
+                .description("Orders that can still be queued before requests are rejected")
+                .register(meterRegistry);
+        this.lag = Timer.builder("orders.intake.lag")
+                .description("Time an order waited in the queue before a worker picked it up")
+                .register(meterRegistry);
+        this.placed = Timer.builder("orders.intake.processing")
+                .tag("outcome", "placed")
+                .register(meterRegistry);
+        this.failed = Timer.builder("orders.intake.processing")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.intake.rejected")
+                .description("Orders turned away because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OrderIntakeStatusDto submitOrder(CreateOrderRequest createOrderRequest, String requestedBy) {
+        String orderId = UUID.randomUUID().toString();
+        OrderIntakeStatusDto queued = status(orderId, State.QUEUED);
+        statuses.put(orderId, new Intake(requestedBy, queued));
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            workers.execute(() -> placeOrder(orderId, requestedBy, createOrderRequest, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            statuses.invalidate(orderId);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many orders are waiting to be placed, try again later!");
+        }
+        return queued;
+    }
+
+    private void placeOrder(String orderId, String requestedBy, CreateOrderRequest createOrderRequest,
+            long enqueuedAt) {
+        long startedAt = System.nanoTime();
+        lag.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+        statuses.put(orderId, new Intake(requestedBy, status(orderId, State.PROCESSING)));
+
+        try {
+            OrderSummaryDto order = orderService.createOrder(createOrderRequest, orderId);
+            OrderIntakeStatusDto status = status(orderId, State.PLACED);
+            status.setOrder(order);
+            statuses.put(orderId, new Intake(requestedBy, status));
+            placed.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            OrderIntakeStatusDto status = status(orderId, State.FAILED);
+            status.setMessage(failureMessage(orderId, e));
+            statuses.put(orderId, new Intake(requestedBy, status));
+            failed.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Business errors are told to the client as the synchronous endpoint would; anything else may carry SQL or
+    // constraint details and is only logged
+    private static String failureMessage(String orderId, RuntimeException e) {
+        if (e instanceof BadAPIRequestException || e instanceof ResourceNotFoundException
+                || e instanceof InsufficientStockException) {
+            log.info("Queued order {} could not be placed: {}", orderId, e.getMessage());
+            return e.getMessage();
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            log.info("Queued order {} could not be placed: {}", orderId, e.getMessage());
+            return "The cart was changed by another request, try again!";
+        }
+        log.warn("Queued order {} could not be placed", orderId, e);
+        return "The order could not be placed, try again later!";
+    }
+
+    @Override
+    public OrderIntakeStatusDto getIntakeStatus(String orderId, String requestedBy) {
+        // Someone else's order is reported as missing, so order ids cannot be probed
+        Intake intake = statuses.getIfPresent(orderId);
+        if (intake != null && (requestedBy == null || Objects.equals(requestedBy, intake.requestedBy()))) {
+            return intake.status();
+        }
+        boolean placed = requestedBy == null
+                ? orderRepository.existsById(orderId)
+                : orderRepository.existsByOrderIdAndUserEmail(orderId, requestedBy);
+        if (placed) {
+            return status(orderId, State.PLACED);
+        }
+        throw new ResourceNotFoundException("Order not found in database!");
+    }
+
+    // Orders already accepted with a 202 are still placed when the application stops
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownWait.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} queued orders were not placed before shutdown", workers.getQueue().size());
+            workers.shutdownNow();
+        }
+    }
+
+    private record Intake(String requestedBy, OrderIntakeStatusDto status) {
+    }
+
+    private OrderIntakeStatusDto status(String orderId, State state) {
+        return OrderIntakeStatusDto.builder()
+                .orderId(orderId)
+                .state(state)
+                .build();
+    }
+
+}
@@ -1,64 +1,136 @@
 package com.vishal.electronicsstore.service.impl;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.vishal.electronicsstore.config.CacheConfig;
 import com.vishal.electronicsstore.dto.CreateOrderRequest;
-import com.vishal.electronicsstore.dto.OrderDto;
+import com.vishal.electronicsstore.dto.OrderLineDto;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionRequest;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionResponse;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionResult;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
+import com.vishal.electronicsstore.entity.ArchivedOrder;
 import com.vishal.electronicsstore.entity.Cart;
 import com.vishal.electronicsstore.entity.CartItem;
 import com.vishal.electronicsstore.entity.Order;
 import com.vishal.electronicsstore.entity.OrderItem;
 import com.vishal.electronicsstore.entity.User;
 import com.vishal.electronicsstore.exception.BadAPIRequestException;
+import com.vishal.electronicsstore.exception.InsufficientStockException;
 import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.mapper.OrderMapper;
+import com.vishal.electronicsstore.outbox.OutboxEventType;
+import com.vishal.electronicsstore.outbox.OutboxWriter;
+import com.vishal.electronicsstore.report.OrderSalesEvent;
+import com.vishal.electronicsstore.repository.ArchivedOrderRepository;
 import com.vishal.electronicsstore.repository.CartRepository;
 import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
 import com.vishal.electronicsstore.repository.UserRepository;
+import com.vishal.electronicsstore.service.CartService;
 import com.vishal.electronicsstore.service.OrderService;
+import com.vishal.electronicsstore.util.CursorUtil;
+import com.vishal.electronicsstore.util.DateRangeUtil;
+import com.vishal.electronicsstore.util.OrderStatusUtil;
 import com.vishal.electronicsstore.util.PageableUtil;
 
+import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("orderId", "orderDate", "orderAmount", "orderStatus",
+            "paymentStatus");
+
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
     private final UserRepository userRepository;
     private final CartRepository cartRepository;
-    private final ModelMapper modelMapper;
+    private final CartService cartService;
+    private final ProductRepository productRepository;
+    private final OrderMapper orderMapper;
+    private final CacheManager cacheManager;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int statusBatchSize;
 
     @Autowired
     public OrderServiceImpl(
             OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
             UserRepository userRepository,
             CartRepository cartRepository,
-            ModelMapper modelMapper) {
+            CartService cartService,
+            ProductRepository productRepository,
+            OrderMapper orderMapper,
+            CacheManager cacheManager,
+            OutboxWriter outboxWriter,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${order-status.batch-size}") int statusBatchSize) {
         this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
         this.userRepository = userRepository;
         this.cartRepository = cartRepository;
-        this.modelMapper = modelMapper;
+        this.cartService = cartService;
+        this.productRepository = productRepository;
+        this.orderMapper = orderMapper;
+        this.cacheManager = cacheManager;
+        this.outboxWriter = outboxWriter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statusBatchSize = statusBatchSize;
+    }
+
+    @Transactional
+    @Override
+    public OrderSummaryDto createOrder(CreateOrderRequest createOrderRequest) {
+        return createOrder(createOrderRequest, UUID.randomUUID().toString());
     }
 
+    @Transactional
     @Override
-    public OrderDto createOrder(CreateOrderRequest createOrderRequest) {
+    public OrderSummaryDto createOrder(CreateOrderRequest createOrderRequest, String orderId) {
         User user = userRepository.findById(createOrderRequest.getUserId()).orElseThrow(
                 () -> new ResourceNotFoundException("User not found in database!"));
 
-        Cart cart = cartRepository.findByUser(user).orElseThrow(
+        // A cart held in memory is written out first, as part of this transaction
+        cartService.flushCart(user.getUserId());
+        Cart cart = cartRepository.lockByUser(user).orElseThrow(
                 () -> new ResourceNotFoundException("Cart not found in database!"));
 
         List<CartItem> cartItems = cart.getCartItems();
@@ -66,6 +138,8 @@ public class OrderServiceImpl implements OrderService {
             throw new BadAPIRequestException("Invalid number of items in the cart!");
         }
 
+        reserveStock(cartItems);
+
         Order order = Order.builder()
                 .billingName(createOrderRequest.getBillingName())
                 .billingPhone(createOrderRequest.getBillingPhone())
@@ -74,16 +148,17 @@ public class OrderServiceImpl implements OrderService {
                 .deliveryDate(null)
                 .paymentStatus(createOrderRequest.getPaymentStatus())
                 .orderStatus(createOrderRequest.getOrderStatus())
-                .orderId(UUID.randomUUID().toString())
+                .orderId(orderId)
                 .user(user)
                 .build();
 
+        // Billed at the current price, a cart line may still carry one from before a price change
         AtomicReference<Integer> orderAmount = new AtomicReference<>(0);
         List<OrderItem> orderItems = cartItems.stream().map(cartItem -> {
             OrderItem orderItem = OrderItem.builder()
                     .quantity(cartItem.getQuantityOfCartItem())
                     .product(cartItem.getProduct())
-                    .priceOfOrderItem(cartItem.getPriceOfCartItem())
+                    .priceOfOrderItem(cartItem.getQuantityOfCartItem() * cartItem.getProduct().getDiscountedPrice())
                     .order(order)
                     .build();
             orderAmount.set(orderAmount.get() + orderItem.getPriceOfOrderItem());
@@ -97,40 +172,314 @@ public class OrderServiceImpl implements OrderService {
         cartRepository.save(cart);
         Order savedOrder = orderRepository.save(order);
 
-        return modelMapper.map(savedOrder, OrderDto.class);
+        OrderSummaryDto orderSummaryDto = orderMapper.toSummary(savedOrder);
+        outboxWriter.write(OutboxEventType.ORDER_CREATED, orderId, orderSummaryDto);
+        eventPublisher.publishEvent(OrderSalesEvent.placed(savedOrder));
+        return orderSummaryDto;
     }
 
+    // Every line is reserved with a conditional UPDATE, in productId order so that concurrent checkouts
+    // sharing products take their row locks in the same order. One short line rolls back the whole order.
+    private void reserveStock(List<CartItem> cartItems) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        cartItems.forEach(cartItem -> quantities.merge(
+                cartItem.getProduct().getProductId(), cartItem.getQuantityOfCartItem(), Integer::sum));
+
+        quantities.forEach((productId, quantity) -> {
+            if (productRepository.reserveStock(productId, quantity) == 0) {
+                String title = cartItems.stream()
+                        .filter(cartItem -> cartItem.getProduct().getProductId().equals(productId))
+                        .findFirst().get().getProduct().getTitle();
+                throw new InsufficientStockException("Not enough stock left for " + title + "!");
+            }
+        });
+
+        // The products cache is transaction aware, these evictions happen once the order commits
+        Cache productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        quantities.keySet().forEach(productsCache::evict);
+    }
+
+    @Transactional
     @Override
     public void removeOrder(String orderId) {
         Order order = orderRepository.findById(orderId).orElseThrow(
                 () -> new ResourceNotFoundException("Order not found in database!"));
+        // Built before the delete, while the order items can still be loaded
+        OrderSalesEvent salesEvent = OrderSalesEvent.removed(order);
         orderRepository.delete(order);
+        outboxWriter.write(OutboxEventType.ORDER_REMOVED, orderId, Map.of("orderId", orderId));
+        eventPublisher.publishEvent(salesEvent);
     }
 
+    // Orders move a chunk at a time, each chunk with one locking read and one UPDATE in a transaction of its own
     @Override
-    public List<OrderDto> getOrdersOfUser(String userId) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ResourceNotFoundException("User not found in database!"));
+    public OrderStatusTransitionResponse transitionStatus(OrderStatusTransitionRequest transitionRequest) {
+        checkTransition(transitionRequest);
+        if (transitionRequest.getDeliveryDate() == null
+                && transitionRequest.getToStatus().equals(OrderStatusUtil.DELIVERED)) {
+            transitionRequest.setDeliveryDate(new Date());
+        }
 
-        List<Order> orders = orderRepository.findByUser(user);
-        List<OrderDto> orderDtos = orders.stream()
-                .map(order -> modelMapper.map(order, OrderDto.class))
+        List<OrderStatusTransitionResult> results = new ArrayList<>();
+        if (transitionRequest.getOrderIds() != null) {
+            List<String> orderIds = transitionRequest.getOrderIds().stream().distinct().toList();
+            for (int from = 0; from < orderIds.size(); from += statusBatchSize) {
+                List<String> chunk = orderIds.subList(from, Math.min(from + statusBatchSize, orderIds.size()));
+                results.addAll(transactionTemplate.execute(status -> transitionListed(chunk, transitionRequest)));
+            }
+        } else {
+            Date start = DateRangeUtil.startOf(transitionRequest.getOrderedFrom());
+            Date end = DateRangeUtil.endOf(transitionRequest.getOrderedTo());
+            List<OrderStatusTransitionResult> chunkResults;
+            // Moved orders leave fromStatus, so every round picks up the next chunk
+            do {
+                chunkResults = transactionTemplate.execute(status -> transitionOrders(
+                        orderRepository.lockIdsByStatusAndOrderDate(transitionRequest.getFromStatus(), start, end,
+                                PageRequest.of(0, statusBatchSize)),
+                        transitionRequest));
+                results.addAll(chunkResults);
+            } while (chunkResults.size() == statusBatchSize);
+        }
+
+        int updated = (int) results.stream()
+                .filter(result -> result.getOutcome() == OrderStatusTransitionResult.Outcome.UPDATED)
+                .count();
+        log.info("Moved {} orders from {} to {}", updated, transitionRequest.getFromStatus(),
+                transitionRequest.getToStatus());
+        return OrderStatusTransitionResponse.builder()
+                .updated(updated)
+                .results(results)
+                .build();
+    }
+
+    private void checkTransition(OrderStatusTransitionRequest transitionRequest) {
+        if (!OrderStatusUtil.isAllowedTransition(transitionRequest.getFromStatus(), transitionRequest.getToStatus())) {
+            throw new BadAPIRequestException("Orders cannot move from " + transitionRequest.getFromStatus() + " to "
+                    + transitionRequest.getToStatus() + "!");
+        }
+        if (transitionRequest.getPaymentStatus() != null
+                && !OrderStatusUtil.isPaymentStatus(transitionRequest.getPaymentStatus())) {
+            throw new BadAPIRequestException("Invalid payment status " + transitionRequest.getPaymentStatus() + "!");
+        }
+
+        boolean byDate = transitionRequest.getOrderedFrom() != null || transitionRequest.getOrderedTo() != null;
+        if (transitionRequest.getOrderIds() != null && byDate) {
+            throw new BadAPIRequestException("Orders are picked either by orderIds or by date, not both!");
+        }
+        if (transitionRequest.getOrderIds() == null) {
+            if (transitionRequest.getOrderedFrom() == null || transitionRequest.getOrderedTo() == null) {
+                throw new BadAPIRequestException("Either orderIds or both orderedFrom and orderedTo are needed!");
+            }
+            DateRangeUtil.checkRange(transitionRequest.getOrderedFrom(), transitionRequest.getOrderedTo());
+        }
+    }
+
+    // Orders that are missing or not in fromStatus are reported and left alone
+    private List<OrderStatusTransitionResult> transitionListed(List<String> orderIds,
+            OrderStatusTransitionRequest transitionRequest) {
+        Map<String, String> statuses = orderRepository.lockStatusesByOrderIds(orderIds).stream()
+                .collect(Collectors.toMap(OrderRepository.StatusView::getOrderId,
+                        OrderRepository.StatusView::getOrderStatus));
+        List<String> movable = orderIds.stream()
+                .filter(orderId -> transitionRequest.getFromStatus().equals(statuses.get(orderId)))
+                .toList();
+        transitionOrders(movable, transitionRequest);
+
+        return orderIds.stream().map(orderId -> {
+            String orderStatus = statuses.get(orderId);
+            if (orderStatus == null) {
+                return new OrderStatusTransitionResult(orderId, OrderStatusTransitionResult.Outcome.NOT_FOUND, null);
+            }
+            if (!orderStatus.equals(transitionRequest.getFromStatus())) {
+                return new OrderStatusTransitionResult(orderId, OrderStatusTransitionResult.Outcome.SKIPPED,
+                        orderStatus);
+            }
+            return new OrderStatusTransitionResult(orderId, OrderStatusTransitionResult.Outcome.UPDATED, null);
+        }).toList();
+    }
+
+    // The orders must already be locked and in fromStatus
+    private List<OrderStatusTransitionResult> transitionOrders(List<String> orderIds,
+            OrderStatusTransitionRequest transitionRequest) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        orderRepository.updateStatuses(orderIds, transitionRequest.getFromStatus(), transitionRequest.getToStatus(),
+                transitionRequest.getPaymentStatus(), transitionRequest.getDeliveryDate());
+
+        Map<String, Object> change = new HashMap<>();
+        change.put("orderStatus", transitionRequest.getToStatus());
+        if (transitionRequest.getPaymentStatus() != null) {
+            change.put("paymentStatus", transitionRequest.getPaymentStatus());
+        }
+        if (transitionRequest.getDeliveryDate() != null) {
+            change.put("deliveryDate", transitionRequest.getDeliveryDate());
+        }
+        return orderIds.stream().map(orderId -> {
+            Map<String, Object> payload = new HashMap<>(change);
+            payload.put("orderId", orderId);
+            outboxWriter.write(OutboxEventType.ORDER_STATUS_CHANGED, orderId, payload);
+            return new OrderStatusTransitionResult(orderId, OrderStatusTransitionResult.Outcome.UPDATED, null);
+        }).toList();
+    }
+
+    @Override
+    public List<OrderSummaryDto> getOrdersOfUser(String userId) {
+        List<Order> orders = orderRepository.findByUserUserId(userId);
+        if (orders.isEmpty()) {
+            requireUser(userId);
+        }
+        return orders.stream()
+                .map(summaryMapper(orders))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<OrderSummaryDto> getOrdersOfUser(String userId, boolean includeArchived) {
+        if (!includeArchived) {
+            return getOrdersOfUser(userId);
+        }
+        List<Order> orders = orderRepository.findByUserUserId(userId);
+        List<ArchivedOrder> archivedOrders = archivedOrderRepository.findByUserIdOrderByOrderDateDesc(userId);
+        if (orders.isEmpty() && archivedOrders.isEmpty()) {
+            requireUser(userId);
+        }
+
+        Map<String, List<OrderLineDto>> archivedLines = archivedOrders.isEmpty()
+                ? Map.of()
+                : archivedOrderRepository.findLinesByOrderIds(archivedOrders.stream()
+                        .map(ArchivedOrder::getOrderId).toList()).stream()
+                        .collect(Collectors.groupingBy(OrderLineDto::getOrderId));
+        return Stream.concat(
+                orders.stream()
+                        .sorted(Comparator.comparing(Order::getOrderDate).reversed())
+                        .map(summaryMapper(orders)),
+                archivedOrders.stream()
+                        .map(archivedOrder -> orderMapper.toSummary(archivedOrder,
+                                archivedLines.getOrDefault(archivedOrder.getOrderId(), List.of()))))
                 .collect(Collectors.toList());
-        return orderDtos;
     }
 
     @Override
-    public PageableResponse<OrderDto> getOrders(
+    public PageableResponse<OrderSummaryDto> getOrdersOfUser(
+            String userId,
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, createSort(sortBy, sortDirec));
+        Page<Order> ordersPage = orderRepository.findByUserUserId(userId, pageable);
+        if (ordersPage.getTotalElements() == 0) {
+            requireUser(userId);
+        }
+        return PageableUtil.getPageableResponse(ordersPage, summaryMapper(ordersPage.getContent()));
+    }
+
+    @Override
+    public PageableResponse<OrderSummaryDto> getOrdersOfUserWithCursor(
+            String userId,
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        Window<Order> ordersWindow = orderRepository.findByUserUserId(userId,
+                CursorUtil.decode(cursor, pageSize, sortBy, sortDirec, CURSOR_SORT_FIELDS, "orderId"),
+                createSort(sortBy, sortDirec), Limit.of(pageSize));
+        if (ordersWindow.isEmpty()) {
+            requireUser(userId);
+        }
+        return PageableUtil.getPageableResponse(ordersWindow, summaryMapper(ordersWindow.getContent()),
+                sortBy, sortDirec);
+    }
+
+    @Override
+    public PageableResponse<OrderSummaryDto> getOrders(
             int pageNumber,
             int pageSize,
             String sortBy,
             String sortDirec) {
-        Sort sort = sortDirec.equalsIgnoreCase("desc")
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, createSort(sortBy, sortDirec));
+        Page<Order> ordersPage = orderRepository.findAll(pageable);
+        return PageableUtil.getPageableResponse(ordersPage, summaryMapper(ordersPage.getContent()));
+    }
+
+    @Override
+    public PageableResponse<OrderSummaryDto> getOrders(
+            String orderStatus,
+            LocalDate from,
+            LocalDate to,
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        if ((from == null) != (to == null)) {
+            throw new BadAPIRequestException("Both from and to are needed to list orders by date!");
+        }
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, createSort(sortBy, sortDirec));
+        Page<Order> ordersPage;
+        if (from == null) {
+            ordersPage = orderStatus == null
+                    ? orderRepository.findAll(pageable)
+                    : orderRepository.findByOrderStatus(orderStatus, pageable);
+        } else {
+            DateRangeUtil.checkRange(from, to);
+            Date start = DateRangeUtil.startOf(from);
+            Date end = DateRangeUtil.endOf(to);
+            ordersPage = orderStatus == null
+                    ? orderRepository.findByOrderDateGreaterThanEqualAndOrderDateLessThan(start, end, pageable)
+                    : orderRepository.findByOrderStatusAndOrderDateGreaterThanEqualAndOrderDateLessThan(orderStatus,
+                            start, end, pageable);
+        }
+        return PageableUtil.getPageableResponse(ordersPage, summaryMapper(ordersPage.getContent()));
+    }
+
+    @Override
+    public PageableResponse<OrderSummaryDto> getOrdersWithCursor(
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        Window<Order> ordersWindow = orderRepository.findAllBy(
+                CursorUtil.decode(cursor, pageSize, sortBy, sortDirec, CURSOR_SORT_FIELDS, "orderId"),
+                createSort(sortBy, sortDirec), Limit.of(pageSize));
+        return PageableUtil.getPageableResponse(ordersWindow, summaryMapper(ordersWindow.getContent()),
+                sortBy, sortDirec);
+    }
+
+    @Override
+    public SliceResponse<OrderSummaryDto> getOrdersAsSlice(
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, createSort(sortBy, sortDirec));
+        Slice<Order> ordersSlice = orderRepository.findSliceBy(pageable);
+        Long approximateTotal = withApproximateTotal ? orderRepository.countAll() : null;
+        return PageableUtil.getSliceResponse(ordersSlice, summaryMapper(ordersSlice.getContent()),
+                approximateTotal);
+    }
+
+    // Loads the lines of all listed orders with one projection query, without touching products or categories
+    private Function<Order, OrderSummaryDto> summaryMapper(List<Order> orders) {
+        Map<String, List<OrderLineDto>> lines = orders.isEmpty()
+                ? Map.of()
+                : orderRepository.findLinesByOrderIds(orders.stream().map(Order::getOrderId).toList()).stream()
+                        .collect(Collectors.groupingBy(OrderLineDto::getOrderId));
+        return order -> orderMapper.toSummary(order, lines.getOrDefault(order.getOrderId(), List.of()));
+    }
+
+    // An empty history is only an error when the user does not exist
+    private void requireUser(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found in database!");
+        }
+    }
+
+    private Sort createSort(String sortBy, String sortDirec) {
+        return sortDirec.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
-        Page<Order> ordersPage = orderRepository.findAll(pageable);
-        return PageableUtil.getPageableResponse(ordersPage, OrderDto.class, modelMapper);
     }
 
 }
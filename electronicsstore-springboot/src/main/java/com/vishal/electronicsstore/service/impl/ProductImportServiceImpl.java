@@ -0,0 +1,318 @@
+package com.vishal.electronicsstore.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.cart.ProductPriceChangedEvent;
+import com.vishal.electronicsstore.config.CacheConfig;
+import com.vishal.electronicsstore.dto.ProductImportError;
+import com.vishal.electronicsstore.dto.ProductImportResult;
+import com.vishal.electronicsstore.dto.ProductImportRow;
+import com.vishal.electronicsstore.export.CsvReader;
+import com.vishal.electronicsstore.export.DataFormat;
+import com.vishal.electronicsstore.outbox.OutboxEventType;
+import com.vishal.electronicsstore.outbox.OutboxWriter;
+import com.vishal.electronicsstore.repository.CategoryRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.search.ProductSearchIndexer;
+import com.vishal.electronicsstore.service.ProductImportService;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+// The input is parsed one row at a time and written in batches of product.import.batch-size rows, each batch
+// a single JDBC batch in its own transaction, so an import needs the same memory whatever the size of the file.
+// CSV columns are matched to ProductImportRow by header name, which makes a product export importable as is.
+@Service
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+
+    // The image and the added date of an existing product are kept
+    private static final String UPSERT = "INSERT INTO product (product_id, title, description, price, "
+            + "discounted_price, quantity, added_date, live, stock, category_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE title = VALUES(title), description = VALUES(description), "
+            + "price = VALUES(price), discounted_price = VALUES(discounted_price), quantity = VALUES(quantity), "
+            + "live = VALUES(live), stock = VALUES(stock), category_id = VALUES(category_id)";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductSearchIndexer productSearchIndexer;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Cache productsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    @Autowired
+    public ProductImportServiceImpl(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            ProductSearchIndexer productSearchIndexer,
+            OutboxWriter outboxWriter,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            Validator validator,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.import.batch-size}") int batchSize,
+            @Value("${product.import.max-reported-errors}") int maxReportedErrors) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productSearchIndexer = productSearchIndexer;
+        this.outboxWriter = outboxWriter;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public ProductImportResult importProducts(DataFormat format, InputStream inputStream) throws IOException {
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        if (format == DataFormat.CSV) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        writeBatch(run);
+
+        ProductImportResult result = run.result;
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        result.setRowsPerSecond(result.getRows() * 1000 / Math.max(1, result.getElapsedMillis()));
+        log.info("Imported {} product rows in {} ms ({} rows/s): {} inserted, {} updated, {} failed",
+                result.getRows(), result.getElapsedMillis(), result.getRowsPerSecond(), result.getInserted(),
+                result.getUpdated(), result.getFailed());
+        return result;
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        long rowNumber = 0;
+        try {
+            List<String> header = csvReader.readRecord();
+            if (header == null) {
+                return;
+            }
+            List<String> fields;
+            while ((fields = csvReader.readRecord()) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                Map<String, String> values = new LinkedHashMap<>();
+                for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                    // Empty cells are missing values, not empty strings
+                    if (!fields.get(i).isEmpty()) {
+                        values.put(header.get(i).trim(), fields.get(i));
+                    }
+                }
+                ProductImportRow row;
+                try {
+                    row = objectMapper.convertValue(values, ProductImportRow.class);
+                } catch (IllegalArgumentException e) {
+                    run.reject(rowNumber, values.get("productId"), "Invalid value: " + e.getMessage());
+                    continue;
+                }
+                accept(rowNumber, row, run);
+            }
+        } catch (IOException e) {
+            // Nothing after a broken quote can be trusted, the rows before it are still imported
+            run.reject(++rowNumber, null, "Malformed CSV: " + e.getMessage());
+        }
+        run.result.setRows(rowNumber);
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            ProductImportRow row;
+            try {
+                row = objectMapper.readValue(line, ProductImportRow.class);
+            } catch (JsonProcessingException e) {
+                run.reject(rowNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            accept(rowNumber, row, run);
+        }
+        run.result.setRows(rowNumber);
+    }
+
+    private void accept(long rowNumber, ProductImportRow row, ImportRun run) {
+        String error = validate(row, run);
+        if (error != null) {
+            run.reject(rowNumber, row.getProductId(), error);
+            return;
+        }
+
+        if (row.getProductId() == null || row.getProductId().isBlank()) {
+            row.setProductId(UUID.randomUUID().toString());
+        }
+        if (row.getDiscountedPrice() == null) {
+            row.setDiscountedPrice(row.getPrice());
+        }
+        if (row.getLive() == null) {
+            row.setLive(false);
+        }
+        if (row.getStock() == null) {
+            row.setStock(row.getQuantity() > 0);
+        }
+
+        // A batch holds each product once, a repeated id starts the next batch so the later row wins
+        if (!run.batchIds.add(row.getProductId())) {
+            writeBatch(run);
+            run.batchIds.add(row.getProductId());
+        }
+        run.batch.add(new PendingRow(rowNumber, row));
+        if (run.batch.size() >= batchSize) {
+            writeBatch(run);
+        }
+    }
+
+    private String validate(ProductImportRow row, ImportRun run) {
+        Set<ConstraintViolation<ProductImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (row.getDiscountedPrice() != null && row.getDiscountedPrice() > row.getPrice()) {
+            return "discountedPrice is above price";
+        }
+        if (row.getCategoryId() != null
+                && !run.categories.computeIfAbsent(row.getCategoryId(), categoryRepository::existsById)) {
+            return "Category not found: " + row.getCategoryId();
+        }
+        return null;
+    }
+
+    private void writeBatch(ImportRun run) {
+        if (run.batch.isEmpty()) {
+            return;
+        }
+        List<PendingRow> batch = new ArrayList<>(run.batch);
+        run.batch.clear();
+        run.batchIds.clear();
+        List<String> productIds = batch.stream().map(pending -> pending.row.getProductId()).toList();
+
+        Set<String> existingIds;
+        try {
+            existingIds = transactionTemplate.execute(status -> upsert(batch, productIds));
+        } catch (RuntimeException e) {
+            log.warn("Product import batch of {} rows failed", batch.size(), e);
+            batch.forEach(pending -> run.reject(pending.rowNumber, pending.row.getProductId(),
+                    "Batch rejected: " + e.getMessage()));
+            return;
+        }
+        run.result.setInserted(run.result.getInserted() + batch.size() - existingIds.size());
+        run.result.setUpdated(run.result.getUpdated() + existingIds.size());
+        productSearchIndexer.index(productRepository.findSearchDocumentsByProductIds(productIds));
+    }
+
+    private Set<String> upsert(List<PendingRow> batch, List<String> productIds) {
+        Set<String> existingIds = productRepository.findExistingIds(productIds);
+        Timestamp addedDate = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(UPSERT, batch, batch.size(), (statement, pending) -> {
+            ProductImportRow row = pending.row;
+            statement.setString(1, row.getProductId());
+            statement.setString(2, row.getTitle());
+            statement.setString(3, row.getDescription());
+            statement.setInt(4, row.getPrice());
+            statement.setInt(5, row.getDiscountedPrice());
+            statement.setInt(6, row.getQuantity());
+            statement.setTimestamp(7, addedDate);
+            statement.setBoolean(8, row.getLive());
+            statement.setBoolean(9, row.getStock());
+            statement.setString(10, row.getCategoryId());
+        });
+
+        for (PendingRow pending : batch) {
+            String productId = pending.row.getProductId();
+            if (existingIds.contains(productId)) {
+                // Evicted once the batch commits, the cache is transaction aware
+                productsCache.evict(productId);
+                outboxWriter.write(OutboxEventType.PRODUCT_UPDATED, productId, pending.row);
+            } else {
+                outboxWriter.write(OutboxEventType.PRODUCT_CREATED, productId, pending.row);
+            }
+        }
+        // The old prices are not read, the repricing only touches cart lines whose price is actually off
+        if (!existingIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductPriceChangedEvent(existingIds));
+        }
+        return existingIds;
+    }
+
+    private final class ImportRun {
+
+        private final ProductImportResult result = new ProductImportResult();
+        private final List<PendingRow> batch = new ArrayList<>();
+        private final Set<String> batchIds = new HashSet<>();
+        // Whether each category id seen so far exists, looked up once per import
+        private final Map<String, Boolean> categories = new HashMap<>();
+
+        private void reject(long rowNumber, String productId, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < maxReportedErrors) {
+                result.getErrors().add(new ProductImportError(rowNumber, productId, message));
+            }
+        }
+
+    }
+
+    private static final class PendingRow {
+
+        private final long rowNumber;
+        private final ProductImportRow row;
+
+        private PendingRow(long rowNumber, ProductImportRow row) {
+            this.rowNumber = rowNumber;
+            this.row = row;
+        }
+
+    }
+
+}
@@ -5,26 +5,51 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import com.vishal.electronicsstore.cart.ProductPriceChangedEvent;
+import com.vishal.electronicsstore.config.CacheConfig;
 import com.vishal.electronicsstore.dto.PageableResponse;
 import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.entity.Category;
 import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
 import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.mapper.ProductMapper;
+import com.vishal.electronicsstore.outbox.OutboxEventType;
+import com.vishal.electronicsstore.outbox.OutboxWriter;
 import com.vishal.electronicsstore.repository.CategoryRepository;
 import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.search.ProductSearchIndex;
+import com.vishal.electronicsstore.search.ProductSearchEvent;
+import com.vishal.electronicsstore.search.ProductSearchIndexer;
+import com.vishal.electronicsstore.search.ProductSearchPage;
 import com.vishal.electronicsstore.service.ProductService;
+import com.vishal.electronicsstore.util.CursorUtil;
 import com.vishal.electronicsstore.util.PageableUtil;
 
+import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -33,34 +58,48 @@ public class ProductServiceImpl implements ProductService {
 
     private static final String PRODUCT_NOT_FOUND_MESSAGE = "Product not found: ";
     private static final String CATEGORY_NOT_FOUND_MESSAGE = "Category not found: ";
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("productId", "title", "price", "discountedPrice",
+            "quantity", "addedDate", "live", "stock");
 
     private final ProductRepository productRepository;
-    private final ModelMapper modelMapper;
+    private final ProductMapper productMapper;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndexer productSearchIndexer;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ProductServiceImpl(ProductRepository productRepository, ModelMapper modelMapper,
-            CategoryRepository categoryRepository) {
+    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper,
+            CategoryRepository categoryRepository, ProductSearchIndexer productSearchIndexer,
+            OutboxWriter outboxWriter, ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
-        this.modelMapper = modelMapper;
+        this.productMapper = productMapper;
         this.categoryRepository = categoryRepository;
+        this.productSearchIndexer = productSearchIndexer;
+        this.outboxWriter = outboxWriter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public ProductDto create(ProductDto productDto) {
         String productId = UUID.randomUUID().toString();
         productDto.setProductId(productId);
         productDto.setAddedDate(new Date());
         Product product = dtoToEntity(productDto);
         Product savedProduct = productRepository.save(product);
-        return entityToDto(savedProduct);
+        eventPublisher.publishEvent(ProductSearchEvent.indexed(savedProduct));
+        return recordChange(OutboxEventType.PRODUCT_CREATED, savedProduct);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
     public ProductDto update(ProductDto productDto, String productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException(PRODUCT_NOT_FOUND_MESSAGE + productId));
 
+        boolean priceChanged = product.getDiscountedPrice() != productDto.getDiscountedPrice();
         product.setTitle(productDto.getTitle());
         product.setDescription(productDto.getDescription());
         product.setPrice(productDto.getPrice());
@@ -71,10 +110,16 @@ public class ProductServiceImpl implements ProductService {
         product.setProductImage(productDto.getProductImage());
 
         Product updatedProduct = productRepository.save(product);
-        return entityToDto(updatedProduct);
+        eventPublisher.publishEvent(ProductSearchEvent.indexed(updatedProduct));
+        if (priceChanged) {
+            eventPublisher.publishEvent(new ProductPriceChangedEvent(List.of(productId)));
+        }
+        return recordChange(OutboxEventType.PRODUCT_UPDATED, updatedProduct);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
     public void delete(String productId, String imagePath) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException(PRODUCT_NOT_FOUND_MESSAGE + productId));
@@ -88,9 +133,23 @@ public class ProductServiceImpl implements ProductService {
         }
 
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductSearchEvent.removed(productId));
+        outboxWriter.write(OutboxEventType.PRODUCT_DELETED, productId, Map.of("productId", productId));
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
+    public void updateImageOfProduct(String imageName, String productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException(PRODUCT_NOT_FOUND_MESSAGE + productId));
+
+        product.setProductImage(imageName);
+        recordChange(OutboxEventType.PRODUCT_UPDATED, productRepository.save(product));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
     public ProductDto get(String productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException(PRODUCT_NOT_FOUND_MESSAGE + productId));
@@ -106,7 +165,32 @@ public class ProductServiceImpl implements ProductService {
             String sortDirec) {
         Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
         Page<Product> productsPage = productRepository.findAll(pageable);
-        return PageableUtil.getPageableResponse(productsPage, ProductDto.class, modelMapper);
+        return PageableUtil.getPageableResponse(productsPage, productMapper::toDto);
+    }
+
+    @Override
+    public PageableResponse<ProductDto> getAllWithCursor(
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        Window<Product> productsWindow = productRepository.findAllBy(
+                CursorUtil.decode(cursor, pageSize, sortBy, sortDirec, CURSOR_SORT_FIELDS, "productId"),
+                createSort(sortBy, sortDirec), Limit.of(pageSize));
+        return PageableUtil.getPageableResponse(productsWindow, productMapper::toDto, sortBy, sortDirec);
+    }
+
+    @Override
+    public SliceResponse<ProductDto> getAllAsSlice(
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
+        Slice<Product> productsSlice = productRepository.findSliceBy(pageable);
+        Long approximateTotal = withApproximateTotal ? productRepository.countAll() : null;
+        return PageableUtil.getSliceResponse(productsSlice, productMapper::toDto, approximateTotal);
     }
 
     @Override
@@ -117,7 +201,32 @@ public class ProductServiceImpl implements ProductService {
             String sortDirec) {
         Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
         Page<Product> productsPage = productRepository.findByLiveTrue(pageable);
-        return PageableUtil.getPageableResponse(productsPage, ProductDto.class, modelMapper);
+        return PageableUtil.getPageableResponse(productsPage, productMapper::toDto);
+    }
+
+    @Override
+    public PageableResponse<ProductDto> getAllLiveWithCursor(
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        Window<Product> productsWindow = productRepository.findByLiveTrue(
+                CursorUtil.decode(cursor, pageSize, sortBy, sortDirec, CURSOR_SORT_FIELDS, "productId"),
+                createSort(sortBy, sortDirec), Limit.of(pageSize));
+        return PageableUtil.getPageableResponse(productsWindow, productMapper::toDto, sortBy, sortDirec);
+    }
+
+    @Override
+    public SliceResponse<ProductDto> getAllLiveAsSlice(
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
+        Slice<Product> productsSlice = productRepository.findSliceByLiveTrue(pageable);
+        Long approximateTotal = withApproximateTotal ? productRepository.countByLiveTrue() : null;
+        return PageableUtil.getSliceResponse(productsSlice, productMapper::toDto, approximateTotal);
     }
 
     @Override
@@ -127,17 +236,83 @@ public class ProductServiceImpl implements ProductService {
             int pageSize,
             String sortBy,
             String sortDirec) {
-        Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
+        if (productSearchIndexer.isReady()) {
+            ProductSearchPage searchPage = searchIndex(keyword, pageNumber, pageSize, sortBy, sortDirec);
+            PageableResponse<ProductDto> response = PageableUtil.getPageableResponse(
+                    toProductsPage(searchPage, pageNumber, pageSize), productMapper::toDto);
+            response.setTruncated(searchPage.isTruncated());
+            return response;
+        }
+
+        // Relevance only exists in the index, the database fallback orders by title instead
+        String fallbackSortBy = sortBy.equals(ProductSearchIndex.SORT_BY_RELEVANCE) ? "title" : sortBy;
+        Pageable pageable = createPageable(pageNumber, pageSize, fallbackSortBy, sortDirec);
         Page<Product> productsPage = productRepository.findByTitleContaining(keyword, pageable);
-        return PageableUtil.getPageableResponse(productsPage, ProductDto.class, modelMapper);
+        return PageableUtil.getPageableResponse(productsPage, productMapper::toDto);
+    }
+
+    @Override
+    public SliceResponse<ProductDto> searchProductsAsSlice(
+            String keyword,
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        // The index counts its hits while ranking, so the total costs nothing extra there
+        if (productSearchIndexer.isReady()) {
+            ProductSearchPage searchPage = searchIndex(keyword, pageNumber, pageSize, sortBy, sortDirec);
+            Long approximateTotal = withApproximateTotal ? searchPage.getTotalHits() : null;
+            SliceResponse<ProductDto> response = PageableUtil.getSliceResponse(
+                    toProductsPage(searchPage, pageNumber, pageSize), productMapper::toDto, approximateTotal);
+            response.setTruncated(searchPage.isTruncated());
+            return response;
+        }
+
+        String fallbackSortBy = sortBy.equals(ProductSearchIndex.SORT_BY_RELEVANCE) ? "title" : sortBy;
+        Pageable pageable = createPageable(pageNumber, pageSize, fallbackSortBy, sortDirec);
+        Slice<Product> productsSlice = productRepository.findSliceByTitleContaining(keyword, pageable);
+        Long approximateTotal = withApproximateTotal ? productRepository.countByTitleContaining(keyword) : null;
+        return PageableUtil.getSliceResponse(productsSlice, productMapper::toDto, approximateTotal);
+    }
+
+    private ProductSearchPage searchIndex(
+            String keyword,
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        if (!ProductSearchIndex.isSortable(sortBy)) {
+            throw new BadAPIRequestException("Unsupported sort field for search: " + sortBy);
+        }
+
+        return productSearchIndexer.search(
+                keyword, sortBy, !sortDirec.equalsIgnoreCase("desc"), pageNumber, pageSize);
+    }
+
+    private Page<Product> toProductsPage(ProductSearchPage searchPage, int pageNumber, int pageSize) {
+        Map<String, Product> productsById = productRepository.findAllById(searchPage.getProductIds()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        List<Product> products = searchPage.getProductIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(products, PageRequest.of(pageNumber, pageSize), searchPage.getTotalHits());
     }
 
     private Product dtoToEntity(ProductDto productDto) {
-        return modelMapper.map(productDto, Product.class);
+        return productMapper.toEntity(productDto);
     }
 
     private ProductDto entityToDto(Product savedProduct) {
-        return modelMapper.map(savedProduct, ProductDto.class);
+        return productMapper.toDto(savedProduct);
+    }
+
+    private ProductDto recordChange(OutboxEventType eventType, Product product) {
+        ProductDto productDto = entityToDto(product);
+        outboxWriter.write(eventType, product.getProductId(), productDto);
+        return productDto;
     }
 
     private Pageable createPageable(
@@ -145,13 +320,17 @@ public class ProductServiceImpl implements ProductService {
             int pageSize,
             String sortBy,
             String sortDirec) {
-        Sort sort = sortDirec.equalsIgnoreCase("desc")
+        return PageRequest.of(pageNumber, pageSize, createSort(sortBy, sortDirec));
+    }
+
+    private Sort createSort(String sortBy, String sortDirec) {
+        return sortDirec.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
-        return PageRequest.of(pageNumber, pageSize, sort);
     }
 
     @Override
+    @Transactional
     public ProductDto createProductWithCategory(ProductDto productDto, String categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND_MESSAGE + categoryId));
@@ -164,10 +343,13 @@ public class ProductServiceImpl implements ProductService {
         product.setCategory(category);
 
         Product savedProduct = productRepository.save(product);
-        return entityToDto(savedProduct);
+        eventPublisher.publishEvent(ProductSearchEvent.indexed(savedProduct));
+        return recordChange(OutboxEventType.PRODUCT_CREATED, savedProduct);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
     public ProductDto updateCategoryOfProduct(String productId, String categoryId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException(PRODUCT_NOT_FOUND_MESSAGE + productId));
@@ -177,7 +359,7 @@ public class ProductServiceImpl implements ProductService {
 
         product.setCategory(category);
         Product savedProduct = productRepository.save(product);
-        return entityToDto(savedProduct);
+        return recordChange(OutboxEventType.PRODUCT_UPDATED, savedProduct);
     }
 
     @Override
@@ -193,7 +375,41 @@ public class ProductServiceImpl implements ProductService {
 
         Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
         Page<Product> productsPage = productRepository.findByCategory(category, pageable);
-        return PageableUtil.getPageableResponse(productsPage, ProductDto.class, modelMapper);
+        return PageableUtil.getPageableResponse(productsPage, productMapper::toDto);
+    }
+
+    @Override
+    public PageableResponse<ProductDto> getAllProductsOfACategoryWithCursor(
+            String categoryId,
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND_MESSAGE + categoryId));
+
+        Window<Product> productsWindow = productRepository.findByCategory(category,
+                CursorUtil.decode(cursor, pageSize, sortBy, sortDirec, CURSOR_SORT_FIELDS, "productId"),
+                createSort(sortBy, sortDirec), Limit.of(pageSize));
+        return PageableUtil.getPageableResponse(productsWindow, productMapper::toDto, sortBy, sortDirec);
+    }
+
+    @Override
+    public SliceResponse<ProductDto> getAllProductsOfACategoryAsSlice(
+            String categoryId,
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND_MESSAGE + categoryId));
+
+        Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
+        Slice<Product> productsSlice = productRepository.findSliceByCategory(category, pageable);
+        Long approximateTotal = withApproximateTotal ? productRepository.countByCategory(category) : null;
+        return PageableUtil.getSliceResponse(productsSlice, productMapper::toDto, approximateTotal);
     }
 
 }
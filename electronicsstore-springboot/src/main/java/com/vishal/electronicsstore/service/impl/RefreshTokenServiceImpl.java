@@ -3,7 +3,6 @@ package com.vishal.electronicsstore.service.impl;
 import java.time.Instant;
 import java.util.UUID;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +11,8 @@ import com.vishal.electronicsstore.dto.UserDto;
 import com.vishal.electronicsstore.entity.RefreshToken;
 import com.vishal.electronicsstore.entity.User;
 import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.mapper.RefreshTokenMapper;
+import com.vishal.electronicsstore.mapper.UserMapper;
 import com.vishal.electronicsstore.repository.RefreshTokenRepository;
 import com.vishal.electronicsstore.repository.UserRepository;
 import com.vishal.electronicsstore.service.RefreshTokenService;
@@ -24,16 +25,19 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final RefreshTokenMapper refreshTokenMapper;
+    private final UserMapper userMapper;
 
     @Autowired
     public RefreshTokenServiceImpl(
             RefreshTokenRepository refreshTokenRepository,
             UserRepository userRepository,
-            ModelMapper modelMapper) {
+            RefreshTokenMapper refreshTokenMapper,
+            UserMapper userMapper) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.refreshTokenMapper = refreshTokenMapper;
+        this.userMapper = userMapper;
     }
 
     @Override
@@ -54,7 +58,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         }
 
         RefreshToken savedRefreshToken = refreshTokenRepository.save(refreshToken);
-        return modelMapper.map(savedRefreshToken, RefreshTokenDto.class);
+        return refreshTokenMapper.toDto(savedRefreshToken);
     }
 
     @Override
@@ -62,12 +66,12 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         RefreshToken refreshToken = refreshTokenRepository.findByToken(token).orElseThrow(
                 () -> new ResourceNotFoundException("Refresh token not found in database!"));
 
-        return modelMapper.map(refreshToken, RefreshTokenDto.class);
+        return refreshTokenMapper.toDto(refreshToken);
     }
 
     @Override
     public void verifyRefreshToken(RefreshTokenDto refreshTokenDto) {
-        RefreshToken refreshToken = modelMapper.map(refreshTokenDto, RefreshToken.class);
+        RefreshToken refreshToken = refreshTokenMapper.toEntity(refreshTokenDto);
         if (refreshTokenDto.getExpiryDate().compareTo(Instant.now()) < 0) {
             refreshTokenRepository.delete(refreshToken);
             throw new RuntimeException("Refresh token expired!");
@@ -80,7 +84,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
                 () -> new ResourceNotFoundException("Refresh token not found in database!"));
 
         User user = refreshToken.getUser();
-        return modelMapper.map(user, UserDto.class);
+        return userMapper.toDto(user);
     }
 
 }
@@ -0,0 +1,147 @@
+package com.vishal.electronicsstore.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vishal.electronicsstore.dto.SalesRollupDto;
+import com.vishal.electronicsstore.entity.ArchivedOrder;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.report.OrderSalesEvent;
+import com.vishal.electronicsstore.report.OrderSalesLine;
+import com.vishal.electronicsstore.report.SalesRollupDimension;
+import com.vishal.electronicsstore.report.SalesRollupGranularity;
+import com.vishal.electronicsstore.report.SalesRollupUpdater;
+import com.vishal.electronicsstore.repository.ArchivedOrderRepository;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.repository.SalesRollupRepository;
+import com.vishal.electronicsstore.service.ReportService;
+import com.vishal.electronicsstore.util.DateRangeUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ReportServiceImpl implements ReportService {
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final SalesRollupUpdater salesRollupUpdater;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildPageSize;
+
+    @Autowired
+    public ReportServiceImpl(
+            SalesRollupRepository salesRollupRepository,
+            OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            SalesRollupUpdater salesRollupUpdater,
+            PlatformTransactionManager transactionManager,
+            @Value("${reports.sales.rebuild-page-size}") int rebuildPageSize) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.salesRollupUpdater = salesRollupUpdater;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildPageSize = rebuildPageSize;
+    }
+
+    @Override
+    public List<SalesRollupDto> getSales(
+            SalesRollupGranularity granularity,
+            SalesRollupDimension dimension,
+            LocalDate from,
+            LocalDate to) {
+        DateRangeUtil.checkRange(from, to);
+        return salesRollupRepository.findRange(granularity, dimension, DateRangeUtil.startOf(from),
+                DateRangeUtil.endOf(to));
+    }
+
+    // Each day is rebuilt in its own transaction, so a long backfill never holds locks on more than one day
+    @Override
+    public long rebuildSales(LocalDate from, LocalDate to) {
+        DateRangeUtil.checkRange(from, to);
+        long orders = salesRollupUpdater.rebuild(from, to,
+                day -> transactionTemplate.execute(status -> rebuildDay(day)));
+        log.info("Rebuilt the sales rollups from {} to {} out of {} orders", from, to, orders);
+        return orders;
+    }
+
+    @Override
+    public long rebuildFailedSales() {
+        long orders = 0;
+        for (LocalDate day : salesRollupUpdater.getFailedDays()) {
+            orders += rebuildSales(day, day);
+        }
+        return orders;
+    }
+
+    // Archived orders still count towards the day they were placed on
+    private List<String> rebuildDay(LocalDate day) {
+        Date dayStart = DateRangeUtil.startOf(day);
+        Date dayEnd = DateRangeUtil.endOf(day);
+        salesRollupRepository.deleteRange(dayStart, dayEnd);
+
+        List<String> orderIds = new ArrayList<>();
+        replay(
+                pageable -> orderRepository.findSliceByOrderDateGreaterThanEqualAndOrderDateLessThan(dayStart,
+                        dayEnd, pageable),
+                orderRepository::findSalesLinesByOrderIds,
+                Order::getOrderId,
+                (order, lines) -> new OrderSalesEvent(order.getOrderId(), 1, order.getOrderDate(),
+                        order.getOrderAmount(), lines),
+                orderIds);
+        replay(
+                pageable -> archivedOrderRepository.findSliceByOrderDateGreaterThanEqualAndOrderDateLessThan(
+                        dayStart, dayEnd, pageable),
+                archivedOrderRepository::findSalesLinesByOrderIds,
+                ArchivedOrder::getOrderId,
+                (order, lines) -> new OrderSalesEvent(order.getOrderId(), 1, order.getOrderDate(),
+                        order.getOrderAmount(), lines),
+                orderIds);
+        return orderIds;
+    }
+
+    // Feeds the orders to the rollups a page at a time, with the lines of each page loaded in one query
+    private <T> void replay(
+            Function<Pageable, Slice<T>> pages,
+            Function<List<String>, List<OrderSalesLine>> salesLines,
+            Function<T, String> orderId,
+            BiFunction<T, List<OrderSalesLine>, OrderSalesEvent> toEvent,
+            List<String> replayedOrderIds) {
+        Pageable pageable = PageRequest.of(0, rebuildPageSize, Sort.by("orderId"));
+        Slice<T> slice;
+        do {
+            slice = pages.apply(pageable);
+            List<T> page = slice.getContent();
+            if (!page.isEmpty()) {
+                List<String> orderIds = page.stream().map(orderId).toList();
+                Map<String, List<OrderSalesLine>> lines = salesLines.apply(orderIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(OrderSalesLine::getOrderId));
+                salesRollupUpdater.apply(page.stream()
+                        .map(order -> toEvent.apply(order, lines.getOrDefault(orderId.apply(order), List.of())))
+                        .toList());
+                replayedOrderIds.addAll(orderIds);
+            }
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+    }
+
+}
@@ -7,27 +7,33 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.dto.UserDto;
 import com.vishal.electronicsstore.entity.Role;
 import com.vishal.electronicsstore.entity.User;
 import com.vishal.electronicsstore.exception.ResourceNotFoundException;
 import com.vishal.electronicsstore.exception.UserAlreadyExistsException;
+import com.vishal.electronicsstore.mapper.UserMapper;
 import com.vishal.electronicsstore.repository.RefreshTokenRepository;
 import com.vishal.electronicsstore.repository.RoleRepository;
 import com.vishal.electronicsstore.repository.UserRepository;
 import com.vishal.electronicsstore.service.UserService;
+import com.vishal.electronicsstore.util.CursorUtil;
 import com.vishal.electronicsstore.util.PageableUtil;
 
 import jakarta.transaction.Transactional;
@@ -38,9 +44,10 @@ import lombok.extern.slf4j.Slf4j;
 public class UserServiceImpl implements UserService {
 
     private static final String USER_NOT_FOUND_MESSAGE = "User not found: ";
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("userId", "fullName", "email");
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
     private final RefreshTokenRepository refreshTokenRepository;
@@ -48,12 +55,12 @@ public class UserServiceImpl implements UserService {
     @Autowired
     public UserServiceImpl(
             UserRepository userRepository,
-            ModelMapper modelMapper,
+            UserMapper userMapper,
             PasswordEncoder passwordEncoder,
             RoleRepository roleRepository,
             RefreshTokenRepository refreshTokenRepository) {
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
         this.refreshTokenRepository = refreshTokenRepository;
@@ -155,7 +162,32 @@ public class UserServiceImpl implements UserService {
             String sortDirec) {
         Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
         Page<User> usersPage = userRepository.findAll(pageable);
-        return PageableUtil.getPageableResponse(usersPage, UserDto.class, modelMapper);
+        return PageableUtil.getPageableResponse(usersPage, userMapper::toDto);
+    }
+
+    @Override
+    public PageableResponse<UserDto> getAllUsersWithCursor(
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirec) {
+        Window<User> usersWindow = userRepository.findAllBy(
+                CursorUtil.decode(cursor, pageSize, sortBy, sortDirec, CURSOR_SORT_FIELDS, "userId"),
+                createSort(sortBy, sortDirec), Limit.of(pageSize));
+        return PageableUtil.getPageableResponse(usersWindow, userMapper::toDto, sortBy, sortDirec);
+    }
+
+    @Override
+    public SliceResponse<UserDto> getAllUsersAsSlice(
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
+        Slice<User> usersSlice = userRepository.findSliceBy(pageable);
+        Long approximateTotal = withApproximateTotal ? userRepository.countAll() : null;
+        return PageableUtil.getSliceResponse(usersSlice, userMapper::toDto, approximateTotal);
     }
 
     @Override
@@ -183,15 +215,29 @@ public class UserServiceImpl implements UserService {
             String sortDirec) {
         Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
         Page<User> usersPage = userRepository.findByFullNameContaining(keyword, pageable);
-        return PageableUtil.getPageableResponse(usersPage, UserDto.class, modelMapper);
+        return PageableUtil.getPageableResponse(usersPage, userMapper::toDto);
+    }
+
+    @Override
+    public SliceResponse<UserDto> searchUsersAsSlice(
+            String keyword,
+            int pageNumber,
+            int pageSize,
+            String sortBy,
+            String sortDirec,
+            boolean withApproximateTotal) {
+        Pageable pageable = createPageable(pageNumber, pageSize, sortBy, sortDirec);
+        Slice<User> usersSlice = userRepository.findSliceByFullNameContaining(keyword, pageable);
+        Long approximateTotal = withApproximateTotal ? userRepository.countByFullNameContaining(keyword) : null;
+        return PageableUtil.getSliceResponse(usersSlice, userMapper::toDto, approximateTotal);
     }
 
     private User dtoToEntity(UserDto userDto) {
-        return modelMapper.map(userDto, User.class);
+        return userMapper.toEntity(userDto);
     }
 
     private UserDto entityToDto(User savedUser) {
-        return modelMapper.map(savedUser, UserDto.class);
+        return userMapper.toDto(savedUser);
     }
 
     private Pageable createPageable(
@@ -199,10 +245,13 @@ public class UserServiceImpl implements UserService {
             int pageSize,
             String sortBy,
             String sortDirec) {
-        Sort sort = sortDirec.equalsIgnoreCase("desc")
+        return PageRequest.of(pageNumber, pageSize, createSort(sortBy, sortDirec));
+    }
+
+    private Sort createSort(String sortBy, String sortDirec) {
+        return sortDirec.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
                 : Sort.by(sortBy).ascending();
-        return PageRequest.of(pageNumber, pageSize, sort);
     }
 
 }
@@ -0,0 +1,79 @@
+package com.vishal.electronicsstore.service.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.vishal.electronicsstore.cart.WriteBehindCartStore;
+import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.dto.CartLineOperation;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+import com.vishal.electronicsstore.service.CartService;
+import com.vishal.electronicsstore.service.ProductService;
+import com.vishal.electronicsstore.util.CartOperationUtil;
+
+// Carts are served from WriteBehindCartStore and products from the product cache, so a change to a cart
+// already in memory is acknowledged without touching the database
+@Service
+@ConditionalOnProperty(name = "cart.store", havingValue = "memory")
+public class WriteBehindCartServiceImpl implements CartService {
+
+    private final ProductService productService;
+    private final WriteBehindCartStore cartStore;
+
+    @Autowired
+    public WriteBehindCartServiceImpl(ProductService productService, WriteBehindCartStore cartStore) {
+        this.productService = productService;
+        this.cartStore = cartStore;
+    }
+
+    @Override
+    public CartSummaryDto addCartItemToCart(String userId, CartItemDto cartItemDto) {
+        int quantity = cartItemDto.getQuantityOfCartItem();
+
+        if (quantity <= 0) {
+            throw new BadAPIRequestException("Requested quantity is not valid!");
+        }
+
+        ProductDto product = productService.get(cartItemDto.getProductId());
+        return cartStore.setLine(userId, product.getProductId(), product.getTitle(), quantity,
+                quantity * product.getDiscountedPrice());
+    }
+
+    // Products come from the product cache one by one rather than from a single query, as for a single line
+    @Override
+    public CartSummaryDto updateCart(String userId, List<CartLineOperation> operations) {
+        CartOperationUtil.checkQuantities(operations);
+
+        Map<String, ProductDto> products = new HashMap<>();
+        operations.forEach(operation -> products.computeIfAbsent(operation.getProductId(), productService::get));
+        return cartStore.update(userId, operations, products);
+    }
+
+    @Override
+    public void removeCartItemFromCart(int cartItemId) {
+        cartStore.removeLine(cartItemId);
+    }
+
+    @Override
+    public void clearCart(String userId) {
+        cartStore.clear(userId);
+    }
+
+    @Override
+    public CartSummaryDto getCartByUserId(String userId) {
+        return cartStore.get(userId);
+    }
+
+    @Override
+    public void flushCart(String userId) {
+        cartStore.flush(userId);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.vishal.electronicsstore.util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vishal.electronicsstore.dto.CartLineOperation;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+
+// Shared by both cart stores, which apply the result in their own way
+public class CartOperationUtil {
+
+    private CartOperationUtil() {
+    }
+
+    public static void checkQuantities(List<CartLineOperation> operations) {
+        for (CartLineOperation operation : operations) {
+            if (operation.getOp() != CartLineOperation.Op.REMOVE && operation.getQuantityOfCartItem() <= 0) {
+                throw new BadAPIRequestException("Requested quantity is not valid!");
+            }
+        }
+    }
+
+    // Takes the quantities by productId before the operations and returns them after; products that end up
+    // without a line are mapped to null
+    public static Map<String, Integer> apply(Map<String, Integer> quantities, List<CartLineOperation> operations) {
+        Map<String, Integer> changed = new LinkedHashMap<>();
+        for (CartLineOperation operation : operations) {
+            String productId = operation.getProductId();
+            Integer current = changed.containsKey(productId) ? changed.get(productId) : quantities.get(productId);
+            switch (operation.getOp()) {
+                case SET -> changed.put(productId, operation.getQuantityOfCartItem());
+                case ADD -> changed.put(productId,
+                        (current == null ? 0 : current) + operation.getQuantityOfCartItem());
+                case REMOVE -> changed.put(productId, null);
+            }
+        }
+        return changed;
+    }
+
+}
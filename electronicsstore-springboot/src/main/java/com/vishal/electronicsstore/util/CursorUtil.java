@@ -0,0 +1,122 @@
+package com.vishal.electronicsstore.util;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+
+// Opaque continuation tokens for keyset pagination. A token carries the sort it was issued
+// for plus the typed keyset values (sort key and id tiebreaker) of the last row returned.
+// Keyset predicates cannot compare NULLs, so callers whitelist the sort fields that are never
+// null and a token never carries a null key. A token naming any other property is rejected.
+public class CursorUtil {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> TOKEN_TYPE = new TypeReference<>() {
+    };
+
+    private CursorUtil() {
+    }
+
+    public static String encode(String sortBy, String sortDirec, ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded as a cursor");
+        }
+
+        Map<String, List<Object>> keys = new LinkedHashMap<>();
+        keysetPosition.getKeys().forEach((property, value) -> keys.put(property, encodeValue(value)));
+
+        Map<String, Object> token = new LinkedHashMap<>();
+        token.put("sortBy", sortBy);
+        token.put("sortDirec", sortDirec.toLowerCase());
+        token.put("keys", keys);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(token));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    // A blank cursor starts a keyset scroll from the first row
+    @SuppressWarnings("unchecked")
+    public static ScrollPosition decode(String cursor, int pageSize, String sortBy, String sortDirec,
+            Set<String> sortFields, String idField) {
+        if (pageSize < 1) {
+            throw new BadAPIRequestException("Page size must be positive!");
+        }
+        if (!sortFields.contains(sortBy)) {
+            throw new BadAPIRequestException("Cursor pagination is not supported for sort field: " + sortBy);
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> token;
+        try {
+            token = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), TOKEN_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadAPIRequestException("Invalid cursor!");
+        }
+
+        if (!sortBy.equals(token.get("sortBy")) || !sortDirec.equalsIgnoreCase((String) token.get("sortDirec"))) {
+            throw new BadAPIRequestException("Cursor was issued for a different sort order!");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            ((Map<String, List<Object>>) token.get("keys"))
+                    .forEach((property, value) -> keys.put(property, decodeValue(value)));
+        } catch (ClassCastException | NullPointerException e) {
+            throw new BadAPIRequestException("Invalid cursor!");
+        }
+        // The keys of a scroll are the sort field and the id tiebreaker, which may be the same
+        if (!keys.keySet().equals(new HashSet<>(List.of(sortBy, idField)))) {
+            throw new BadAPIRequestException("Invalid cursor!");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static List<Object> encodeValue(Object value) {
+        if (value == null) {
+            throw new BadAPIRequestException("Cursor pagination is not supported for a sort field with missing values!");
+        } else if (value instanceof String) {
+            return List.of("S", value);
+        } else if (value instanceof Integer) {
+            return List.of("I", value);
+        } else if (value instanceof Long) {
+            return List.of("L", value);
+        } else if (value instanceof Boolean) {
+            return List.of("B", value);
+        } else if (value instanceof Date date) {
+            return List.of("D", date.getTime());
+        }
+        throw new BadAPIRequestException("Cursor pagination is not supported for this sort field!");
+    }
+
+    private static Object decodeValue(List<Object> value) {
+        if (value.size() != 2) {
+            throw new BadAPIRequestException("Invalid cursor!");
+        }
+        String type = (String) value.get(0);
+        Object raw = value.get(1);
+        return switch (type) {
+            case "S", "B" -> raw;
+            case "I" -> ((Number) raw).intValue();
+            case "L" -> ((Number) raw).longValue();
+            case "D" -> new Date(((Number) raw).longValue());
+            default -> throw new BadAPIRequestException("Invalid cursor!");
+        };
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.vishal.electronicsstore.util;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+
+// Ranges of days are given with both ends included and queried as [start of from, start of the day after to),
+// with days in UTC
+public class DateRangeUtil {
+
+    private DateRangeUtil() {
+    }
+
+    public static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadAPIRequestException("The date range must not end before it starts!");
+        }
+    }
+
+    public static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    public static Date endOf(LocalDate day) {
+        return startOf(day.plusDays(1));
+    }
+
+    public static LocalDate dayOf(Date date) {
+        return LocalDate.ofInstant(date.toInstant(), ZoneOffset.UTC);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.vishal.electronicsstore.util;
+
+import java.util.Map;
+import java.util.Set;
+
+// Order and payment statuses are stored as plain strings, these are the moves the bulk status update allows.
+// Cancelling is left out on purpose, it has to give the reserved stock back and goes through removeOrder.
+public class OrderStatusUtil {
+
+    public static final String DELIVERED = "DELIVERED";
+
+    private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+            "PENDING", Set.of("CONFIRMED", "SHIPPED"),
+            "CONFIRMED", Set.of("SHIPPED"),
+            "SHIPPED", Set.of(DELIVERED));
+
+    private static final Set<String> PAYMENT_STATUSES = Set.of("NOT_PAID", "PAID");
+
+    private OrderStatusUtil() {
+    }
+
+    public static boolean isAllowedTransition(String fromStatus, String toStatus) {
+        return TRANSITIONS.getOrDefault(fromStatus, Set.of()).contains(toStatus);
+    }
+
+    public static boolean isPaymentStatus(String paymentStatus) {
+        return PAYMENT_STATUSES.contains(paymentStatus);
+    }
+
+}
@@ -1,11 +1,14 @@
 package com.vishal.electronicsstore.util;
 
 import java.util.List;
+import java.util.function.Function;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 
 public class PageableUtil {
 
@@ -14,12 +17,10 @@ public class PageableUtil {
 
     public static <D, E> PageableResponse<D> getPageableResponse(
             Page<E> page,
-            Class<D> type,
-            ModelMapper modelMapper) {
+            Function<E, D> mapper) {
         List<E> entities = page.getContent();
 
-        List<D> dtos = entities.stream()
-                .map(entity -> entityToDto(entity, type, modelMapper)).toList();
+        List<D> dtos = entities.stream().map(mapper).toList();
 
         return PageableResponse.<D>builder()
                 .content(dtos)
@@ -31,8 +32,38 @@ public class PageableUtil {
                 .build();
     }
 
-    private static <D, E> D entityToDto(E entity, Class<D> type, ModelMapper modelMapper) {
-        return modelMapper.map(entity, type);
+    public static <D, E> PageableResponse<D> getPageableResponse(
+            Window<E> window,
+            Function<E, D> mapper,
+            String sortBy,
+            String sortDirec) {
+        List<D> dtos = window.getContent().stream().map(mapper).toList();
+
+        String nextCursor = window.hasNext()
+                ? CursorUtil.encode(sortBy, sortDirec, window.positionAt(window.size() - 1))
+                : null;
+
+        return PageableResponse.<D>builder()
+                .content(dtos)
+                .pageSize(window.size())
+                .lastPage(!window.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public static <D, E> SliceResponse<D> getSliceResponse(
+            Slice<E> slice,
+            Function<E, D> mapper,
+            Long approximateTotalElements) {
+        List<D> dtos = slice.getContent().stream().map(mapper).toList();
+
+        return SliceResponse.<D>builder()
+                .content(dtos)
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
+                .approximateTotalElements(approximateTotalElements)
+                .build();
     }
 
 }
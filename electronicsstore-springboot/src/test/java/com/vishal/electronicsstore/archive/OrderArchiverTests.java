@@ -0,0 +1,136 @@
+package com.vishal.electronicsstore.archive;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+import com.vishal.electronicsstore.repository.ArchivedOrderRepository;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.service.OrderService;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest(properties = "order-archive.enabled=false")
+public class OrderArchiverTests {
+
+    private final OrderArchiver orderArchiver;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TestFixture fixture;
+
+    private User user;
+    private Product product;
+
+    @Autowired
+    public OrderArchiverTests(
+            OrderArchiver orderArchiver,
+            OrderService orderService,
+            OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            TestFixture fixture) {
+        this.orderArchiver = orderArchiver;
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+        product = fixture.product(fixture.productBuilder("product", 10).title("Archive product"));
+        order("old", "DELIVERED", new Date(System.currentTimeMillis() - Duration.ofDays(400).toMillis()));
+        order("recent", "PENDING", new Date());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        archivedOrderRepository.deleteAll(archivedOrderRepository.findByUserIdOrderByOrderDateDesc(user.getUserId()));
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void oldOrdersAreMovedToTheArchiveTest() {
+        Assertions.assertTrue(orderArchiver.archive() >= 1);
+
+        Assertions.assertFalse(orderRepository.existsById(fixture.id("old")));
+        Assertions.assertTrue(orderRepository.existsById(fixture.id("recent")));
+        Assertions.assertEquals(user.getUserId(),
+                archivedOrderRepository.findById(fixture.id("old")).get().getUserId());
+
+        Assertions.assertEquals(1, orderService.getOrdersOfUser(user.getUserId()).size());
+        List<OrderSummaryDto> history = orderService.getOrdersOfUser(user.getUserId(), true);
+        Assertions.assertEquals(List.of(fixture.id("recent"), fixture.id("old")),
+                history.stream().map(OrderSummaryDto::getOrderId).toList());
+        Assertions.assertEquals("Archive product", history.get(1).getOrderItems().get(0).getProductTitle());
+        Assertions.assertEquals(2, history.get(1).getOrderItems().get(0).getQuantity());
+
+        Assertions.assertEquals(0, orderArchiver.archive());
+    }
+
+    @Test
+    public void ordersAreListedByStatusAndDateTest() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        PageableResponse<OrderSummaryDto> pending = orderService.getOrders("PENDING", today.minusDays(1), today,
+                0, 100, "orderDate", "desc");
+        Assertions.assertTrue(pending.getContent().stream()
+                .anyMatch(order -> order.getOrderId().equals(fixture.id("recent"))));
+        Assertions.assertTrue(pending.getContent().stream()
+                .allMatch(order -> order.getOrderStatus().equals("PENDING")));
+
+        PageableResponse<OrderSummaryDto> delivered = orderService.getOrders("DELIVERED", null, null,
+                0, 100, "orderDate", "desc");
+        Assertions.assertTrue(delivered.getContent().stream()
+                .anyMatch(order -> order.getOrderId().equals(fixture.id("old"))));
+
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> orderService.getOrders(null, today, null, 0, 100, "orderDate", "desc"));
+    }
+
+    private void order(String name, String orderStatus, Date orderDate) {
+        Order order = Order.builder()
+                .orderId(fixture.id(name))
+                .orderStatus(orderStatus)
+                .paymentStatus("PAID")
+                .orderAmount(180)
+                .orderDate(orderDate)
+                .user(user)
+                .build();
+        order.getOrderItems().add(OrderItem.builder()
+                .product(product)
+                .quantity(2)
+                .priceOfOrderItem(180)
+                .order(order)
+                .build());
+        orderRepository.save(order);
+    }
+
+}
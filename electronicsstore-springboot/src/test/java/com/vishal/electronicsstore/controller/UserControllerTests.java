@@ -25,6 +25,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vishal.electronicsstore.config.SecurityConfig;
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.dto.UserDto;
 import com.vishal.electronicsstore.repository.RoleRepository;
 import com.vishal.electronicsstore.repository.UserRepository;
@@ -168,4 +169,26 @@ public class UserControllerTests {
                 .andExpect(status().isOk());
     }
 
+    @WithMockUser(username = "admin", roles = { "ADMIN" })
+    @Test
+    public void getAllUsersWithoutCountTest() throws Exception {
+        SliceResponse<UserDto> sliceResponse = SliceResponse.<UserDto>builder()
+                .content(Arrays.asList(userDto))
+                .pageNumber(0)
+                .pageSize(5)
+                .hasNext(true)
+                .build();
+
+        Mockito.when(userService.getAllUsersAsSlice(0, 5, "fullName", "asc", false)).thenReturn(sliceResponse);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                .param("count", "false")
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.approximateTotalElements").doesNotExist());
+    }
+
 }
@@ -0,0 +1,116 @@
+package com.vishal.electronicsstore.export;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.service.ExportService;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest
+public class ExportServiceTests {
+
+    private final ExportService exportService;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final TestFixture fixture;
+
+    private User user;
+    private Product product;
+
+    @Autowired
+    public ExportServiceTests(
+            ExportService exportService,
+            OrderRepository orderRepository,
+            ObjectMapper objectMapper,
+            TestFixture fixture) {
+        this.exportService = exportService;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+        product = fixture.product(fixture.productBuilder("product", 10).title("Charger, 65W \"fast\""));
+        orderRepository.save(Order.builder()
+                .orderId(fixture.id("order"))
+                .orderStatus("PENDING")
+                .paymentStatus("NOT_PAID")
+                .orderAmount(90)
+                .billingAddress("12 Rajpur Road,\nDehradun")
+                .orderDate(new Date())
+                .user(user)
+                .build());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void productsAreExportedAsCsvTest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = exportService.exportProducts(DataFormat.CSV, null, null, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertEquals(rows + 1, lines.size());
+        Assertions.assertEquals("productId,title,price,discountedPrice,quantity,live,stock,addedDate,categoryId",
+                lines.get(0));
+        Assertions.assertTrue(lines.stream().anyMatch(
+                line -> line.startsWith(fixture.id("product") + ",\"Charger, 65W \"\"fast\"\"\",100,90,10,")));
+    }
+
+    @Test
+    public void ordersAreExportedAsNdjsonByDateTest() throws Exception {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportOrders(DataFormat.NDJSON, today, today, output);
+
+        JsonNode exported = null;
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("orderId").asText().equals(fixture.id("order"))) {
+                exported = node;
+            }
+        }
+        Assertions.assertNotNull(exported);
+        Assertions.assertEquals(user.getUserId(), exported.get("userId").asText());
+        Assertions.assertEquals("12 Rajpur Road,\nDehradun", exported.get("billingAddress").asText());
+
+        output.reset();
+        exportService.exportOrders(DataFormat.NDJSON, today.minusDays(2), today.minusDays(1), output);
+        Assertions.assertFalse(output.toString(StandardCharsets.UTF_8).contains(fixture.id("order")));
+    }
+
+}
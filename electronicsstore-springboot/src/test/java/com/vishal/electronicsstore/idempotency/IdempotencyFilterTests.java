@@ -0,0 +1,186 @@
+package com.vishal.electronicsstore.idempotency;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.repository.IdempotencyRecordRepository;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class IdempotencyFilterTests {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private volatile int responseStatus = 201;
+    private volatile CountDownLatch entered = new CountDownLatch(0);
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile String lastRequestBody;
+
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+
+    // Stands in for the controller: counts executions and answers with a fresh order id each time
+    private final HttpServlet orderServlet = new HttpServlet() {
+        @Override
+        protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            int execution = executions.incrementAndGet();
+            lastRequestBody = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setStatus(responseStatus);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"orderId\":\"order-" + execution + "\"}");
+        }
+    };
+
+    @BeforeEach
+    public void init() {
+        IdempotencyRecordRepository repository = Mockito.mock(IdempotencyRecordRepository.class);
+        Mockito.when(repository.findByIdempotencyKeyAndExpiresAtAfter(ArgumentMatchers.anyString(),
+                ArgumentMatchers.any())).thenReturn(Optional.empty());
+        store = new IdempotencyStore(repository, Duration.ofHours(1), 100);
+        filter = new IdempotencyFilter(store, new ObjectMapper(), Duration.ofSeconds(5));
+    }
+
+    private MockHttpServletResponse post(String idempotencyKey) throws Exception {
+        return post(idempotencyKey, "{\"cartId\":\"cart-1\"}");
+    }
+
+    private MockHttpServletResponse post(String idempotencyKey, String body) throws Exception {
+        return post(idempotencyKey, body, null);
+    }
+
+    private MockHttpServletResponse post(String idempotencyKey, String body, String queryString) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setQueryString(queryString);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(orderServlet, filter).doFilter(request, response);
+        return response;
+    }
+
+    @Test
+    public void retryReplaysFirstResponseTest() throws Exception {
+        MockHttpServletResponse first = post("key-1");
+        MockHttpServletResponse retry = post("key-1");
+
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertEquals(201, retry.getStatus());
+        Assertions.assertEquals(first.getContentAsString(), retry.getContentAsString());
+        Assertions.assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void requestsWithoutOrWithOtherKeysRunTest() throws Exception {
+        post("key-1");
+        post("key-2");
+        post(null);
+        post(null);
+
+        Assertions.assertEquals(4, executions.get());
+    }
+
+    @Test
+    public void reusedKeyWithOtherBodyIsRejectedTest() throws Exception {
+        post("key-1", "{\"cartId\":\"cart-1\"}");
+        MockHttpServletResponse retry = post("key-1", "{\"cartId\":\"cart-2\"}");
+
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertEquals(422, retry.getStatus());
+        Assertions.assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void requestBodyReachesControllerTest() throws Exception {
+        MockHttpServletResponse response = post("key-1", "{\"cartId\":\"cart-1\"}");
+
+        Assertions.assertEquals("{\"cartId\":\"cart-1\"}", lastRequestBody);
+        Assertions.assertEquals(201, response.getStatus());
+    }
+
+    @Test
+    public void failedResponseIsNotReplayedTest() throws Exception {
+        responseStatus = 409;
+        post("key-1");
+        responseStatus = 201;
+        MockHttpServletResponse retry = post("key-1");
+
+        Assertions.assertEquals(2, executions.get());
+        Assertions.assertEquals(201, retry.getStatus());
+        Assertions.assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void otherQueryStringIsAnotherEndpointTest() throws Exception {
+        MockHttpServletResponse async = post("key-1", "{\"cartId\":\"cart-1\"}", "async=true");
+        MockHttpServletResponse sync = post("key-1", "{\"cartId\":\"cart-1\"}", null);
+
+        Assertions.assertEquals(2, executions.get());
+        Assertions.assertNotEquals(async.getContentAsString(), sync.getContentAsString());
+        Assertions.assertNull(sync.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void responseStoredBetweenTheChecksIsReplayedTest() throws Exception {
+        MockHttpServletResponse first = post("key-1");
+        // The retry misses the store, then the first request finishes before the retry claims the key
+        IdempotencyStore racingStore = Mockito.spy(store);
+        Mockito.doReturn(null).doCallRealMethod().when(racingStore).find(ArgumentMatchers.anyString());
+        filter = new IdempotencyFilter(racingStore, new ObjectMapper(), Duration.ofSeconds(5));
+
+        MockHttpServletResponse retry = post("key-1");
+
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertEquals(first.getContentAsString(), retry.getContentAsString());
+        Assertions.assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void concurrentDuplicateWaitsForFirstRequestTest() throws Exception {
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> post("key-1"));
+            Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> post("key-1"));
+            Thread.sleep(200);
+            Assertions.assertFalse(duplicate.isDone(), "Duplicate should wait for the in-flight request");
+            release.countDown();
+
+            Assertions.assertEquals(first.get().getContentAsString(), duplicate.get().getContentAsString());
+            Assertions.assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.vishal.electronicsstore.mapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.vishal.electronicsstore.dto.CartDto;
+import com.vishal.electronicsstore.dto.CategoryDto;
+import com.vishal.electronicsstore.dto.OrderDto;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.dto.RefreshTokenDto;
+import com.vishal.electronicsstore.dto.RoleDto;
+import com.vishal.electronicsstore.dto.UserDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.RefreshToken;
+import com.vishal.electronicsstore.entity.Role;
+import com.vishal.electronicsstore.entity.User;
+
+// The mappers replaced ModelMapper, so their output is checked against a default ModelMapper
+public class MapperEquivalenceTests {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final CategoryMapper categoryMapper = new CategoryMapper();
+    private final ProductMapper productMapper = new ProductMapper(categoryMapper);
+    private final UserMapper userMapper = new UserMapper();
+    private final CartMapper cartMapper = new CartMapper(userMapper);
+    private final OrderMapper orderMapper = new OrderMapper();
+    private final RefreshTokenMapper refreshTokenMapper = new RefreshTokenMapper();
+
+    private Category category() {
+        return Category.builder()
+                .categoryId("categoryId")
+                .title("Laptops")
+                .description("Portable computers")
+                .categoryImage("laptops.png")
+                .build();
+    }
+
+    private Product product(Category category) {
+        return Product.builder()
+                .productId("productId")
+                .title("Gaming Laptop")
+                .description("16 inch, 32 GB RAM")
+                .price(2000)
+                .discountedPrice(1800)
+                .quantity(7)
+                .addedDate(new Date(1700000000000L))
+                .live(true)
+                .stock(false)
+                .productImage("laptop.png")
+                .category(category)
+                .build();
+    }
+
+    private User user(List<Role> roles) {
+        return User.builder()
+                .userId("userId")
+                .fullName("Vedanti Gori")
+                .email("vedanti@gmail.com")
+                .password("encoded")
+                .gender("Female")
+                .about("About Vedanti")
+                .userImageName("vedanti.png")
+                .roles(roles)
+                .build();
+    }
+
+    private List<Role> roles() {
+        return List.of(Role.builder().roleId("r1").roleName("ROLE_USER").build(),
+                Role.builder().roleId("r2").roleName("ROLE_ADMIN").build());
+    }
+
+    private void assertSameOutput(Object expected, Object actual) {
+        Assertions.assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    public void productToDtoTest() {
+        Product product = product(category());
+        assertSameOutput(modelMapper.map(product, ProductDto.class), productMapper.toDto(product));
+
+        Product withoutCategory = product(null);
+        assertSameOutput(modelMapper.map(withoutCategory, ProductDto.class), productMapper.toDto(withoutCategory));
+
+        Product empty = new Product();
+        assertSameOutput(modelMapper.map(empty, ProductDto.class), productMapper.toDto(empty));
+    }
+
+    @Test
+    public void productToEntityTest() {
+        ProductDto productDto = modelMapper.map(product(category()), ProductDto.class);
+        assertSameOutput(modelMapper.map(productDto, Product.class), productMapper.toEntity(productDto));
+
+        ProductDto withoutCategory = modelMapper.map(product(null), ProductDto.class);
+        assertSameOutput(modelMapper.map(withoutCategory, Product.class), productMapper.toEntity(withoutCategory));
+    }
+
+    @Test
+    public void categoryMappingTest() {
+        Category category = category();
+        category.getProducts().add(product(category));
+        assertSameOutput(modelMapper.map(category, CategoryDto.class), categoryMapper.toDto(category));
+
+        CategoryDto categoryDto = modelMapper.map(category, CategoryDto.class);
+        assertSameOutput(modelMapper.map(categoryDto, Category.class), categoryMapper.toEntity(categoryDto));
+    }
+
+    @Test
+    public void userMappingTest() {
+        for (User user : List.of(user(roles()), user(new ArrayList<>()), user(null), new User())) {
+            assertSameOutput(modelMapper.map(user, UserDto.class), userMapper.toDto(user));
+        }
+
+        UserDto userDto = modelMapper.map(user(roles()), UserDto.class);
+        assertSameOutput(modelMapper.map(userDto, User.class), userMapper.toEntity(userDto));
+
+        RoleDto roleDto = new RoleDto();
+        roleDto.setRoleName("ROLE_USER");
+        UserDto signUp = UserDto.builder()
+                .fullName("Aditi Khanduja")
+                .email("aditi@gmail.com")
+                .password("aditi")
+                .roles(List.of(roleDto))
+                .build();
+        assertSameOutput(modelMapper.map(signUp, User.class), userMapper.toEntity(signUp));
+
+        UserDto withoutRoles = UserDto.builder().fullName("No Roles").build();
+        assertSameOutput(modelMapper.map(withoutRoles, User.class), userMapper.toEntity(withoutRoles));
+    }
+
+    @Test
+    public void cartToDtoTest() {
+        Cart cart = Cart.builder()
+                .cartId("cartId")
+                .createdAt(new Date(1700000000000L))
+                .user(user(roles()))
+                .build();
+        cart.getCartItems().add(CartItem.builder()
+                .cartItemId(1)
+                .product(product(category()))
+                .quantityOfCartItem(2)
+                .priceOfCartItem(3600)
+                .cart(cart)
+                .build());
+
+        CartDto expected = modelMapper.map(cart, CartDto.class);
+        CartDto actual = cartMapper.toDto(cart);
+        assertSameOutput(expected, actual);
+        Assertions.assertThat(actual.getCartItems()).containsExactlyElementsOf(expected.getCartItems());
+
+        Cart empty = new Cart();
+        assertSameOutput(modelMapper.map(empty, CartDto.class), cartMapper.toDto(empty));
+
+        Cart withoutItems = Cart.builder().cartId("cartId").cartItems(null).build();
+        assertSameOutput(modelMapper.map(withoutItems, CartDto.class), cartMapper.toDto(withoutItems));
+    }
+
+    @Test
+    public void orderToDtoTest() {
+        Order order = Order.builder()
+                .orderId("orderId")
+                .orderStatus("PENDING")
+                .paymentStatus("NOT_PAID")
+                .orderAmount(3600)
+                .billingAddress("Dehradun")
+                .billingPhone("9999999999")
+                .billingName("Vedanti")
+                .orderDate(new Date(1700000000000L))
+                .user(user(roles()))
+                .build();
+        order.getOrderItems().add(OrderItem.builder()
+                .orderItemId(1)
+                .product(product(category()))
+                .quantity(2)
+                .priceOfOrderItem(3600)
+                .order(order)
+                .build());
+
+        OrderDto expected = modelMapper.map(order, OrderDto.class);
+        OrderDto actual = orderMapper.toDto(order);
+        assertSameOutput(expected, actual);
+        Assertions.assertThat(actual.getUser()).isSameAs(expected.getUser());
+        Assertions.assertThat(actual.getOrderItems()).containsExactlyElementsOf(expected.getOrderItems());
+
+        Order empty = new Order();
+        assertSameOutput(modelMapper.map(empty, OrderDto.class), orderMapper.toDto(empty));
+
+        Order withoutItems = Order.builder().orderId("orderId").orderItems(null).build();
+        assertSameOutput(modelMapper.map(withoutItems, OrderDto.class), orderMapper.toDto(withoutItems));
+    }
+
+    @Test
+    public void refreshTokenMappingTest() {
+        RefreshToken refreshToken = RefreshToken.builder()
+                .id(1)
+                .token("token")
+                .expiryDate(Instant.ofEpochSecond(1700000000L))
+                .user(user(roles()))
+                .build();
+        assertSameOutput(modelMapper.map(refreshToken, RefreshTokenDto.class), refreshTokenMapper.toDto(refreshToken));
+
+        RefreshTokenDto refreshTokenDto = modelMapper.map(refreshToken, RefreshTokenDto.class);
+        assertSameOutput(modelMapper.map(refreshTokenDto, RefreshToken.class),
+                refreshTokenMapper.toEntity(refreshTokenDto));
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.vishal.electronicsstore.outbox;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.entity.OutboxEvent;
+import com.vishal.electronicsstore.repository.OutboxEventRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.service.ProductService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = { "outbox.sink=memory", "outbox.relay.enabled=false" })
+public class OutboxTests {
+
+    private final ProductService productService;
+    private final ProductRepository productRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final InMemoryOutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public OutboxTests(
+            ProductService productService,
+            ProductRepository productRepository,
+            OutboxEventRepository outboxEventRepository,
+            OutboxRelay outboxRelay,
+            InMemoryOutboxSink outboxSink,
+            PlatformTransactionManager transactionManager) {
+        this.productService = productService;
+        this.productRepository = productRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelay = outboxRelay;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        outboxEventRepository.deleteAllInBatch();
+        outboxSink.clear();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        outboxSink.getPublished().stream()
+                .filter(event -> event.getEventType() == OutboxEventType.PRODUCT_CREATED)
+                .forEach(event -> productRepository.deleteById(event.getAggregateId()));
+        outboxEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void changeIsRelayedToTheSinkTest() {
+        ProductDto created = productService.create(product("Outbox Laptop"));
+
+        Assertions.assertEquals(1, outboxRelay.relay());
+        List<OutboxEvent> published = outboxSink.getPublished();
+        Assertions.assertEquals(1, published.size());
+        Assertions.assertEquals(OutboxEventType.PRODUCT_CREATED, published.get(0).getEventType());
+        Assertions.assertEquals("Product", published.get(0).getAggregateType());
+        Assertions.assertEquals(created.getProductId(), published.get(0).getAggregateId());
+        Assertions.assertTrue(published.get(0).getPayload().contains("Outbox Laptop"));
+        Assertions.assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    public void rolledBackChangeLeavesNoEventTest() {
+        Assertions.assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            productService.create(product("Rolled back Laptop"));
+            throw new IllegalStateException("rollback");
+        }));
+
+        Assertions.assertEquals(0, outboxEventRepository.count());
+        Assertions.assertEquals(0, outboxRelay.relay());
+    }
+
+    @Test
+    public void failedBatchStaysInTheOutboxTest() throws Exception {
+        OutboxEventRepository repository = Mockito.mock(OutboxEventRepository.class);
+        OutboxSink failingSink = Mockito.mock(OutboxSink.class);
+        OutboxEvent event = OutboxEvent.builder().eventId(1L).createdAt(new Date()).build();
+        Mockito.when(repository.findDue(Mockito.any(Date.class), Mockito.any(Limit.class))).thenReturn(List.of(event));
+        Mockito.doThrow(new IllegalStateException("sink down")).when(failingSink).publish(Mockito.anyList());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        OutboxRelay relay = relay(repository, failingSink, meterRegistry);
+
+        Assertions.assertEquals(0, relay.relay());
+        Mockito.verify(repository, Mockito.never()).deleteAllByIdInBatch(Mockito.any());
+        Assertions.assertEquals(1, meterRegistry.get("outbox.relay.failures").counter().count());
+        Assertions.assertEquals(1, event.getAttempts());
+        Assertions.assertTrue(event.getNextAttemptAt().after(new Date()));
+    }
+
+    @Test
+    public void poisonEventDoesNotBlockTheOutboxTest() throws Exception {
+        OutboxSink pickySink = Mockito.mock(OutboxSink.class);
+        Mockito.doAnswer(invocation -> {
+            List<OutboxEvent> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(event -> "poison".equals(event.getAggregateId()))) {
+                throw new IllegalStateException("cannot serialize");
+            }
+            outboxSink.publish(events);
+            return null;
+        }).when(pickySink).publish(Mockito.anyList());
+        outboxEventRepository.saveAll(List.of(event("poison"), event("first"), event("second")));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutboxRelay relay = relay(outboxEventRepository, pickySink, meterRegistry);
+
+        // The poison event is charged first and the ones behind it go out on the next run
+        Assertions.assertEquals(0, relay.relay());
+        Assertions.assertEquals(2, relay.relay());
+        Assertions.assertEquals(List.of("first", "second"),
+                outboxSink.getPublished().stream().map(OutboxEvent::getAggregateId).toList());
+
+        OutboxEvent poison = outboxEventRepository.findAll().get(0);
+        Assertions.assertEquals(1, poison.getAttempts());
+        Assertions.assertFalse(poison.isDeadLettered());
+        Assertions.assertTrue(meterRegistry.get("outbox.relay.oldest.age").gauge().value() >= 0);
+
+        // Out of attempts, it is parked and no longer picked up
+        poison.setAttempts(2);
+        poison.setNextAttemptAt(null);
+        outboxEventRepository.save(poison);
+        Assertions.assertEquals(0, relay.relay());
+        Assertions.assertTrue(outboxEventRepository.findAll().get(0).isDeadLettered());
+        Assertions.assertEquals(1, meterRegistry.get("outbox.relay.dead-lettered").counter().count());
+        Assertions.assertTrue(outboxEventRepository.findDue(new Date(), Limit.of(10)).isEmpty());
+        Assertions.assertEquals(0, meterRegistry.get("outbox.relay.oldest.age").gauge().value());
+    }
+
+    private OutboxRelay relay(OutboxEventRepository repository, OutboxSink sink, SimpleMeterRegistry meterRegistry) {
+        return new OutboxRelay(repository, sink, true, 100, 3, Duration.ofMinutes(1), Duration.ofHours(1),
+                meterRegistry);
+    }
+
+    private OutboxEvent event(String aggregateId) {
+        return OutboxEvent.builder()
+                .eventType(OutboxEventType.PRODUCT_UPDATED)
+                .aggregateType("Product")
+                .aggregateId(aggregateId)
+                .payload("{}")
+                .createdAt(new Date())
+                .build();
+    }
+
+    private ProductDto product(String title) {
+        ProductDto productDto = new ProductDto();
+        productDto.setTitle(title);
+        productDto.setDescription("Outbox test product");
+        productDto.setPrice(100);
+        productDto.setDiscountedPrice(90);
+        productDto.setQuantity(5);
+        productDto.setLive(true);
+        productDto.setStock(true);
+        return productDto;
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.vishal.electronicsstore.reaper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.vishal.electronicsstore.cart.WriteBehindCartStore;
+import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.RefreshToken;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.CartItemRepository;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.RefreshTokenRepository;
+import com.vishal.electronicsstore.service.CartService;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Chunks of two, so every run spans several chunks
+@SpringBootTest(properties = { "reaper.enabled=false", "reaper.chunk-size=2", "reaper.chunk-pause=0ms" })
+public class StaleDataReaperTests {
+
+    private static final int USERS = 5;
+    private static final Date LONG_AGO = new Date(System.currentTimeMillis() - Duration.ofDays(60).toMillis());
+
+    private final StaleDataReaper staleDataReaper;
+    private final CartService cartService;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final TestFixture fixture;
+
+    private final List<User> users = new ArrayList<>();
+    private Product product;
+    private final List<Integer> cartItemIds = new ArrayList<>();
+
+    @Autowired
+    public StaleDataReaperTests(
+            StaleDataReaper staleDataReaper,
+            CartService cartService,
+            CartRepository cartRepository,
+            CartItemRepository cartItemRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            PlatformTransactionManager transactionManager,
+            TestFixture fixture) {
+        this.staleDataReaper = staleDataReaper;
+        this.cartService = cartService;
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionManager = transactionManager;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        product = fixture.product("product", 10);
+        for (int i = 0; i < USERS; i++) {
+            users.add(fixture.user("user-" + i));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        users.forEach(user -> refreshTokenRepository.findByUser(user).ifPresent(refreshTokenRepository::delete));
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void expiredRefreshTokensAreReapedTest() {
+        for (int i = 0; i < USERS; i++) {
+            // The last one is still valid
+            Instant expiryDate = i < USERS - 1 ? Instant.now().minusSeconds(60) : Instant.now().plusSeconds(3600);
+            refreshTokenRepository.save(RefreshToken.builder()
+                    .token(fixture.id("token-" + i))
+                    .expiryDate(expiryDate)
+                    .user(users.get(i))
+                    .build());
+        }
+
+        Assertions.assertTrue(staleDataReaper.reapRefreshTokens() >= USERS - 1);
+        for (int i = 0; i < USERS - 1; i++) {
+            Assertions.assertFalse(refreshTokenRepository.findByUser(users.get(i)).isPresent());
+        }
+        Assertions.assertTrue(refreshTokenRepository.findByUser(users.get(USERS - 1)).isPresent());
+    }
+
+    @Test
+    public void idleCartsAreReapedTest() {
+        // Never changed since it was created long ago, from before updatedAt was kept
+        oldCart(0, null);
+        // Last changed long ago
+        oldCart(1, LONG_AGO);
+        oldCart(2, LONG_AGO);
+        // Created long ago but changed just now
+        oldCart(3, LONG_AGO);
+        cartService.addCartItemToCart(users.get(3).getUserId(), new CartItemDto(product.getProductId(), 2));
+        // Created just now
+        cartService.addCartItemToCart(users.get(4).getUserId(), new CartItemDto(product.getProductId(), 1));
+
+        Assertions.assertTrue(staleDataReaper.reapCarts() >= 3);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertFalse(cartRepository.findByUser(users.get(i)).isPresent());
+            Assertions.assertFalse(cartItemRepository.existsById(cartItemIds.get(i)));
+        }
+        Assertions.assertEquals(2, cartRepository.findByUser(users.get(3)).get().getCartItems().get(0)
+                .getQuantityOfCartItem());
+        Assertions.assertTrue(cartRepository.findByUser(users.get(4)).isPresent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void cartsHeldInMemoryAreNotReapedTest() {
+        oldCart(0, LONG_AGO);
+        oldCart(1, LONG_AGO);
+        String heldCartId = fixture.id("cart-1");
+        WriteBehindCartStore cartStore = Mockito.mock(WriteBehindCartStore.class);
+        Mockito.when(cartStore.heldCartIds(Mockito.anyCollection())).thenAnswer(invocation -> invocation
+                .<Collection<String>>getArgument(0).stream()
+                .filter(heldCartId::equals)
+                .collect(Collectors.toSet()));
+        ObjectProvider<WriteBehindCartStore> cartStoreProvider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(cartStoreProvider.getIfAvailable()).thenReturn(cartStore);
+        StaleDataReaper reaper = new StaleDataReaper(refreshTokenRepository, cartRepository, cartStoreProvider,
+                transactionManager, false, Duration.ofDays(30), 2, Duration.ZERO, new SimpleMeterRegistry());
+
+        Assertions.assertTrue(reaper.reapCarts() >= 1);
+        Assertions.assertFalse(cartRepository.findByUser(users.get(0)).isPresent());
+        // Touched, so the next run does not find it either
+        Cart held = cartRepository.findByUser(users.get(1)).get();
+        Assertions.assertTrue(held.getUpdatedAt().after(LONG_AGO));
+    }
+
+    private void oldCart(int user, Date updatedAt) {
+        Cart cart = Cart.builder()
+                .cartId(fixture.id("cart-" + user))
+                .createdAt(LONG_AGO)
+                .updatedAt(updatedAt)
+                .user(users.get(user))
+                .build();
+        cart.getCartItems().add(CartItem.builder()
+                .product(product)
+                .quantityOfCartItem(1)
+                .priceOfCartItem(90)
+                .cart(cart)
+                .build());
+        cartItemIds.add(cartRepository.save(cart).getCartItems().get(0).getCartItemId());
+    }
+
+}
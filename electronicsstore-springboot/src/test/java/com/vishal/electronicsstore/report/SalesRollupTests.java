@@ -0,0 +1,247 @@
+package com.vishal.electronicsstore.report;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.CreateOrderRequest;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.dto.SalesRollupDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.repository.SalesRollupRepository;
+import com.vishal.electronicsstore.service.OrderService;
+import com.vishal.electronicsstore.service.ReportService;
+import com.vishal.electronicsstore.support.TestFixture;
+import com.vishal.electronicsstore.util.DateRangeUtil;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest
+public class SalesRollupTests {
+
+    private final OrderService orderService;
+    private final ReportService reportService;
+    private final OrderRepository orderRepository;
+    private final CartRepository cartRepository;
+    private final SalesRollupRepository salesRollupRepository;
+    private final SalesRollupUpdater salesRollupUpdater;
+    private final TestFixture fixture;
+
+    private User user;
+    private Category category;
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public SalesRollupTests(
+            OrderService orderService,
+            ReportService reportService,
+            OrderRepository orderRepository,
+            CartRepository cartRepository,
+            SalesRollupRepository salesRollupRepository,
+            SalesRollupUpdater salesRollupUpdater,
+            TestFixture fixture) {
+        this.orderService = orderService;
+        this.reportService = reportService;
+        this.orderRepository = orderRepository;
+        this.cartRepository = cartRepository;
+        this.salesRollupRepository = salesRollupRepository;
+        this.salesRollupUpdater = salesRollupUpdater;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+        category = fixture.category("category");
+        for (int i = 0; i < 2; i++) {
+            products.add(fixture.product(fixture.productBuilder("product-" + i, 100).category(category)));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        // Removed through the service so the rollups of the shared products are taken back as well
+        orderRepository.findByUser(user).forEach(order -> orderService.removeOrder(order.getOrderId()));
+        salesRollupUpdater.flush();
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void ordersAreRolledUpIncrementallyTest() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        SalesRollupDto totalBefore = total(today);
+
+        placeOrder(2, 1);
+        OrderSummaryDto removed = placeOrder(1, 0);
+
+        Map<String, SalesRollupDto> byProduct = byDimension(SalesRollupDimension.PRODUCT, today);
+        Assertions.assertEquals(2, byProduct.get(fixture.id("product-0")).getOrderCount());
+        Assertions.assertEquals(3, byProduct.get(fixture.id("product-0")).getUnits());
+        Assertions.assertEquals(1, byProduct.get(fixture.id("product-1")).getOrderCount());
+        Assertions.assertEquals(90, byProduct.get(fixture.id("product-1")).getRevenue());
+
+        // Both products share the category, each order still counts once for it
+        SalesRollupDto byCategory = byDimension(SalesRollupDimension.CATEGORY, today).get(category.getCategoryId());
+        Assertions.assertEquals(2, byCategory.getOrderCount());
+        Assertions.assertEquals(4, byCategory.getUnits());
+
+        SalesRollupDto totalAfter = total(today);
+        Assertions.assertEquals(2, totalAfter.getOrderCount() - totalBefore.getOrderCount());
+        Assertions.assertEquals(360, totalAfter.getRevenue() - totalBefore.getRevenue());
+
+        orderService.removeOrder(removed.getOrderId());
+        salesRollupUpdater.flush();
+
+        byProduct = byDimension(SalesRollupDimension.PRODUCT, today);
+        Assertions.assertEquals(1, byProduct.get(fixture.id("product-0")).getOrderCount());
+        Assertions.assertEquals(2, byProduct.get(fixture.id("product-0")).getUnits());
+        Assertions.assertEquals(1, total(today).getOrderCount() - totalBefore.getOrderCount());
+    }
+
+    @Test
+    public void rebuildMatchesIncrementalRollupsTest() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        placeOrder(2, 1);
+        placeOrder(1, 3);
+        Map<String, SalesRollupDto> incremental = byDimension(SalesRollupDimension.PRODUCT, today);
+
+        salesRollupRepository.deleteAll();
+        Assertions.assertTrue(byDimension(SalesRollupDimension.PRODUCT, today).isEmpty());
+
+        Assertions.assertTrue(reportService.rebuildSales(today, today) >= 2);
+        Map<String, SalesRollupDto> rebuilt = byDimension(SalesRollupDimension.PRODUCT, today);
+        incremental.forEach((productId, rollup) -> {
+            Assertions.assertEquals(rollup.getOrderCount(), rebuilt.get(productId).getOrderCount());
+            Assertions.assertEquals(rollup.getRevenue(), rebuilt.get(productId).getRevenue());
+            Assertions.assertEquals(rollup.getUnits(), rebuilt.get(productId).getUnits());
+        });
+
+        List<SalesRollupDto> hourly = reportService.getSales(SalesRollupGranularity.HOUR,
+                SalesRollupDimension.PRODUCT, today, today).stream()
+                .filter(rollup -> rollup.getDimensionId().startsWith(fixture.id("")))
+                .toList();
+        Assertions.assertEquals(4, hourly.stream().mapToLong(SalesRollupDto::getOrderCount).sum());
+    }
+
+    @Test
+    public void rebuildReconcilesBufferedChangesTest() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Map<String, SalesRollupDto> before = byDimension(SalesRollupDimension.PRODUCT, today);
+
+        // Still buffered when the replay reads the day, which counts it
+        OrderSummaryDto replayed = createOrder(2, 1);
+        List<OrderSummaryDto> committedLater = new ArrayList<>();
+        long orders = salesRollupUpdater.rebuild(today, today, day -> {
+            committedLater.add(createOrder(1, 0));
+            return List.of(replayed.getOrderId());
+        });
+        salesRollupUpdater.flush();
+
+        // Only the order the replay did not see reached the rollups here
+        Assertions.assertEquals(1, orders);
+        Map<String, SalesRollupDto> after = byDimension(SalesRollupDimension.PRODUCT, today);
+        Assertions.assertEquals(1, orderCount(after, 0) - orderCount(before, 0));
+        Assertions.assertEquals(0, orderCount(after, 1) - orderCount(before, 1));
+
+        // A real rebuild counts both, so the cleanup takes them back to zero
+        Assertions.assertTrue(reportService.rebuildSales(today, today) >= 2);
+        Assertions.assertEquals(2, byDimension(SalesRollupDimension.PRODUCT, today)
+                .get(fixture.id("product-0")).getOrderCount());
+    }
+
+    @Test
+    public void failedFlushDaysCanBeRebuiltTest() {
+        LocalDate day = LocalDate.of(2020, 1, 15);
+        // A line without a product cannot be rolled up, so the whole flush fails
+        salesRollupUpdater.onOrderSales(new OrderSalesEvent(fixture.id("broken"), 1, DateRangeUtil.startOf(day), 90,
+                List.of(new OrderSalesLine(fixture.id("broken"), null, null, 1, 90))));
+        salesRollupUpdater.flush();
+        Assertions.assertEquals(Set.of(day), salesRollupUpdater.getFailedDays());
+
+        reportService.rebuildFailedSales();
+        Assertions.assertTrue(salesRollupUpdater.getFailedDays().isEmpty());
+    }
+
+    @Test
+    public void invertedRangeIsRejectedTest() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Assertions.assertThrows(BadAPIRequestException.class, () -> reportService.getSales(
+                SalesRollupGranularity.DAY, SalesRollupDimension.TOTAL, today, today.minusDays(1)));
+    }
+
+    private OrderSummaryDto placeOrder(int firstQuantity, int secondQuantity) {
+        OrderSummaryDto order = createOrder(firstQuantity, secondQuantity);
+        salesRollupUpdater.flush();
+        return order;
+    }
+
+    // Leaves the order's rollup change buffered
+    private OrderSummaryDto createOrder(int firstQuantity, int secondQuantity) {
+        Cart cart = cartRepository.findByUser(user).orElseGet(() -> Cart.builder()
+                .cartId(fixture.id("cart"))
+                .createdAt(new Date())
+                .user(user)
+                .build());
+        int[] quantities = { firstQuantity, secondQuantity };
+        for (int i = 0; i < quantities.length; i++) {
+            if (quantities[i] > 0) {
+                cart.getCartItems().add(CartItem.builder()
+                        .product(products.get(i))
+                        .quantityOfCartItem(quantities[i])
+                        .priceOfCartItem(quantities[i] * 90)
+                        .cart(cart)
+                        .build());
+            }
+        }
+        cartRepository.save(cart);
+        return orderService.createOrder(new CreateOrderRequest(user.getUserId(), "PENDING",
+                "NOT_PAID", "Dehradun, Uttarakhand", "9999999999", user.getFullName()));
+    }
+
+    private long orderCount(Map<String, SalesRollupDto> byProduct, int product) {
+        SalesRollupDto rollup = byProduct.get(fixture.id("product-" + product));
+        return rollup == null ? 0 : rollup.getOrderCount();
+    }
+
+    private SalesRollupDto total(LocalDate day) {
+        List<SalesRollupDto> rollups = reportService.getSales(SalesRollupGranularity.DAY,
+                SalesRollupDimension.TOTAL, day, day);
+        return rollups.isEmpty() ? new SalesRollupDto() : rollups.get(0);
+    }
+
+    private Map<String, SalesRollupDto> byDimension(SalesRollupDimension dimension, LocalDate day) {
+        return reportService.getSales(SalesRollupGranularity.DAY, dimension, day, day).stream()
+                .filter(rollup -> rollup.getDimensionId().startsWith(fixture.id("")))
+                .collect(Collectors.toMap(SalesRollupDto::getDimensionId, rollup -> rollup));
+    }
+
+}
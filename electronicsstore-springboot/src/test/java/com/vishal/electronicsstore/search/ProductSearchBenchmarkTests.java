@@ -0,0 +1,132 @@
+package com.vishal.electronicsstore.search;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.vishal.electronicsstore.repository.ProductRepository;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import lombok.extern.slf4j.Slf4j;
+
+// Run against the MySQL database of the .env file with:
+// mvn test -Dtest=ProductSearchBenchmarkTests -Dbenchmark=true [-Dbenchmark.catalogSize=1000000]
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+public class ProductSearchBenchmarkTests {
+
+    private static final String ID_PREFIX = "bench-";
+    private static final int INSERT_BATCH_SIZE = 5000;
+    private static final int ITERATIONS = 100;
+
+    private static final String[] BRANDS = { "Samsung", "Sony", "Apple", "Lenovo", "Dell", "Asus", "Philips",
+            "Bose", "Canon", "Nikon", "Xiaomi", "OnePlus", "Acer", "Logitech", "Corsair", "Garmin" };
+    private static final String[] NOUNS = { "Phone", "Laptop", "Headphones", "Camera", "Monitor", "Keyboard",
+            "Mouse", "Speaker", "Tablet", "Watch", "Charger", "Router", "Television", "Earbuds", "Drone" };
+    private static final String[] ADJECTIVES = { "Wireless", "Portable", "Gaming", "Ultra", "Pro", "Mini",
+            "Smart", "Compact", "Curved", "Noise-cancelling", "Waterproof", "Rugged" };
+    private static final String[] QUERIES = { "phone", "wireless headphones", "gaming laptop", "sony", "cam",
+            "waterproof smart watch" };
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndexer productSearchIndexer;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductSearchBenchmarkTests(
+            ProductRepository productRepository,
+            ProductSearchIndexer productSearchIndexer,
+            JdbcTemplate jdbcTemplate) {
+        this.productRepository = productRepository;
+        this.productSearchIndexer = productSearchIndexer;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM product WHERE product_id LIKE ?", ID_PREFIX + "%");
+    }
+
+    @Test
+    public void indexVersusLikeQueryTest() {
+        int catalogSize = Integer.getInteger("benchmark.catalogSize", 1_000_000);
+        insertSyntheticCatalog(catalogSize);
+
+        long buildStart = System.currentTimeMillis();
+        productSearchIndexer.rebuild();
+        log.info("Index build over {} products: {} ms", catalogSize, System.currentTimeMillis() - buildStart);
+
+        for (String query : QUERIES) {
+            double[] likeMillis = time(() -> productRepository.findByTitleContaining(
+                    query, PageRequest.of(0, 10, Sort.by("title"))));
+            double[] indexMillis = time(() -> productRepository.findAllById(productSearchIndexer
+                    .search(query, ProductSearchIndex.SORT_BY_RELEVANCE, true, 0, 10).getProductIds()));
+            log.info("query='{}' LIKE: p50 {} ms, p99 {} ms, index: p50 {} ms, p99 {} ms", query,
+                    String.format("%.2f", likeMillis[ITERATIONS / 2]),
+                    String.format("%.2f", likeMillis[ITERATIONS * 99 / 100]),
+                    String.format("%.3f", indexMillis[ITERATIONS / 2]),
+                    String.format("%.3f", indexMillis[ITERATIONS * 99 / 100]));
+        }
+    }
+
+    // Sorted milliseconds per run
+    private double[] time(Runnable query) {
+        query.run();
+        double[] millis = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private void insertSyntheticCatalog(int catalogSize) {
+        Random random = new Random(42);
+        Timestamp addedDate = new Timestamp(System.currentTimeMillis());
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (int i = 0; i < catalogSize; i++) {
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String title = brand + " " + adjective + " " + noun + " " + (100 + random.nextInt(900));
+            String description = adjective + " " + noun.toLowerCase() + " by " + brand + " with "
+                    + ADJECTIVES[random.nextInt(ADJECTIVES.length)].toLowerCase() + " design";
+            int price = 10 + random.nextInt(2000);
+
+            batch.add(new Object[] { String.format("%s%08d", ID_PREFIX, i), title, description, price, price,
+                    random.nextInt(100), addedDate, true, true });
+            if (batch.size() == INSERT_BATCH_SIZE || i == catalogSize - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO product (product_id, title, description, price, "
+                        + "discounted_price, quantity, added_date, live, stock) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.vishal.electronicsstore.search;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    public void init() {
+        index = new ProductSearchIndex();
+        index.upsert(document("p1", "Samsung Galaxy Phone", "Android smartphone with AMOLED display", 900));
+        index.upsert(document("p2", "Phone Case", "Silicone case for Samsung phones", 20));
+        index.upsert(document("p3", "Sony Headphones", "Noise cancelling wireless headphones", 300));
+        index.upsert(document("p4", "Laptop Stand", "Aluminium stand, works with any laptop", 45));
+    }
+
+    private ProductSearchDocument document(String productId, String title, String description, int price) {
+        return new ProductSearchDocument(productId, title, description, price, price, 10, new Date(), true);
+    }
+
+    @Test
+    public void allTermsMustMatchTest() {
+        ProductSearchPage page = index.search("samsung phone", ProductSearchIndex.SORT_BY_RELEVANCE, false, 0, 10);
+
+        Assertions.assertEquals(2, page.getTotalHits());
+        Assertions.assertTrue(page.getProductIds().containsAll(List.of("p1", "p2")));
+    }
+
+    @Test
+    public void titleMatchesRankFirstTest() {
+        ProductSearchPage page = index.search("samsung", ProductSearchIndex.SORT_BY_RELEVANCE, true, 0, 10);
+
+        Assertions.assertEquals(List.of("p1", "p2"), page.getProductIds(),
+                "Title match should outrank description match");
+    }
+
+    @Test
+    public void prefixMatchingTest() {
+        ProductSearchPage page = index.search("head", ProductSearchIndex.SORT_BY_RELEVANCE, true, 0, 10);
+
+        Assertions.assertEquals(List.of("p3"), page.getProductIds());
+    }
+
+    @Test
+    public void sortAndPaginationTest() {
+        ProductSearchPage firstPage = index.search("phone", "price", true, 0, 1);
+        ProductSearchPage secondPage = index.search("phone", "price", true, 1, 1);
+
+        Assertions.assertEquals(2, firstPage.getTotalHits());
+        Assertions.assertEquals(List.of("p2"), firstPage.getProductIds());
+        Assertions.assertEquals(List.of("p1"), secondPage.getProductIds());
+    }
+
+    @Test
+    public void upsertAndRemoveTest() {
+        index.upsert(document("p4", "Laptop Phone Stand", "Adjustable stand", 45));
+        Assertions.assertEquals(3, index.search("phone", "title", true, 0, 10).getTotalHits());
+
+        index.remove("p1");
+        ProductSearchPage page = index.search("phone", "title", true, 0, 10);
+
+        Assertions.assertEquals(List.of("p4", "p2"), page.getProductIds());
+        Assertions.assertEquals(0, index.search("galaxy", "title", true, 0, 10).getTotalHits());
+    }
+
+    @Test
+    public void truncatedPrefixKeepsFrequentExpansionsTest() {
+        Assertions.assertFalse(index.search("head", ProductSearchIndex.SORT_BY_RELEVANCE, true, 0, 10).isTruncated());
+
+        // 100 rare expansions of "cable", and one found in three products
+        for (int i = 0; i < 100; i++) {
+            index.upsert(document("rare-" + i, "Cable" + String.format("%03d", i), "", 10));
+        }
+        for (int i = 0; i < 3; i++) {
+            index.upsert(document("usb-" + i, "Cableusb", "", 10));
+        }
+        ProductSearchPage page = index.search("cable", ProductSearchIndex.SORT_BY_RELEVANCE, true, 0, 200);
+
+        Assertions.assertTrue(page.isTruncated());
+        Assertions.assertTrue(page.getProductIds().containsAll(List.of("usb-0", "usb-1", "usb-2")));
+    }
+
+    @Test
+    public void compactionDropsRemovedDocsTest() {
+        for (int i = 0; i < 20_000; i++) {
+            index.upsert(document("p1", "Samsung Galaxy Phone " + i, "Android smartphone", 900));
+        }
+
+        Assertions.assertTrue(index.docSlots() < 15_000);
+        Assertions.assertEquals(4, index.size());
+        Assertions.assertEquals(List.of("p1", "p2"),
+                index.search("phone", "title", true, 0, 10).getProductIds().stream().sorted().toList());
+        Assertions.assertEquals(List.of("p1"), index.search("19999", "title", true, 0, 10).getProductIds());
+    }
+
+    @Test
+    public void unsupportedSortFieldTest() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> index.search("phone", "category", true, 0, 10));
+    }
+
+}
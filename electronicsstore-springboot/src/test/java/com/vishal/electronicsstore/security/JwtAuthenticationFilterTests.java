@@ -0,0 +1,93 @@
+package com.vishal.electronicsstore.security;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class JwtAuthenticationFilterTests {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private final JwtHelper jwtHelper = Mockito.mock(JwtHelper.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtAuthenticationFilter filter(boolean tokenCacheEnabled) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return new JwtAuthenticationFilter(true, tokenCacheEnabled, 100, jwtHelper,
+                beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.setServletPath("/products");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Test
+    public void verifiedTokenIsServedFromCacheTest() throws Exception {
+        Mockito.when(jwtHelper.verifyToken(TOKEN)).thenReturn(new VerifiedToken("vedanti@gmail.com",
+                new Date(System.currentTimeMillis() + 60_000), List.of("ROLE_ADMIN")));
+        JwtAuthenticationFilter filter = filter(true);
+
+        authenticate(filter);
+        Authentication authentication = authenticate(filter);
+
+        Assertions.assertEquals("vedanti@gmail.com", authentication.getName());
+        Assertions.assertEquals(List.of("ROLE_ADMIN"), authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).toList());
+        Mockito.verify(jwtHelper, Mockito.times(1)).verifyToken(TOKEN);
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "jwtTokens").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    public void cachedTokenNeverOutlivesItsExpiryTest() throws Exception {
+        Mockito.when(jwtHelper.verifyToken(TOKEN)).thenReturn(new VerifiedToken("vedanti@gmail.com",
+                new Date(System.currentTimeMillis() - 1), List.of("ROLE_NORMAL")));
+        JwtAuthenticationFilter filter = filter(true);
+
+        authenticate(filter);
+        authenticate(filter);
+
+        Mockito.verify(jwtHelper, Mockito.times(2)).verifyToken(TOKEN);
+    }
+
+    @Test
+    public void disabledCacheVerifiesEveryRequestTest() throws Exception {
+        Mockito.when(jwtHelper.verifyToken(TOKEN)).thenReturn(new VerifiedToken("vedanti@gmail.com",
+                new Date(System.currentTimeMillis() + 60_000), List.of("ROLE_NORMAL")));
+        JwtAuthenticationFilter filter = filter(false);
+
+        authenticate(filter);
+        authenticate(filter);
+
+        Mockito.verify(jwtHelper, Mockito.times(2)).verifyToken(TOKEN);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.vishal.electronicsstore.security;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+public class JwtHelperTests {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final JwtHelper jwtHelper = new JwtHelper(SECRET);
+
+    @Test
+    public void verifyTokenReturnsClaimsTest() {
+        UserDetails userDetails = new User("vedanti@gmail.com", "", List.of(
+                new SimpleGrantedAuthority("ROLE_NORMAL"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        VerifiedToken verifiedToken = jwtHelper.verifyToken(jwtHelper.generateToken(userDetails));
+
+        Assertions.assertEquals("vedanti@gmail.com", verifiedToken.getSubject());
+        Assertions.assertEquals(2, verifiedToken.getRoles().size());
+        Assertions.assertTrue(verifiedToken.getRoles().containsAll(List.of("ROLE_NORMAL", "ROLE_ADMIN")));
+        Assertions.assertTrue(verifiedToken.getExpiration().after(new Date()));
+    }
+
+    @Test
+    public void usernameAndExpiryComeFromTheVerifiedTokenTest() {
+        String token = jwtHelper.generateToken(new User("vedanti@gmail.com", "", List.of()));
+
+        Assertions.assertEquals("vedanti@gmail.com", jwtHelper.getUsernameFromToken(token));
+        Assertions.assertFalse(jwtHelper.isTokenExpired(token));
+    }
+
+    @Test
+    public void expiredTokenIsReportedExpiredTest() {
+        String token = Jwts.builder()
+                .subject("vedanti@gmail.com")
+                .issuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+
+        Assertions.assertTrue(jwtHelper.isTokenExpired(token));
+        Assertions.assertThrows(ExpiredJwtException.class, () -> jwtHelper.getUsernameFromToken(token));
+    }
+
+    @Test
+    public void tokenSignedWithAnotherKeyIsRejectedTest() {
+        JwtHelper otherHelper = new JwtHelper(new StringBuilder(SECRET).reverse().toString());
+        String token = otherHelper.generateToken(new User("vedanti@gmail.com", "", List.of()));
+
+        Assertions.assertThrows(JwtException.class, () -> jwtHelper.verifyToken(token));
+        Assertions.assertThrows(JwtException.class, () -> jwtHelper.getUsernameFromToken(token));
+        Assertions.assertThrows(JwtException.class, () -> jwtHelper.isTokenExpired(token));
+    }
+
+}
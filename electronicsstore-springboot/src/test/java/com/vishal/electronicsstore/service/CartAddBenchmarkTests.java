@@ -0,0 +1,92 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import lombok.extern.slf4j.Slf4j;
+
+// Run with: mvn test -Dtest=CartAddBenchmarkTests -Dbenchmark=true [-Dbenchmark.cartSize=50]
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+public class CartAddBenchmarkTests {
+
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 200;
+
+    private final CartService cartService;
+    private final TestFixture fixture;
+
+    private User user;
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public CartAddBenchmarkTests(
+            CartService cartService,
+            TestFixture fixture) {
+        this.cartService = cartService;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void updateExistingItemTest() {
+        int cartSize = Integer.getInteger("benchmark.cartSize", 50);
+        user = fixture.user("user");
+        for (int i = 0; i < cartSize; i++) {
+            products.add(fixture.product(String.format("%05d", i), 1_000_000));
+        }
+        products.forEach(product -> cartService.addCartItemToCart(user.getUserId(),
+                new CartItemDto(product.getProductId(), 1)));
+
+        // Updating an item already in the cart, half way down the list
+        String productId = products.get(cartSize / 2).getProductId();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            addItem(productId, i);
+        }
+        double[] millis = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            millis[i] = addItem(productId, i);
+        }
+
+        Arrays.sort(millis);
+        log.info("Cart item update in a {}-line cart: mean {} ms, p50 {} ms, p90 {} ms", cartSize,
+                String.format("%.2f", Arrays.stream(millis).average().getAsDouble()),
+                String.format("%.2f", millis[ITERATIONS / 2]),
+                String.format("%.2f", millis[ITERATIONS * 9 / 10]));
+    }
+
+    private double addItem(String productId, int iteration) {
+        long start = System.nanoTime();
+        cartService.addCartItemToCart(user.getUserId(), new CartItemDto(productId, iteration % 5 + 1));
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+}
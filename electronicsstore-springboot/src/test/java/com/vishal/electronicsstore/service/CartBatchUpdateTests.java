@@ -0,0 +1,118 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.dto.CartLineDto;
+import com.vishal.electronicsstore.dto.CartLineOperation;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest
+public class CartBatchUpdateTests {
+
+    private static final int PRODUCTS = 4;
+
+    private final CartService cartService;
+    private final CartRepository cartRepository;
+    private final TestFixture fixture;
+
+    private User user;
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public CartBatchUpdateTests(
+            CartService cartService,
+            CartRepository cartRepository,
+            TestFixture fixture) {
+        this.cartService = cartService;
+        this.cartRepository = cartRepository;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(fixture.product("product-" + i, 10));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void operationsAreAppliedInOrderTest() {
+        cartService.addCartItemToCart(user.getUserId(), new CartItemDto(productId(0), 1));
+        cartService.addCartItemToCart(user.getUserId(), new CartItemDto(productId(1), 1));
+
+        CartSummaryDto cart = cartService.updateCart(user.getUserId(), List.of(
+                operation(0, 2, CartLineOperation.Op.ADD),
+                operation(1, 0, CartLineOperation.Op.REMOVE),
+                operation(2, 3, CartLineOperation.Op.SET),
+                operation(3, 1, CartLineOperation.Op.ADD),
+                operation(3, 0, CartLineOperation.Op.REMOVE),
+                operation(2, 1, CartLineOperation.Op.ADD)));
+
+        List<CartLineDto> lines = cart.getCartItems();
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertEquals(productId(0), lines.get(0).getProductId());
+        Assertions.assertEquals(3, lines.get(0).getQuantityOfCartItem());
+        Assertions.assertEquals(270, lines.get(0).getPriceOfCartItem());
+        Assertions.assertEquals(productId(2), lines.get(1).getProductId());
+        Assertions.assertEquals(4, lines.get(1).getQuantityOfCartItem());
+        // One version bump for the whole batch
+        Assertions.assertEquals(2, cartRepository.findByUser(user).get().getVersion());
+    }
+
+    @Test
+    public void invalidBatchChangesNothingTest() {
+        cartService.updateCart(user.getUserId(), List.of(operation(0, 1, CartLineOperation.Op.SET)));
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> cartService.updateCart(user.getUserId(),
+                List.of(operation(1, 1, CartLineOperation.Op.SET),
+                        new CartLineOperation(fixture.id("missing"), 1, CartLineOperation.Op.SET))));
+        Assertions.assertThrows(BadAPIRequestException.class, () -> cartService.updateCart(user.getUserId(),
+                List.of(operation(1, 1, CartLineOperation.Op.SET), operation(0, 0, CartLineOperation.Op.ADD))));
+
+        List<CartLineDto> lines = cartService.getCartByUserId(user.getUserId()).getCartItems();
+        Assertions.assertEquals(1, lines.size());
+        Assertions.assertEquals(productId(0), lines.get(0).getProductId());
+    }
+
+    private String productId(int product) {
+        return products.get(product).getProductId();
+    }
+
+    private CartLineOperation operation(int product, int quantity, CartLineOperation.Op op) {
+        return new CartLineOperation(productId(product), quantity, op);
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.dto.CartLineDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import lombok.extern.slf4j.Slf4j;
+
+// Enough attempts that no change runs out of retries, so every add must end up in the cart
+@SpringBootTest(properties = "cart.retry.max-attempts=100")
+@Slf4j
+public class CartConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final int PRODUCTS = 40;
+    private static final int LARGE_CART_LINES = 150;
+    private static final int TIMED_ADDS = 50;
+
+    private final CartService cartService;
+    private final CartRepository cartRepository;
+    private final TestFixture fixture;
+
+    private User user;
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public CartConcurrencyTests(
+            CartService cartService,
+            CartRepository cartRepository,
+            TestFixture fixture) {
+        this.cartService = cartService;
+        this.cartRepository = cartRepository;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void concurrentAddsAreNotLostTest() throws Exception {
+        createProducts(PRODUCTS);
+
+        // The cart does not exist yet, so the first adds also race to create it
+        runConcurrently(products.stream().<Callable<Void>>map(product -> () -> {
+            cartService.addCartItemToCart(user.getUserId(), new CartItemDto(product.getProductId(), 2));
+            return null;
+        }).toList());
+
+        Cart cart = cartRepository.findByUser(user).get();
+        Assertions.assertEquals(PRODUCTS, cart.getCartItems().size());
+        // Every add but the one that created the cart moved the version on
+        Assertions.assertEquals(PRODUCTS - 1, cart.getVersion());
+        cart.getCartItems().forEach(item -> Assertions.assertEquals(2, item.getQuantityOfCartItem()));
+    }
+
+    @Test
+    public void concurrentUpdatesOfOneLineKeepOneLineTest() throws Exception {
+        createProducts(1);
+        String productId = products.get(0).getProductId();
+
+        List<Callable<Void>> adds = new ArrayList<>();
+        for (int i = 1; i <= THREADS * 2; i++) {
+            int quantity = i;
+            adds.add(() -> {
+                cartService.addCartItemToCart(user.getUserId(), new CartItemDto(productId, quantity));
+                return null;
+            });
+        }
+        runConcurrently(adds);
+
+        Cart cart = cartRepository.findByUser(user).get();
+        Assertions.assertEquals(1, cart.getCartItems().size());
+        Assertions.assertEquals(THREADS * 2 - 1, cart.getVersion());
+        int quantity = cart.getCartItems().get(0).getQuantityOfCartItem();
+        Assertions.assertEquals(quantity * products.get(0).getDiscountedPrice(),
+                cart.getCartItems().get(0).getPriceOfCartItem());
+    }
+
+    @Test
+    public void largeCartAddLatencyTest() {
+        createProducts(LARGE_CART_LINES + TIMED_ADDS / 2);
+        for (int i = 0; i < LARGE_CART_LINES; i++) {
+            cartService.addCartItemToCart(user.getUserId(), new CartItemDto(products.get(i).getProductId(), 1));
+        }
+
+        // Half of the timed adds change a line already in the cart, the other half add a new line
+        double[] millis = new double[TIMED_ADDS];
+        for (int i = 0; i < TIMED_ADDS; i++) {
+            Product product = products.get(i % 2 == 0 ? i : LARGE_CART_LINES + i / 2);
+            long start = System.nanoTime();
+            cartService.addCartItemToCart(user.getUserId(), new CartItemDto(product.getProductId(), 3));
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+
+        Arrays.sort(millis);
+        log.info("Add to a {}-line cart: mean {} ms, p50 {} ms, p90 {} ms", LARGE_CART_LINES,
+                String.format("%.1f", Arrays.stream(millis).average().getAsDouble()),
+                String.format("%.1f", millis[TIMED_ADDS / 2]),
+                String.format("%.1f", millis[TIMED_ADDS * 9 / 10]));
+
+        List<CartLineDto> lines = cartService.getCartByUserId(user.getUserId()).getCartItems();
+        Assertions.assertEquals(LARGE_CART_LINES + TIMED_ADDS / 2, lines.size());
+        Assertions.assertEquals(3, lines.get(0).getQuantityOfCartItem());
+    }
+
+    private void createProducts(int count) {
+        for (int i = 0; i < count; i++) {
+            products.add(fixture.product(String.format("%05d", i), 100));
+        }
+    }
+
+    private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.vishal.electronicsstore.cart.CartRepricer;
+import com.vishal.electronicsstore.cart.ProductPriceChangedEvent;
+import com.vishal.electronicsstore.cart.WriteBehindCartStore;
+import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.dto.CartLineDto;
+import com.vishal.electronicsstore.dto.CreateOrderRequest;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.CartItemRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Reprices only when the tests ask for it, in chunks small enough that one product spans several
+@SpringBootTest(properties = { "cart.reprice.interval=PT1H", "cart.reprice.chunk-size=2" })
+public class CartRepricingTests {
+
+    private static final int USERS = 5;
+
+    private final CartService cartService;
+    private final OrderService orderService;
+    private final ProductService productService;
+    private final CartRepricer cartRepricer;
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final ObjectProvider<WriteBehindCartStore> cartStore;
+    private final PlatformTransactionManager transactionManager;
+    private final TestFixture fixture;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public CartRepricingTests(
+            CartService cartService,
+            OrderService orderService,
+            ProductService productService,
+            CartRepricer cartRepricer,
+            CartItemRepository cartItemRepository,
+            ProductRepository productRepository,
+            ObjectProvider<WriteBehindCartStore> cartStore,
+            PlatformTransactionManager transactionManager,
+            TestFixture fixture) {
+        this.cartService = cartService;
+        this.orderService = orderService;
+        this.productService = productService;
+        this.cartRepricer = cartRepricer;
+        this.cartItemRepository = cartItemRepository;
+        this.productRepository = productRepository;
+        this.cartStore = cartStore;
+        this.transactionManager = transactionManager;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        for (int i = 0; i < 2; i++) {
+            products.add(fixture.product("product-" + i, 10));
+        }
+        for (int i = 0; i < USERS; i++) {
+            User user = fixture.user("user-" + i);
+            users.add(user);
+            cartService.addCartItemToCart(user.getUserId(), new CartItemDto(products.get(0).getProductId(), i + 1));
+            cartService.addCartItemToCart(user.getUserId(), new CartItemDto(products.get(1).getProductId(), 1));
+        }
+        cartRepricer.reprice();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void priceChangeRepricesCartLinesTest() {
+        changeDiscountedPrice(products.get(0), 80);
+
+        Assertions.assertEquals(USERS, cartRepricer.reprice());
+        for (int i = 0; i < USERS; i++) {
+            List<CartLineDto> lines = cartService.getCartByUserId(users.get(i).getUserId()).getCartItems();
+            Assertions.assertEquals((i + 1) * 80, lines.get(0).getPriceOfCartItem());
+            Assertions.assertEquals(90, lines.get(1).getPriceOfCartItem());
+        }
+        Assertions.assertEquals(0, cartRepricer.reprice());
+    }
+
+    @Test
+    public void otherChangesDoNotRepriceTest() {
+        ProductDto product = productService.get(products.get(0).getProductId());
+        product.setTitle("Renamed");
+        productService.update(product, product.getProductId());
+
+        Assertions.assertEquals(0, cartRepricer.reprice());
+    }
+
+    @Test
+    public void checkoutBillsTheCurrentPriceTest() {
+        changeDiscountedPrice(products.get(0), 80);
+
+        // Not repriced yet, the cart line still says 90
+        OrderSummaryDto order = orderService.createOrder(new CreateOrderRequest(users.get(0).getUserId(), "PENDING",
+                "NOT_PAID", "Dehradun, Uttarakhand", "9999999999", users.get(0).getFullName()));
+
+        Assertions.assertEquals(80 + 90, order.getOrderAmount());
+    }
+
+    @Test
+    public void staleLinesLeftByACrashAreFoundAtStartupTest() {
+        changeDiscountedPrice(products.get(0), 80);
+        // Stands in for the instance started after the crash, which never saw the price change
+        CartRepricer restarted = new CartRepricer(cartItemRepository, productRepository, cartStore,
+                transactionManager, new SimpleMeterRegistry(), 1, 2);
+        try {
+            Assertions.assertTrue(restarted.queueStaleProducts() >= 1);
+            Assertions.assertTrue(restarted.reprice() >= USERS);
+            Assertions.assertEquals(80,
+                    cartService.getCartByUserId(users.get(0).getUserId()).getCartItems().get(0).getPriceOfCartItem());
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    public void failedLookupKeepsProductsPendingTest() {
+        CartItemRepository failingRepository = Mockito.mock(CartItemRepository.class);
+        Mockito.when(failingRepository.findStalePrices(Mockito.anyCollection()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CartRepricer repricer = new CartRepricer(failingRepository, productRepository, cartStore, transactionManager,
+                meterRegistry, 1, 2);
+        try {
+            repricer.onPriceChanged(new ProductPriceChangedEvent(List.of(products.get(0).getProductId())));
+
+            Assertions.assertEquals(0, repricer.reprice());
+            Assertions.assertEquals(1, meterRegistry.get("cart.reprice.failures").counter().count());
+            Assertions.assertEquals(1, meterRegistry.get("cart.reprice.pending").gauge().value());
+
+            // Looked up again on the next run
+            Assertions.assertEquals(0, repricer.reprice());
+            Assertions.assertEquals(0, meterRegistry.get("cart.reprice.pending").gauge().value());
+            Mockito.verify(failingRepository, Mockito.times(2)).findStalePrices(Mockito.anyCollection());
+        } finally {
+            repricer.shutdown();
+        }
+    }
+
+    private void changeDiscountedPrice(Product product, int discountedPrice) {
+        ProductDto productDto = productService.get(product.getProductId());
+        productDto.setDiscountedPrice(discountedPrice);
+        productService.update(productDto, product.getProductId());
+    }
+
+}
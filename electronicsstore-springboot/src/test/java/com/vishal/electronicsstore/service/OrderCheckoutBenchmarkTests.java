@@ -0,0 +1,110 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.CreateOrderRequest;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import lombok.extern.slf4j.Slf4j;
+
+// Run with: mvn test -Dtest=OrderCheckoutBenchmarkTests -Dbenchmark=true [-Dbenchmark.cartSize=200]
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+public class OrderCheckoutBenchmarkTests {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    private final OrderService orderService;
+    private final CartRepository cartRepository;
+    private final TestFixture fixture;
+
+    private User user;
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public OrderCheckoutBenchmarkTests(
+            OrderService orderService,
+            CartRepository cartRepository,
+            TestFixture fixture) {
+        this.orderService = orderService;
+        this.cartRepository = cartRepository;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void largeCartCheckoutTest() {
+        int cartSize = Integer.getInteger("benchmark.cartSize", 200);
+        user = fixture.user("user");
+        for (int i = 0; i < cartSize; i++) {
+            products.add(fixture.product(String.format("%05d", i), 1_000_000));
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            checkout();
+        }
+        double[] millis = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            millis[i] = checkout();
+        }
+
+        Arrays.sort(millis);
+        log.info("Checkout of a {}-line cart: mean {} ms, p50 {} ms, p90 {} ms", cartSize,
+                String.format("%.1f", Arrays.stream(millis).average().getAsDouble()),
+                String.format("%.1f", millis[ITERATIONS / 2]),
+                String.format("%.1f", millis[ITERATIONS * 9 / 10]));
+    }
+
+    // Only createOrder is timed, refilling the cart is not
+    private double checkout() {
+        Cart cart = cartRepository.findByUser(user).orElseGet(() -> Cart.builder()
+                .cartId(fixture.id("cart"))
+                .createdAt(new Date())
+                .user(user)
+                .build());
+        products.forEach(product -> cart.getCartItems().add(CartItem.builder()
+                .product(product)
+                .quantityOfCartItem(1)
+                .priceOfCartItem(product.getDiscountedPrice())
+                .cart(cart)
+                .build()));
+        cartRepository.save(cart);
+
+        long start = System.nanoTime();
+        orderService.createOrder(new CreateOrderRequest(user.getUserId(), "PENDING", "NOT_PAID",
+                "Dehradun, Uttarakhand", "9999999999", user.getFullName()));
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+}
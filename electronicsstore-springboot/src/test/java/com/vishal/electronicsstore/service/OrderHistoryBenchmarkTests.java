@@ -0,0 +1,106 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.support.ResponseBenchmark;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+// Run against the MySQL database of the .env file with:
+// mvn test -Dtest=OrderHistoryBenchmarkTests -Dbenchmark=true [-Dbenchmark.orders=30] [-Dbenchmark.pageSize=10]
+//     [-Dbenchmark.iterations=10000]
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class OrderHistoryBenchmarkTests {
+
+    private static final int LINES_PER_ORDER = 3;
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ResponseBenchmark responseBenchmark;
+    private final TestFixture fixture;
+
+    @Autowired
+    public OrderHistoryBenchmarkTests(
+            OrderService orderService,
+            OrderRepository orderRepository,
+            ResponseBenchmark responseBenchmark,
+            TestFixture fixture) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.responseBenchmark = responseBenchmark;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void orderHistoryModesTest() throws Exception {
+        int orders = Integer.getInteger("benchmark.orders", 30);
+        int pageSize = Integer.getInteger("benchmark.pageSize", 10);
+        int iterations = Integer.getInteger("benchmark.iterations", 10_000);
+        User user = fixture.user("user");
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            products.add(fixture.product("product-" + i, 1_000));
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < orders; i++) {
+            Order order = Order.builder()
+                    .orderId(fixture.id(String.format("order-%05d", i)))
+                    .orderStatus("PENDING")
+                    .paymentStatus("NOT_PAID")
+                    .orderAmount(LINES_PER_ORDER * 90)
+                    .orderDate(new Date(now - i * 60_000L))
+                    .user(user)
+                    .build();
+            products.forEach(product -> order.getOrderItems().add(OrderItem.builder()
+                    .product(product)
+                    .quantity(1)
+                    .priceOfOrderItem(90)
+                    .order(order)
+                    .build()));
+            orderRepository.save(order);
+        }
+
+        String userId = user.getUserId();
+        String nextCursor = orderService.getOrdersOfUserWithCursor(userId, null, pageSize, "orderDate", "desc")
+                .getNextCursor();
+        responseBenchmark.measure("Legacy list of " + orders + " orders", iterations / 10, iterations,
+                () -> orderService.getOrdersOfUser(userId));
+        responseBenchmark.measure("Page of " + pageSize + " orders", iterations / 10, iterations,
+                () -> orderService.getOrdersOfUser(userId, 0, pageSize, "orderDate", "desc"));
+        responseBenchmark.measure("First cursor page of " + pageSize + " orders", iterations / 10, iterations,
+                () -> orderService.getOrdersOfUserWithCursor(userId, null, pageSize, "orderDate", "desc"));
+        responseBenchmark.measure("Next cursor page of " + pageSize + " orders", iterations / 10, iterations,
+                () -> orderService.getOrdersOfUserWithCursor(userId, nextCursor, pageSize, "orderDate", "desc"));
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest
+public class OrderHistoryTests {
+
+    private static final int ORDERS = 5;
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final TestFixture fixture;
+
+    private User user;
+    // Newest first
+    private final List<String> orderIds = new ArrayList<>();
+
+    @Autowired
+    public OrderHistoryTests(OrderService orderService, OrderRepository orderRepository, TestFixture fixture) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+        List<Product> products = List.of(fixture.product("product-0", 10), fixture.product("product-1", 10));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = Order.builder()
+                    .orderId(fixture.id("order-" + i))
+                    .orderStatus("PENDING")
+                    .paymentStatus("NOT_PAID")
+                    .orderAmount(180)
+                    .orderDate(new Date(now - i * 60_000L))
+                    .user(user)
+                    .build();
+            products.forEach(product -> order.getOrderItems().add(OrderItem.builder()
+                    .product(product)
+                    .quantity(1)
+                    .priceOfOrderItem(90)
+                    .order(order)
+                    .build()));
+            orderIds.add(orderRepository.save(order).getOrderId());
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void unpagedHistoryListsEveryOrderTest() {
+        List<OrderSummaryDto> orders = orderService.getOrdersOfUser(user.getUserId());
+
+        Assertions.assertEquals(ORDERS, orders.size());
+        Assertions.assertTrue(orders.stream().map(OrderSummaryDto::getOrderId).toList().containsAll(orderIds));
+        Assertions.assertTrue(orders.stream().allMatch(order -> order.getOrderItems().size() == 2));
+        Assertions.assertEquals(ORDERS, orderService.getOrdersOfUser(user.getUserId(), false).size());
+    }
+
+    @Test
+    public void pagedHistoryTest() {
+        PageableResponse<OrderSummaryDto> first = orderService.getOrdersOfUser(user.getUserId(), 0, 2, "orderDate",
+                "desc");
+
+        Assertions.assertEquals(orderIds.subList(0, 2), ids(first));
+        Assertions.assertEquals(0, first.getPageNumber());
+        Assertions.assertEquals(2, first.getPageSize());
+        Assertions.assertEquals(ORDERS, first.getTotalElements());
+        Assertions.assertEquals(3, first.getTotalPages());
+        Assertions.assertFalse(first.isLastPage());
+        Assertions.assertNull(first.getNextCursor());
+        Assertions.assertTrue(first.getContent().stream().allMatch(order -> order.getOrderItems().size() == 2));
+
+        PageableResponse<OrderSummaryDto> last = orderService.getOrdersOfUser(user.getUserId(), 2, 2, "orderDate",
+                "desc");
+        Assertions.assertEquals(orderIds.subList(4, 5), ids(last));
+        Assertions.assertTrue(last.isLastPage());
+    }
+
+    @Test
+    public void cursorHistoryContinuesWherePageEndedTest() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PageableResponse<OrderSummaryDto> page = orderService.getOrdersOfUserWithCursor(user.getUserId(), cursor,
+                    2, "orderDate", "desc");
+            Assertions.assertTrue(page.getContent().stream().allMatch(order -> order.getOrderItems().size() == 2));
+            seen.addAll(ids(page));
+            cursor = page.getNextCursor();
+            Assertions.assertEquals(cursor == null, page.isLastPage());
+            pages++;
+        } while (cursor != null && pages < ORDERS);
+
+        Assertions.assertEquals(orderIds, seen);
+        Assertions.assertEquals(3, pages);
+    }
+
+    private List<String> ids(PageableResponse<OrderSummaryDto> page) {
+        return page.getContent().stream().map(OrderSummaryDto::getOrderId).toList();
+    }
+
+}
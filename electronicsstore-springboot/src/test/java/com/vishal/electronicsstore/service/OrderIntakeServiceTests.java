@@ -0,0 +1,144 @@
+package com.vishal.electronicsstore.service;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.vishal.electronicsstore.dto.CreateOrderRequest;
+import com.vishal.electronicsstore.dto.OrderIntakeStatusDto;
+import com.vishal.electronicsstore.dto.OrderIntakeStatusDto.State;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.exception.InsufficientStockException;
+import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.exception.TooManyRequestsException;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.service.impl.OrderIntakeServiceImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OrderIntakeServiceTests {
+
+    private static final String OWNER = "vedanti@gmail.com";
+
+    private final OrderService orderService = Mockito.mock(OrderService.class);
+    private final OrderRepository orderRepository = Mockito.mock(OrderRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CreateOrderRequest request = new CreateOrderRequest("userIdTest", "PENDING", "NOT_PAID",
+            "Dehradun, Uttarakhand", "9999999999", "Vedanti Gori");
+
+    private OrderIntakeServiceImpl orderIntakeService;
+
+    @BeforeEach
+    public void init() {
+        // One worker and room for one waiting order
+        orderIntakeService = new OrderIntakeServiceImpl(orderService, orderRepository, 1, 1, Duration.ofSeconds(5),
+                Duration.ofMinutes(1), 100, meterRegistry);
+    }
+
+    @AfterEach
+    public void cleanUp() throws InterruptedException {
+        orderIntakeService.shutdown();
+    }
+
+    @Test
+    public void queuedOrderIsPlacedTest() {
+        Mockito.when(orderService.createOrder(Mockito.eq(request), Mockito.anyString())).thenAnswer(invocation ->
+                OrderSummaryDto.builder().orderId(invocation.getArgument(1)).build());
+
+        OrderIntakeStatusDto queued = orderIntakeService.submitOrder(request, OWNER);
+        Assertions.assertEquals(State.QUEUED, queued.getState());
+
+        OrderIntakeStatusDto placed = awaitOutcome(queued.getOrderId());
+        Assertions.assertEquals(State.PLACED, placed.getState());
+        Assertions.assertEquals(queued.getOrderId(), placed.getOrder().getOrderId());
+        Assertions.assertEquals(1, meterRegistry.get("orders.intake.lag").timer().count());
+    }
+
+    @Test
+    public void failedOrderKeepsTheReasonTest() {
+        Mockito.when(orderService.createOrder(Mockito.eq(request), Mockito.anyString()))
+                .thenThrow(new InsufficientStockException("Not enough stock left for Gaming Laptop!"));
+
+        OrderIntakeStatusDto failed = awaitOutcome(orderIntakeService.submitOrder(request, OWNER).getOrderId());
+        Assertions.assertEquals(State.FAILED, failed.getState());
+        Assertions.assertEquals("Not enough stock left for Gaming Laptop!", failed.getMessage());
+    }
+
+    @Test
+    public void unexpectedFailureIsNotToldToTheClientTest() {
+        Mockito.when(orderService.createOrder(Mockito.eq(request), Mockito.anyString()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'x' for key 'orders.PRIMARY'"));
+
+        OrderIntakeStatusDto failed = awaitOutcome(orderIntakeService.submitOrder(request, OWNER).getOrderId());
+        Assertions.assertEquals(State.FAILED, failed.getState());
+        Assertions.assertEquals("The order could not be placed, try again later!", failed.getMessage());
+    }
+
+    @Test
+    public void fullQueueRejectsOrdersTest() throws InterruptedException {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(orderService.createOrder(Mockito.eq(request), Mockito.anyString())).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return OrderSummaryDto.builder().orderId(invocation.getArgument(1)).build();
+        });
+
+        OrderIntakeStatusDto first = orderIntakeService.submitOrder(request, OWNER);
+        Assertions.assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+        OrderIntakeStatusDto second = orderIntakeService.submitOrder(request, OWNER);
+        Assertions.assertEquals(1, meterRegistry.get("orders.intake.queue.depth").gauge().value());
+
+        Assertions.assertThrows(TooManyRequestsException.class, () -> orderIntakeService.submitOrder(request, OWNER));
+        Assertions.assertEquals(1, meterRegistry.get("orders.intake.rejected").counter().count());
+
+        release.countDown();
+        Assertions.assertEquals(State.PLACED, awaitOutcome(first.getOrderId()).getState());
+        Assertions.assertEquals(State.PLACED, awaitOutcome(second.getOrderId()).getState());
+    }
+
+    @Test
+    public void unknownOrderIsNotFoundTest() {
+        Mockito.when(orderRepository.existsById("placedEarlier")).thenReturn(true);
+
+        Assertions.assertEquals(State.PLACED, orderIntakeService.getIntakeStatus("placedEarlier", null).getState());
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> orderIntakeService.getIntakeStatus("unknown", null));
+    }
+
+    @Test
+    public void otherCallersCannotSeeTheStatusTest() {
+        Mockito.when(orderService.createOrder(Mockito.eq(request), Mockito.anyString())).thenAnswer(invocation ->
+                OrderSummaryDto.builder().orderId(invocation.getArgument(1)).build());
+        String orderId = orderIntakeService.submitOrder(request, OWNER).getOrderId();
+        Assertions.assertEquals(State.PLACED, awaitOutcome(orderId).getState());
+
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> orderIntakeService.getIntakeStatus(orderId, "someone@gmail.com"));
+        Assertions.assertEquals(State.PLACED, orderIntakeService.getIntakeStatus(orderId, null).getState());
+
+        Mockito.when(orderRepository.existsByOrderIdAndUserEmail("placedEarlier", OWNER)).thenReturn(true);
+        Assertions.assertEquals(State.PLACED, orderIntakeService.getIntakeStatus("placedEarlier", OWNER).getState());
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> orderIntakeService.getIntakeStatus("placedEarlier", "someone@gmail.com"));
+    }
+
+    private OrderIntakeStatusDto awaitOutcome(String orderId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        OrderIntakeStatusDto status = orderIntakeService.getIntakeStatus(orderId, OWNER);
+        while ((status.getState() == State.QUEUED || status.getState() == State.PROCESSING)
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            status = orderIntakeService.getIntakeStatus(orderId, OWNER);
+        }
+        return status;
+    }
+
+}
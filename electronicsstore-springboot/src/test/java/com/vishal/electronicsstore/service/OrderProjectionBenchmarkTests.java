@@ -0,0 +1,114 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.support.ResponseBenchmark;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+// Run against the MySQL database of the .env file with:
+// mvn test -Dtest=OrderProjectionBenchmarkTests -Dbenchmark=true [-Dbenchmark.lines=50]
+//     [-Dbenchmark.iterations=10000]
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class OrderProjectionBenchmarkTests {
+
+    private final OrderService orderService;
+    private final CartService cartService;
+    private final OrderRepository orderRepository;
+    private final CartRepository cartRepository;
+    private final ResponseBenchmark responseBenchmark;
+    private final TestFixture fixture;
+
+    @Autowired
+    public OrderProjectionBenchmarkTests(
+            OrderService orderService,
+            CartService cartService,
+            OrderRepository orderRepository,
+            CartRepository cartRepository,
+            ResponseBenchmark responseBenchmark,
+            TestFixture fixture) {
+        this.orderService = orderService;
+        this.cartService = cartService;
+        this.orderRepository = orderRepository;
+        this.cartRepository = cartRepository;
+        this.responseBenchmark = responseBenchmark;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void orderAndCartResponsesTest() throws Exception {
+        int lines = Integer.getInteger("benchmark.lines", 50);
+        int iterations = Integer.getInteger("benchmark.iterations", 10_000);
+        User user = fixture.user("user");
+        Order order = Order.builder()
+                .orderId(fixture.id("order"))
+                .orderStatus("PENDING")
+                .paymentStatus("NOT_PAID")
+                .orderAmount(lines * 90)
+                .orderDate(new Date())
+                .user(user)
+                .build();
+        Cart cart = Cart.builder()
+                .cartId(fixture.id("cart"))
+                .createdAt(new Date())
+                .user(user)
+                .build();
+        // Descriptions as long as the column allows, which the responses must not carry
+        String description = "x".repeat(10_000);
+        for (int i = 0; i < lines; i++) {
+            Product product = fixture.product(fixture.productBuilder(String.format("%05d", i), 1_000)
+                    .description(description));
+            order.getOrderItems().add(OrderItem.builder()
+                    .product(product)
+                    .quantity(1)
+                    .priceOfOrderItem(90)
+                    .order(order)
+                    .build());
+            cart.getCartItems().add(CartItem.builder()
+                    .product(product)
+                    .quantityOfCartItem(1)
+                    .priceOfCartItem(90)
+                    .cart(cart)
+                    .build());
+        }
+        orderRepository.save(order);
+        cartRepository.save(cart);
+
+        responseBenchmark.measure("Order history with one " + lines + "-line order", iterations / 10, iterations,
+                () -> orderService.getOrdersOfUser(user.getUserId()));
+        responseBenchmark.measure("Cart of " + lines + " lines", iterations / 10, iterations,
+                () -> cartService.getCartByUserId(user.getUserId()));
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.OrderItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest
+public class OrderProjectionTests {
+
+    private static final int LINES = 3;
+
+    private final OrderService orderService;
+    private final CartService cartService;
+    private final OrderRepository orderRepository;
+    private final CartRepository cartRepository;
+    private final ObjectMapper objectMapper;
+    private final TestFixture fixture;
+
+    private User user;
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public OrderProjectionTests(
+            OrderService orderService,
+            CartService cartService,
+            OrderRepository orderRepository,
+            CartRepository cartRepository,
+            ObjectMapper objectMapper,
+            TestFixture fixture) {
+        this.orderService = orderService;
+        this.cartService = cartService;
+        this.orderRepository = orderRepository;
+        this.cartRepository = cartRepository;
+        this.objectMapper = objectMapper;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+
+        Order order = Order.builder()
+                .orderId(fixture.id("order"))
+                .orderStatus("PENDING")
+                .paymentStatus("NOT_PAID")
+                .orderAmount(LINES * 90)
+                .orderDate(new Date())
+                .user(user)
+                .build();
+        Cart cart = Cart.builder()
+                .cartId(fixture.id("cart"))
+                .createdAt(new Date())
+                .user(user)
+                .build();
+        for (int i = 0; i < LINES; i++) {
+            Product product = fixture.product(fixture.productBuilder("product-" + i, 10)
+                    .description("A long product description"));
+            products.add(product);
+            order.getOrderItems().add(OrderItem.builder()
+                    .product(product)
+                    .quantity(1)
+                    .priceOfOrderItem(90)
+                    .order(order)
+                    .build());
+            cart.getCartItems().add(CartItem.builder()
+                    .product(product)
+                    .quantityOfCartItem(1)
+                    .priceOfCartItem(90)
+                    .cart(cart)
+                    .build());
+        }
+        orderRepository.save(order);
+        cartRepository.save(cart);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void orderHistoryIsProjectedTest() throws Exception {
+        List<OrderSummaryDto> orders = orderService.getOrdersOfUser(user.getUserId());
+
+        Assertions.assertEquals(1, orders.size());
+        OrderSummaryDto order = orders.get(0);
+        Assertions.assertEquals(user.getUserId(), order.getUserId());
+        Assertions.assertEquals(LINES, order.getOrderItems().size());
+        Assertions.assertEquals("Test product-0", order.getOrderItems().get(0).getProductTitle());
+
+        String json = objectMapper.writeValueAsString(orders);
+        Assertions.assertFalse(json.contains("password"));
+        Assertions.assertFalse(json.contains("description"));
+    }
+
+    @Test
+    public void cartIsProjectedTest() throws Exception {
+        CartSummaryDto cart = cartService.getCartByUserId(user.getUserId());
+
+        Assertions.assertEquals(user.getUserId(), cart.getUserId());
+        Assertions.assertEquals(LINES, cart.getCartItems().size());
+        Assertions.assertEquals(products.get(1).getProductId(), cart.getCartItems().get(1).getProductId());
+
+        String json = objectMapper.writeValueAsString(cart);
+        Assertions.assertFalse(json.contains("password"));
+        Assertions.assertFalse(json.contains("description"));
+    }
+
+    @Test
+    public void unknownUserIsNotFoundTest() {
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> orderService.getOrdersOfUser(fixture.id("nobody")));
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> cartService.getCartByUserId(fixture.id("nobody")));
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.vishal.electronicsstore.service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.OrderStatusTransitionRequest;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionResponse;
+import com.vishal.electronicsstore.dto.OrderStatusTransitionResult;
+import com.vishal.electronicsstore.entity.Order;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest
+public class OrderStatusTransitionTests {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final TestFixture fixture;
+
+    private User user;
+
+    @Autowired
+    public OrderStatusTransitionTests(
+            OrderService orderService,
+            OrderRepository orderRepository,
+            TestFixture fixture) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+        order("first", "PENDING");
+        order("second", "PENDING");
+        order("shipped", "SHIPPED");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void listedOrdersReportTheirOutcomeTest() {
+        OrderStatusTransitionResponse response = orderService.transitionStatus(OrderStatusTransitionRequest.builder()
+                .fromStatus("PENDING")
+                .toStatus("SHIPPED")
+                .paymentStatus("PAID")
+                .orderIds(List.of(fixture.id("first"), fixture.id("shipped"), fixture.id("missing"),
+                        fixture.id("first")))
+                .build());
+
+        Assertions.assertEquals(1, response.getUpdated());
+        Map<String, OrderStatusTransitionResult> results = response.getResults().stream()
+                .collect(Collectors.toMap(OrderStatusTransitionResult::getOrderId, result -> result));
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(OrderStatusTransitionResult.Outcome.UPDATED,
+                results.get(fixture.id("first")).getOutcome());
+        Assertions.assertEquals(OrderStatusTransitionResult.Outcome.SKIPPED,
+                results.get(fixture.id("shipped")).getOutcome());
+        Assertions.assertEquals("SHIPPED", results.get(fixture.id("shipped")).getOrderStatus());
+        Assertions.assertEquals(OrderStatusTransitionResult.Outcome.NOT_FOUND,
+                results.get(fixture.id("missing")).getOutcome());
+
+        Order first = orderRepository.findById(fixture.id("first")).get();
+        Assertions.assertEquals("SHIPPED", first.getOrderStatus());
+        Assertions.assertEquals("PAID", first.getPaymentStatus());
+        Assertions.assertNull(first.getDeliveryDate());
+        Assertions.assertEquals("PENDING", orderRepository.findById(fixture.id("second")).get().getOrderStatus());
+    }
+
+    @Test
+    public void ordersAreMovedByDateRangeTest() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        OrderStatusTransitionResponse response = orderService.transitionStatus(OrderStatusTransitionRequest.builder()
+                .fromStatus("SHIPPED")
+                .toStatus("DELIVERED")
+                .orderedFrom(today.minusDays(1))
+                .orderedTo(today)
+                .build());
+
+        Assertions.assertTrue(response.getResults().stream()
+                .anyMatch(result -> result.getOrderId().equals(fixture.id("shipped"))));
+        Order delivered = orderRepository.findById(fixture.id("shipped")).get();
+        Assertions.assertEquals("DELIVERED", delivered.getOrderStatus());
+        Assertions.assertEquals("NOT_PAID", delivered.getPaymentStatus());
+        Assertions.assertNotNull(delivered.getDeliveryDate());
+        Assertions.assertEquals("PENDING", orderRepository.findById(fixture.id("first")).get().getOrderStatus());
+    }
+
+    @Test
+    public void invalidTransitionsAreRejectedTest() {
+        Assertions.assertThrows(BadAPIRequestException.class, () -> orderService.transitionStatus(
+                OrderStatusTransitionRequest.builder()
+                        .fromStatus("DELIVERED")
+                        .toStatus("PENDING")
+                        .orderIds(List.of(fixture.id("first")))
+                        .build()));
+        Assertions.assertThrows(BadAPIRequestException.class, () -> orderService.transitionStatus(
+                OrderStatusTransitionRequest.builder()
+                        .fromStatus("PENDING")
+                        .toStatus("SHIPPED")
+                        .build()));
+        Assertions.assertEquals("PENDING", orderRepository.findById(fixture.id("first")).get().getOrderStatus());
+    }
+
+    private void order(String name, String orderStatus) {
+        orderRepository.save(Order.builder()
+                .orderId(fixture.id(name))
+                .orderStatus(orderStatus)
+                .paymentStatus("NOT_PAID")
+                .orderAmount(90)
+                .orderDate(new Date())
+                .user(user)
+                .build());
+    }
+
+}
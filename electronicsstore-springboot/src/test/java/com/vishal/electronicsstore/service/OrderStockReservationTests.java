@@ -0,0 +1,171 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.dto.CreateOrderRequest;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.exception.InsufficientStockException;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import lombok.extern.slf4j.Slf4j;
+
+// Concurrent checkouts against a real database, run with: mvn test -Dtest=OrderStockReservationTests
+@SpringBootTest
+@Slf4j
+public class OrderStockReservationTests {
+
+    private static final int THREADS = 16;
+    private static final int CHECKOUTS = 200;
+    private static final int CONTESTED_STOCK = 50;
+
+    private final OrderService orderService;
+    private final CartRepository cartRepository;
+    private final ProductRepository productRepository;
+    private final TestFixture fixture;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public OrderStockReservationTests(
+            OrderService orderService,
+            CartRepository cartRepository,
+            ProductRepository productRepository,
+            TestFixture fixture) {
+        this.orderService = orderService;
+        this.cartRepository = cartRepository;
+        this.productRepository = productRepository;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void contestedProductIsNeverOversoldTest() throws Exception {
+        Product contested = product("contested", CONTESTED_STOCK);
+        List<User> buyers = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            buyers.add(buyerWithCart(i, contested));
+        }
+
+        CheckoutResult result = checkoutConcurrently(buyers);
+        log.info("Contested product: {} checkouts in {} ms ({} checkouts/s), {} placed, {} rejected",
+                CHECKOUTS, result.elapsedMillis, result.throughput(), result.placed, result.rejected);
+
+        Product reloaded = productRepository.findById(contested.getProductId()).get();
+        Assertions.assertEquals(CONTESTED_STOCK, result.placed.get());
+        Assertions.assertEquals(CHECKOUTS - CONTESTED_STOCK, result.rejected.get());
+        Assertions.assertEquals(0, reloaded.getQuantity());
+        Assertions.assertFalse(reloaded.isStock());
+    }
+
+    @Test
+    public void unrelatedProductsCheckOutInParallelTest() throws Exception {
+        List<User> buyers = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            buyers.add(buyerWithCart(i, product("own-" + i, 1)));
+        }
+
+        CheckoutResult result = checkoutConcurrently(buyers);
+        log.info("Unrelated products: {} checkouts in {} ms ({} checkouts/s)",
+                CHECKOUTS, result.elapsedMillis, result.throughput());
+
+        Assertions.assertEquals(CHECKOUTS, result.placed.get());
+        products.forEach(product -> Assertions.assertEquals(0,
+                productRepository.findById(product.getProductId()).get().getQuantity()));
+    }
+
+    private CheckoutResult checkoutConcurrently(List<User> buyers) throws Exception {
+        CheckoutResult result = new CheckoutResult();
+        List<Callable<Void>> checkouts = buyers.stream().<Callable<Void>>map(buyer -> () -> {
+            try {
+                orderService.createOrder(new CreateOrderRequest(buyer.getUserId(), "PENDING", "NOT_PAID",
+                        "Dehradun, Uttarakhand", "9999999999", buyer.getFullName()));
+                result.placed.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                result.rejected.incrementAndGet();
+            }
+            return null;
+        }).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            for (Future<Void> future : executor.invokeAll(checkouts)) {
+                future.get();
+            }
+            result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            executor.shutdown();
+        }
+        return result;
+    }
+
+    private Product product(String name, int quantity) {
+        Product product = fixture.product(name, quantity);
+        products.add(product);
+        return product;
+    }
+
+    private User buyerWithCart(int index, Product product) {
+        User user = fixture.user("user-" + index);
+
+        Cart cart = Cart.builder()
+                .cartId(fixture.id("cart-" + index))
+                .createdAt(new Date())
+                .user(user)
+                .build();
+        cart.getCartItems().add(CartItem.builder()
+                .product(product)
+                .quantityOfCartItem(1)
+                .priceOfCartItem(product.getDiscountedPrice())
+                .cart(cart)
+                .build());
+        cartRepository.save(cart);
+        return user;
+    }
+
+    private static class CheckoutResult {
+
+        private final AtomicInteger placed = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private long elapsedMillis;
+
+        private long throughput() {
+            return CHECKOUTS * 1000L / Math.max(1, elapsedMillis);
+        }
+
+    }
+
+}
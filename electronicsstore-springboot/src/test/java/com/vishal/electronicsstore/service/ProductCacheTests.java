@@ -0,0 +1,135 @@
+package com.vishal.electronicsstore.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vishal.electronicsstore.config.CacheConfig;
+import com.vishal.electronicsstore.dto.CategoryDto;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.repository.CategoryRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest
+public class ProductCacheTests {
+
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache productsCache;
+    private final TestFixture fixture;
+
+    private Product product;
+
+    @Autowired
+    public ProductCacheTests(
+            ProductService productService,
+            CategoryService categoryService,
+            CategoryRepository categoryRepository,
+            PlatformTransactionManager transactionManager,
+            CacheManager cacheManager,
+            TestFixture fixture) {
+        this.productService = productService;
+        this.categoryService = categoryService;
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        product = fixture.product(fixture.productBuilder("product", 10).productImage("missing.jpg"));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void repeatedGetIsServedFromTheCacheTest() {
+        ProductDto first = productService.get(product.getProductId());
+
+        Assertions.assertSame(first, productsCache.get(product.getProductId()).get());
+        Assertions.assertSame(first, productService.get(product.getProductId()));
+    }
+
+    @Test
+    public void productChangesEvictTheProductTest() {
+        ProductDto cached = productService.get(product.getProductId());
+        cached.setTitle("Renamed");
+        productService.update(cached, product.getProductId());
+        Assertions.assertNull(productsCache.get(product.getProductId()));
+        Assertions.assertEquals("Renamed", productService.get(product.getProductId()).getTitle());
+
+        productService.updateImageOfProduct("other.jpg", product.getProductId());
+        Assertions.assertNull(productsCache.get(product.getProductId()));
+        Assertions.assertEquals("other.jpg", productService.get(product.getProductId()).getProductImage());
+
+        productService.delete(product.getProductId(), "images/products/");
+        Assertions.assertNull(productsCache.get(product.getProductId()));
+    }
+
+    @Test
+    public void categoryChangesEvictAllProductsTest() {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryId(fixture.id("category"))
+                .title("Test category")
+                .categoryImage("missing.jpg")
+                .build());
+
+        productService.get(product.getProductId());
+        CategoryDto categoryDto = categoryService.get(category.getCategoryId());
+        categoryDto.setTitle("Renamed category");
+        categoryService.update(categoryDto, category.getCategoryId());
+        Assertions.assertNull(productsCache.get(product.getProductId()));
+
+        productService.get(product.getProductId());
+        categoryService.delete(category.getCategoryId(), "images/categories/");
+        Assertions.assertNull(productsCache.get(product.getProductId()));
+    }
+
+    @Test
+    public void evictionWaitsForTheCommitTest() {
+        ProductDto cached = productService.get(product.getProductId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.update(cached, product.getProductId());
+            // Evicted only once the change commits, so a read in between cannot cache the old product again
+            Assertions.assertNotNull(productsCache.get(product.getProductId()));
+        });
+        Assertions.assertNull(productsCache.get(product.getProductId()));
+
+        ProductDto reloaded = productService.get(product.getProductId());
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.update(reloaded, product.getProductId());
+            status.setRollbackOnly();
+        });
+        // Nothing changed, so the cached product stays
+        Assertions.assertSame(reloaded, productsCache.get(product.getProductId()).get());
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.vishal.electronicsstore.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import com.vishal.electronicsstore.dto.ProductImportError;
+import com.vishal.electronicsstore.dto.ProductImportResult;
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.export.DataFormat;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+@SpringBootTest
+public class ProductImportTests {
+
+    private final ProductImportService productImportService;
+    private final ProductService productService;
+    private final ProductRepository productRepository;
+    private final TestFixture fixture;
+    private final String idPrefix;
+
+    private Category category;
+    private Date addedDate;
+
+    @Autowired
+    public ProductImportTests(
+            ProductImportService productImportService,
+            ProductService productService,
+            ProductRepository productRepository,
+            TestFixture fixture) {
+        this.productImportService = productImportService;
+        this.productService = productService;
+        this.productRepository = productRepository;
+        this.fixture = fixture;
+        // The import rows spell their ids out, so they share the fixture's prefix
+        this.idPrefix = fixture.id("");
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        category = fixture.category("category");
+        addedDate = new Date(System.currentTimeMillis() - 86_400_000L);
+        fixture.product(fixture.productBuilder("existing", 10)
+                .title("Import existing")
+                .addedDate(addedDate)
+                .productImage("existing.jpg"));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        productRepository.deleteAllById(productRepository.findExistingIds(List.of(idPrefix + "new",
+                idPrefix + "json-1", idPrefix + "json-3")));
+        productRepository.deleteAll(productRepository.findByTitleContaining(idPrefix + "generated",
+                Pageable.unpaged()));
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void csvRowsAreInsertedUpdatedOrRejectedTest() throws Exception {
+        // Caches the product, the import must evict it
+        productService.get(idPrefix + "existing");
+
+        String csv = "productId,title,price,discountedPrice,quantity,live,categoryId\r\n"
+                + idPrefix + "new,\"Import new, \"\"65W\"\"\nsecond line\",100,80,5,true," + category.getCategoryId()
+                + "\r\n"
+                + idPrefix + "existing,Import existing v2,200,,0,true,\r\n"
+                + idPrefix + "negative,Import negative,-5,,1,true,\r\n"
+                + idPrefix + "orphan,Import orphan,10,,1,true," + idPrefix + "missing\r\n"
+                + "," + idPrefix + "generated,10,,1,false,\r\n";
+
+        ProductImportResult result = productImportService.importProducts(DataFormat.CSV, stream(csv));
+
+        Assertions.assertEquals(5, result.getRows());
+        Assertions.assertEquals(2, result.getInserted());
+        Assertions.assertEquals(1, result.getUpdated());
+        Assertions.assertEquals(2, result.getFailed());
+        List<ProductImportError> errors = result.getErrors();
+        Assertions.assertEquals(3, errors.get(0).getRow());
+        Assertions.assertEquals("price must not be negative", errors.get(0).getMessage());
+        Assertions.assertEquals(4, errors.get(1).getRow());
+        Assertions.assertEquals("Category not found: " + idPrefix + "missing", errors.get(1).getMessage());
+
+        Product inserted = productRepository.findById(idPrefix + "new").get();
+        Assertions.assertEquals("Import new, \"65W\"\nsecond line", inserted.getTitle());
+        Assertions.assertEquals(80, inserted.getDiscountedPrice());
+        Assertions.assertTrue(inserted.isStock());
+        Assertions.assertEquals(category.getCategoryId(), inserted.getCategory().getCategoryId());
+
+        Product updated = productRepository.findById(idPrefix + "existing").get();
+        Assertions.assertEquals("Import existing v2", updated.getTitle());
+        Assertions.assertEquals(200, updated.getDiscountedPrice());
+        Assertions.assertFalse(updated.isStock());
+        Assertions.assertEquals("existing.jpg", updated.getProductImage());
+        Assertions.assertEquals(addedDate.getTime() / 1000, updated.getAddedDate().getTime() / 1000);
+        Assertions.assertEquals(200, productService.get(idPrefix + "existing").getPrice());
+
+        Assertions.assertFalse(productRepository.findById(idPrefix + "negative").isPresent());
+        Assertions.assertEquals(1, productRepository
+                .findByTitleContaining(idPrefix + "generated", Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    public void malformedNdjsonLinesAreReportedTest() throws Exception {
+        String ndjson = "{\"productId\":\"" + idPrefix + "json-1\",\"title\":\"Import json 1\",\"price\":10,"
+                + "\"quantity\":1}\n"
+                + "\n"
+                + "{\"productId\":\"" + idPrefix + "json-2\",\"title\":\n"
+                + "{\"productId\":\"" + idPrefix + "json-3\",\"title\":\"Import json 3\",\"price\":20,"
+                + "\"discountedPrice\":30,\"quantity\":1}\n"
+                + "{\"productId\":\"" + idPrefix + "json-1\",\"title\":\"Import json 1 again\",\"price\":15,"
+                + "\"quantity\":2}\n";
+
+        ProductImportResult result = productImportService.importProducts(DataFormat.NDJSON, stream(ndjson));
+
+        Assertions.assertEquals(4, result.getRows());
+        Assertions.assertEquals(2, result.getFailed());
+        Assertions.assertEquals(2, result.getErrors().get(0).getRow());
+        Assertions.assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        Assertions.assertEquals("discountedPrice is above price", result.getErrors().get(1).getMessage());
+        // The repeated id lands in a second batch and replaces the first row
+        Assertions.assertEquals(1, result.getInserted());
+        Assertions.assertEquals(1, result.getUpdated());
+        Assertions.assertEquals("Import json 1 again", productRepository.findById(idPrefix + "json-1").get()
+                .getTitle());
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -2,7 +2,9 @@ package com.vishal.electronicsstore.service;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,17 +16,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import com.vishal.electronicsstore.dto.PageableResponse;
+import com.vishal.electronicsstore.dto.SliceResponse;
 import com.vishal.electronicsstore.dto.UserDto;
 import com.vishal.electronicsstore.entity.Role;
 import com.vishal.electronicsstore.entity.User;
 import com.vishal.electronicsstore.repository.RefreshTokenRepository;
 import com.vishal.electronicsstore.repository.RoleRepository;
 import com.vishal.electronicsstore.repository.UserRepository;
+import com.vishal.electronicsstore.util.CursorUtil;
 
 import io.github.cdimascio.dotenv.Dotenv;
 import lombok.extern.slf4j.Slf4j;
@@ -200,4 +209,36 @@ public class UserServiceTests {
         Assertions.assertEquals(2, searchedUsers.getContent().size(), "No. of searched users not matched!");
     }
 
+    @Test
+    public void getAllUsersWithCursorTest() {
+        user.setUserId("userIdTest");
+        Window<User> window = Window.from(List.of(user),
+                index -> ScrollPosition.forward(Map.of("fullName", user.getFullName(), "userId", user.getUserId())),
+                true);
+        Mockito.when(userRepository.findAllBy(Mockito.eq(ScrollPosition.keyset()), Mockito.any(Sort.class),
+                Mockito.eq(Limit.of(1)))).thenReturn(window);
+
+        PageableResponse<UserDto> firstPage = userService.getAllUsersWithCursor("", 1, "fullName", "asc");
+
+        Assertions.assertEquals(1, firstPage.getContent().size());
+        Assertions.assertFalse(firstPage.isLastPage());
+        Assertions.assertEquals(ScrollPosition.forward(Map.of("fullName", "Vedanti Gori", "userId", "userIdTest")),
+                CursorUtil.decode(firstPage.getNextCursor(), 1, "fullName", "asc", Set.of("fullName"), "userId"));
+    }
+
+    @Test
+    public void getAllUsersAsSliceTest() {
+        Mockito.when(userRepository.findSliceBy(Mockito.<Pageable>any()))
+                .thenReturn(new SliceImpl<>(List.of(user), Pageable.ofSize(1), true));
+        Mockito.when(userRepository.countAll()).thenReturn(42L);
+
+        SliceResponse<UserDto> withoutTotal = userService.getAllUsersAsSlice(0, 1, "fullName", "asc", false);
+        Assertions.assertTrue(withoutTotal.isHasNext());
+        Assertions.assertNull(withoutTotal.getApproximateTotalElements());
+        Mockito.verify(userRepository, Mockito.never()).countAll();
+
+        SliceResponse<UserDto> withTotal = userService.getAllUsersAsSlice(0, 1, "fullName", "asc", true);
+        Assertions.assertEquals(42L, withTotal.getApproximateTotalElements());
+    }
+
 }
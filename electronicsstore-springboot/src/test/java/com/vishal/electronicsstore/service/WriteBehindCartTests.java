@@ -0,0 +1,238 @@
+package com.vishal.electronicsstore.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.vishal.electronicsstore.cart.CartRepricer;
+import com.vishal.electronicsstore.cart.WriteBehindCartStore;
+import com.vishal.electronicsstore.dto.CartItemDto;
+import com.vishal.electronicsstore.dto.CartLineDto;
+import com.vishal.electronicsstore.dto.CartLineOperation;
+import com.vishal.electronicsstore.dto.CartSummaryDto;
+import com.vishal.electronicsstore.dto.CreateOrderRequest;
+import com.vishal.electronicsstore.dto.OrderSummaryDto;
+import com.vishal.electronicsstore.dto.ProductDto;
+import com.vishal.electronicsstore.entity.Cart;
+import com.vishal.electronicsstore.entity.CartItem;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.exception.InsufficientStockException;
+import com.vishal.electronicsstore.exception.ResourceNotFoundException;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.support.TestFixture;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+// Flushes and reprices only when the tests ask for it
+@SpringBootTest(properties = { "cart.store=memory", "cart.memory.flush-interval=PT1H",
+        "cart.reprice.interval=PT1H" })
+public class WriteBehindCartTests {
+
+    private final CartService cartService;
+    private final OrderService orderService;
+    private final ProductService productService;
+    private final WriteBehindCartStore cartStore;
+    private final CartRepricer cartRepricer;
+    private final CartRepository cartRepository;
+    private final ProductRepository productRepository;
+    private final TestFixture fixture;
+
+    private User user;
+    private final List<Product> products = new ArrayList<>();
+
+    @Autowired
+    public WriteBehindCartTests(
+            CartService cartService,
+            OrderService orderService,
+            ProductService productService,
+            WriteBehindCartStore cartStore,
+            CartRepricer cartRepricer,
+            CartRepository cartRepository,
+            ProductRepository productRepository,
+            TestFixture fixture) {
+        this.cartService = cartService;
+        this.orderService = orderService;
+        this.productService = productService;
+        this.cartStore = cartStore;
+        this.cartRepricer = cartRepricer;
+        this.cartRepository = cartRepository;
+        this.productRepository = productRepository;
+        this.fixture = fixture;
+    }
+
+    @BeforeAll
+    static void loadEnv() {
+        Dotenv dotenv = Dotenv.configure()
+                .directory("../")
+                .load();
+
+        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    public void init() {
+        user = fixture.user("user");
+        for (int i = 0; i < 3; i++) {
+            products.add(fixture.product("product-" + i, 10));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        cartStore.flush();
+        fixture.cleanUp();
+    }
+
+    @Test
+    public void changesAreWrittenOnFlushTest() {
+        add(0, 1);
+        add(1, 1);
+        CartSummaryDto cart = add(2, 1);
+        add(1, 4);
+        cartService.removeCartItemFromCart(cart.getCartItems().get(2).getCartItemId());
+
+        Assertions.assertFalse(cartRepository.findByUser(user).isPresent());
+        List<CartLineDto> lines = cartService.getCartByUserId(user.getUserId()).getCartItems();
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.get(0).getCartItemId() < 0);
+
+        Assertions.assertEquals(1, cartStore.flush());
+        Cart saved = cartRepository.findByUser(user).get();
+        Assertions.assertEquals(2, saved.getCartItems().size());
+        Assertions.assertEquals(4, quantityOf(saved, products.get(1)));
+
+        // Read back from the database, with the ids of the saved lines
+        lines = cartService.getCartByUserId(user.getUserId()).getCartItems();
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.get(0).getCartItemId() > 0);
+
+        cartService.removeCartItemFromCart(lines.get(0).getCartItemId());
+        cartService.clearCart(user.getUserId());
+        add(2, 3);
+        Assertions.assertEquals(1, cartStore.flush());
+        saved = cartRepository.findByUser(user).get();
+        Assertions.assertEquals(1, saved.getCartItems().size());
+        Assertions.assertEquals(3, quantityOf(saved, products.get(2)));
+    }
+
+    @Test
+    public void unsavedIdRemovesTheLineAfterFlushTest() {
+        add(0, 1);
+        int cartItemId = add(1, 1).getCartItems().get(1).getCartItemId();
+        Assertions.assertTrue(cartItemId < 0);
+
+        Assertions.assertEquals(1, cartStore.flush());
+        Assertions.assertTrue(cartService.getCartByUserId(user.getUserId()).getCartItems().get(1).getCartItemId() > 0);
+
+        cartService.removeCartItemFromCart(cartItemId);
+        Assertions.assertEquals(1, cartService.getCartByUserId(user.getUserId()).getCartItems().size());
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> cartService.removeCartItemFromCart(cartItemId));
+        Assertions.assertEquals(1, cartStore.flush());
+        Assertions.assertEquals(0, quantityOf(cartRepository.findByUser(user).get(), products.get(1)));
+    }
+
+    @Test
+    public void lineOfDeletedProductIsDroppedOnFlushTest() {
+        add(0, 1);
+        add(1, 1);
+        productRepository.delete(products.get(1));
+
+        Assertions.assertEquals(1, cartStore.flush());
+        Assertions.assertEquals(1, cartRepository.findByUser(user).get().getCartItems().size());
+        Assertions.assertEquals(1, cartService.getCartByUserId(user.getUserId()).getCartItems().size());
+        Assertions.assertEquals(0, cartStore.flush());
+        Assertions.assertEquals(90, orderService.createOrder(request()).getOrderAmount());
+    }
+
+    @Test
+    public void checkoutSeesChangesNotYetWrittenTest() {
+        add(0, 2);
+        add(1, 1);
+
+        OrderSummaryDto order = orderService.createOrder(request());
+
+        Assertions.assertEquals(2, order.getOrderItems().size());
+        Assertions.assertEquals(270, order.getOrderAmount());
+        Assertions.assertTrue(cartService.getCartByUserId(user.getUserId()).getCartItems().isEmpty());
+        Assertions.assertEquals(0, cartStore.flush());
+        Assertions.assertTrue(cartRepository.findByUser(user).get().getCartItems().isEmpty());
+    }
+
+    @Test
+    public void failedCheckoutKeepsChangesPendingTest() {
+        add(0, 11);
+
+        Assertions.assertThrows(InsufficientStockException.class, () -> orderService.createOrder(request()));
+
+        Assertions.assertEquals(1, cartStore.flush());
+        Assertions.assertEquals(11, quantityOf(cartRepository.findByUser(user).get(), products.get(0)));
+    }
+
+    @Test
+    public void batchUpdateIsWrittenOnFlushTest() {
+        add(0, 1);
+        add(1, 1);
+
+        CartSummaryDto cart = cartService.updateCart(user.getUserId(), List.of(
+                new CartLineOperation(products.get(0).getProductId(), 2, CartLineOperation.Op.ADD),
+                new CartLineOperation(products.get(1).getProductId(), 0, CartLineOperation.Op.REMOVE),
+                new CartLineOperation(products.get(2).getProductId(), 5, CartLineOperation.Op.SET)));
+
+        Assertions.assertEquals(2, cart.getCartItems().size());
+        Assertions.assertEquals(1, cartStore.flush());
+        Cart saved = cartRepository.findByUser(user).get();
+        Assertions.assertEquals(2, saved.getCartItems().size());
+        Assertions.assertEquals(3, quantityOf(saved, products.get(0)));
+        Assertions.assertEquals(5, quantityOf(saved, products.get(2)));
+    }
+
+    @Test
+    public void priceChangeRepricesCartsInMemoryTest() {
+        add(0, 2);
+        add(1, 1);
+        Assertions.assertEquals(1, cartStore.flush());
+        add(0, 3);
+
+        ProductDto product = productService.get(products.get(0).getProductId());
+        product.setDiscountedPrice(80);
+        productService.update(product, product.getProductId());
+        cartRepricer.reprice();
+
+        Assertions.assertEquals(240,
+                cartService.getCartByUserId(user.getUserId()).getCartItems().get(0).getPriceOfCartItem());
+        Assertions.assertEquals(1, cartStore.flush());
+        Cart saved = cartRepository.findByUser(user).get();
+        Assertions.assertEquals(240, saved.getCartItems().stream()
+                .filter(item -> item.getProduct().getProductId().equals(product.getProductId()))
+                .findFirst().get().getPriceOfCartItem());
+
+        Assertions.assertEquals(330, orderService.createOrder(request()).getOrderAmount());
+    }
+
+    private CartSummaryDto add(int product, int quantity) {
+        return cartService.addCartItemToCart(user.getUserId(),
+                new CartItemDto(products.get(product).getProductId(), quantity));
+    }
+
+    private int quantityOf(Cart cart, Product product) {
+        return cart.getCartItems().stream()
+                .filter(item -> item.getProduct().getProductId().equals(product.getProductId()))
+                .mapToInt(CartItem::getQuantityOfCartItem)
+                .sum();
+    }
+
+    private CreateOrderRequest request() {
+        return new CreateOrderRequest(user.getUserId(), "PENDING", "NOT_PAID", "Dehradun, Uttarakhand",
+                "9999999999", user.getFullName());
+    }
+
+}
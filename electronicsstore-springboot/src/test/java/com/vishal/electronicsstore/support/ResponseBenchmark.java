@@ -0,0 +1,59 @@
+package com.vishal.electronicsstore.support;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+// Times a service call together with the JSON write of its result, the way a controller serves it, and logs
+// the payload size, the SQL statements per call and the latency percentiles. Statements are only counted
+// when the test sets spring.jpa.properties.hibernate.generate_statistics=true.
+@Component
+@Slf4j
+public class ResponseBenchmark {
+
+    private final ObjectMapper objectMapper;
+    private final Statistics statistics;
+
+    @Autowired
+    public ResponseBenchmark(ObjectMapper objectMapper, EntityManagerFactory entityManagerFactory) {
+        this.objectMapper = objectMapper;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public void measure(String name, int warmupIterations, int iterations, Supplier<?> call) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            objectMapper.writeValueAsBytes(call.get());
+        }
+
+        statistics.clear();
+        int bytes = objectMapper.writeValueAsBytes(call.get()).length;
+        long statements = statistics.getPrepareStatementCount();
+
+        double[] millis = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            objectMapper.writeValueAsBytes(call.get());
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+
+        Arrays.sort(millis);
+        log.info("{}: {} bytes, {} statements, p50 {} ms, p99 {} ms", name, bytes,
+                statistics.isStatisticsEnabled() ? statements : "uncounted",
+                String.format("%.2f", percentile(millis, 50)),
+                String.format("%.2f", percentile(millis, 99)));
+    }
+
+    private double percentile(double[] sorted, int percent) {
+        return sorted[Math.max(0, (int) Math.ceil(sorted.length * percent / 100.0) - 1)];
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.vishal.electronicsstore.support;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import com.vishal.electronicsstore.entity.Category;
+import com.vishal.electronicsstore.entity.Product;
+import com.vishal.electronicsstore.entity.User;
+import com.vishal.electronicsstore.repository.CartRepository;
+import com.vishal.electronicsstore.repository.CategoryRepository;
+import com.vishal.electronicsstore.repository.OrderRepository;
+import com.vishal.electronicsstore.repository.ProductRepository;
+import com.vishal.electronicsstore.repository.UserRepository;
+
+// Rows for the tests that exercise the database itself. Injected into a test's constructor, so every test gets
+// an instance of its own: ids carry a prefix unique to it, and cleanUp() removes the users, products and
+// categories it created together with the carts and orders of those users.
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class TestFixture {
+
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CartRepository cartRepository;
+    private final OrderRepository orderRepository;
+
+    private final String prefix = "test-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+    private final List<User> users = new ArrayList<>();
+    private final List<Product> products = new ArrayList<>();
+    private final List<Category> categories = new ArrayList<>();
+
+    @Autowired
+    public TestFixture(
+            UserRepository userRepository,
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            CartRepository cartRepository,
+            OrderRepository orderRepository) {
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.cartRepository = cartRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    public String id(String name) {
+        return prefix + name;
+    }
+
+    public User user(String name) {
+        User user = userRepository.save(User.builder()
+                .userId(id(name))
+                .fullName("Test " + name)
+                .email(id(name) + "@gmail.com")
+                .password("password")
+                .build());
+        synchronized (users) {
+            users.add(user);
+        }
+        return user;
+    }
+
+    // Priced 100, 90 after discount, live and in stock
+    public Product.ProductBuilder productBuilder(String name, int quantity) {
+        return Product.builder()
+                .productId(id(name))
+                .title("Test " + name)
+                .price(100)
+                .discountedPrice(90)
+                .quantity(quantity)
+                .addedDate(new Date())
+                .live(true)
+                .stock(true);
+    }
+
+    public Product product(String name, int quantity) {
+        return product(productBuilder(name, quantity));
+    }
+
+    public Product product(Product.ProductBuilder builder) {
+        Product product = productRepository.save(builder.build());
+        synchronized (products) {
+            products.add(product);
+        }
+        return product;
+    }
+
+    public Category category(String name) {
+        Category category = categoryRepository.save(Category.builder()
+                .categoryId(id(name))
+                .title("Test " + name)
+                .build());
+        categories.add(category);
+        return category;
+    }
+
+    public void cleanUp() {
+        users.forEach(user -> cartRepository.findByUser(user).ifPresent(cartRepository::delete));
+        users.forEach(user -> orderRepository.deleteAll(orderRepository.findByUser(user)));
+        userRepository.deleteAll(users);
+        productRepository.deleteAll(products);
+        categoryRepository.deleteAll(categories);
+    }
+
+}
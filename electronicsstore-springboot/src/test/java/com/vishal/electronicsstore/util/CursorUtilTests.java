@@ -0,0 +1,117 @@
+package com.vishal.electronicsstore.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+
+import com.vishal.electronicsstore.exception.BadAPIRequestException;
+
+public class CursorUtilTests {
+
+    private static final Set<String> SORT_FIELDS = Set.of("title", "price", "addedDate");
+
+    @Test
+    public void roundTripKeepsTypedKeysTest() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("addedDate", new Date(1700000000000L));
+        keys.put("productId", "p1");
+        String cursor = CursorUtil.encode("addedDate", "DESC", ScrollPosition.forward(keys));
+
+        Assertions.assertEquals(ScrollPosition.forward(keys),
+                CursorUtil.decode(cursor, 5, "addedDate", "desc", SORT_FIELDS, "productId"));
+
+        Map<String, Object> priceKeys = Map.of("price", 499, "productId", "p1");
+        String priceCursor = CursorUtil.encode("price", "asc", ScrollPosition.forward(priceKeys));
+
+        Assertions.assertEquals(ScrollPosition.forward(priceKeys),
+                CursorUtil.decode(priceCursor, 5, "price", "asc", SORT_FIELDS, "productId"));
+    }
+
+    @Test
+    public void blankCursorStartsFromFirstRowTest() {
+        Assertions.assertEquals(ScrollPosition.keyset(),
+                CursorUtil.decode("", 5, "title", "asc", SORT_FIELDS, "productId"));
+        Assertions.assertEquals(ScrollPosition.keyset(),
+                CursorUtil.decode(null, 5, "title", "asc", SORT_FIELDS, "productId"));
+    }
+
+    @Test
+    public void cursorForDifferentSortIsRejectedTest() {
+        String cursor = CursorUtil.encode("title", "asc", ScrollPosition.forward(Map.of("title", "a", "productId", "p1")));
+
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode(cursor, 5, "price", "asc", SORT_FIELDS, "productId"));
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode(cursor, 5, "title", "desc", SORT_FIELDS, "productId"));
+    }
+
+    @Test
+    public void malformedCursorIsRejectedTest() {
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode("not a cursor!", 5, "title", "asc", SORT_FIELDS, "productId"));
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode("e30", 5, "title", "asc", SORT_FIELDS, "productId"));
+    }
+
+    @Test
+    public void tamperedKeysAreRejectedTest() {
+        // A key value without its type and value
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode(token("{\"title\":[],\"productId\":[\"S\",\"p1\"]}"), 5, "title", "asc",
+                        SORT_FIELDS, "productId"));
+        // A property the sort does not use
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode(token("{\"title\":[\"S\",\"a\"],\"password\":[\"S\",\"x\"]}"), 5, "title",
+                        "asc", SORT_FIELDS, "productId"));
+        // The id tiebreaker missing
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode(token("{\"title\":[\"S\",\"a\"]}"), 5, "title", "asc", SORT_FIELDS,
+                        "productId"));
+    }
+
+    @Test
+    public void nonPositivePageSizeIsRejectedTest() {
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode("", 0, "title", "asc", SORT_FIELDS, "productId"));
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode("", -1, "title", "asc", SORT_FIELDS, "productId"));
+    }
+
+    @Test
+    public void unsupportedSortFieldIsRejectedTest() {
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.decode("", 5, "description", "asc", SORT_FIELDS, "productId"));
+    }
+
+    @Test
+    public void cursorSortedByIdHasOneKeyTest() {
+        Map<String, Object> keys = Map.of("productId", "p1");
+        String cursor = CursorUtil.encode("productId", "asc", ScrollPosition.forward(keys));
+
+        Assertions.assertEquals(ScrollPosition.forward(keys),
+                CursorUtil.decode(cursor, 5, "productId", "asc", Set.of("productId"), "productId"));
+    }
+
+    @Test
+    public void nullKeyIsNeverEncodedTest() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("title", null);
+        keys.put("productId", "p1");
+
+        Assertions.assertThrows(BadAPIRequestException.class,
+                () -> CursorUtil.encode("title", "asc", ScrollPosition.forward(keys)));
+    }
+
+    private static String token(String keys) {
+        String json = "{\"sortBy\":\"title\",\"sortDirec\":\"asc\",\"keys\":" + keys + "}";
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}